@@ -0,0 +1,44 @@
+package com.mockito.mockito.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Parametros de la prueba, leidos de propiedades de sistema {@code carga.*}.
+ *
+ * @param tasa peticiones por segundo entre todos los clientes; 0 para lazo cerrado (cada cliente envia en cuanto recibe)
+ * @param umbral regresion tolerada respecto de la linea base, p. ej. 0.2 = 20 %
+ * @param sinLineaBase correr sin comparar cuando no hay linea base; si no, su falta hace fallar el build
+ */
+record ConfiguracionCarga(
+        int clientes,
+        Duration calentamiento,
+        Duration duracion,
+        int filas,
+        MezclaTrafico mezcla,
+        double tasa,
+        String perfil,
+        Path lineaBase,
+        Path resultado,
+        double umbral,
+        boolean guardarLineaBase,
+        boolean sinLineaBase) {
+
+    static ConfiguracionCarga desde(Properties propiedades) {
+        return new ConfiguracionCarga(
+                Integer.parseInt(propiedades.getProperty("carga.clientes", "64")),
+                Duration.ofSeconds(Long.parseLong(propiedades.getProperty("carga.calentamiento", "10"))),
+                Duration.ofSeconds(Long.parseLong(propiedades.getProperty("carga.duracion", "30"))),
+                Integer.parseInt(propiedades.getProperty("carga.filas", "10000")),
+                MezclaTrafico.desde(propiedades.getProperty("carga.mezcla",
+                        "crear=10,leer=50,actualizar=15,eliminar=5,listar=20")),
+                Double.parseDouble(propiedades.getProperty("carga.tasa", "0")),
+                propiedades.getProperty("carga.perfil", "default"),
+                Path.of(propiedades.getProperty("carga.lineaBase", "src/carga/linea-base.json")),
+                Path.of(propiedades.getProperty("carga.resultado", "target/carga-resultado.json")),
+                Double.parseDouble(propiedades.getProperty("carga.umbral", "0.2")),
+                Boolean.parseBoolean(propiedades.getProperty("carga.guardarLineaBase", "false")),
+                Boolean.parseBoolean(propiedades.getProperty("carga.sinLineaBase", "false")));
+    }
+}
@@ -0,0 +1,19 @@
+package com.mockito.mockito.carga;
+
+/**
+ * Resultado de una operacion; latencias en milisegundos.
+ */
+record EstadisticaOperacion(
+        long peticiones,
+        long errores,
+        double porSegundo,
+        double p50,
+        double p95,
+        double p99,
+        double p999,
+        double maximo) {
+
+    double tasaErrores() {
+        return peticiones == 0 ? 0 : (double) errores / peticiones;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mockito.mockito.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Resultados por operacion, guardados en JSON para compararlos con la linea base.
+ */
+record InformeCarga(String mezcla, int clientes, double segundos, Map<String, EstadisticaOperacion> operaciones) {
+
+    private static final double MAXIMA_TASA_ERRORES = 0.01;
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static InformeCarga leer(Path archivo) throws IOException {
+        return JSON.readValue(archivo.toFile(), InformeCarga.class);
+    }
+
+    void guardar(Path archivo) throws IOException {
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        JSON.writeValue(archivo.toFile(), this);
+    }
+
+    void imprimir(PrintStream salida) {
+        salida.printf(Locale.ROOT, "%d clientes, %.0f s, mezcla %s%n", clientes, segundos, mezcla);
+        salida.printf(Locale.ROOT, "%-11s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operacion", "peticiones", "errores", "pet/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, EstadisticaOperacion> entrada : new TreeMap<>(operaciones).entrySet()) {
+            EstadisticaOperacion e = entrada.getValue();
+            salida.printf(Locale.ROOT, "%-11s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entrada.getKey(), e.peticiones(), e.errores(), e.porSegundo(),
+                    e.p50(), e.p95(), e.p99(), e.p999(), e.maximo());
+        }
+    }
+
+    /**
+     * Regresiones frente a la linea base: p99 mayor o rendimiento menor que lo tolerado por {@code umbral},
+     * o mas de 1 % de errores. Las operaciones que la linea base no tiene solo se revisan por errores.
+     */
+    List<String> regresiones(InformeCarga base, double umbral) {
+        List<String> regresiones = new ArrayList<>();
+        for (Map.Entry<String, EstadisticaOperacion> entrada : new TreeMap<>(operaciones).entrySet()) {
+            String operacion = entrada.getKey();
+            EstadisticaOperacion actual = entrada.getValue();
+            if (actual.tasaErrores() > MAXIMA_TASA_ERRORES) {
+                regresiones.add(String.format(Locale.ROOT, "%s: %d errores de %d peticiones",
+                        operacion, actual.errores(), actual.peticiones()));
+            }
+            EstadisticaOperacion anterior = base.operaciones().get(operacion);
+            if (anterior == null) {
+                continue;
+            }
+            if (actual.p99() > anterior.p99() * (1 + umbral)) {
+                regresiones.add(String.format(Locale.ROOT, "%s: p99 %.2f ms, linea base %.2f ms",
+                        operacion, actual.p99(), anterior.p99()));
+            }
+            if (actual.porSegundo() < anterior.porSegundo() * (1 - umbral)) {
+                regresiones.add(String.format(Locale.ROOT, "%s: %.1f pet/s, linea base %.1f pet/s",
+                        operacion, actual.porSegundo(), anterior.porSegundo()));
+            }
+        }
+        return regresiones;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mockito.mockito.carga;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencias en microsegundos y errores de una operacion; cada cliente tiene las suyas y se suman al final.
+ */
+final class Medicion {
+
+    private static final long MAXIMO_MICROS = 60_000_000L;
+
+    private final Histogram latencias = new Histogram(MAXIMO_MICROS, 3);
+
+    private long errores;
+
+    void registrar(long micros) {
+        latencias.recordValue(Math.min(micros, MAXIMO_MICROS));
+    }
+
+    void registrarError() {
+        errores++;
+    }
+
+    void agregar(Medicion otra) {
+        latencias.add(otra.latencias);
+        errores += otra.errores;
+    }
+
+    EstadisticaOperacion estadistica(double segundos) {
+        long correctas = latencias.getTotalCount();
+        return new EstadisticaOperacion(
+                correctas + errores,
+                errores,
+                correctas / segundos,
+                milis(latencias.getValueAtPercentile(50)),
+                milis(latencias.getValueAtPercentile(95)),
+                milis(latencias.getValueAtPercentile(99)),
+                milis(latencias.getValueAtPercentile(99.9)),
+                milis(latencias.getMaxValue()));
+    }
+
+    private static double milis(long micros) {
+        return micros / 1000.0;
+    }
+}
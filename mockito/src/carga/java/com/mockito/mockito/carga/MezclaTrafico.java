@@ -0,0 +1,70 @@
+package com.mockito.mockito.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Proporcion de cada operacion en el trafico, p. ej. {@code "crear=10,leer=50,actualizar=15,eliminar=5,listar=20"}.
+ */
+final class MezclaTrafico {
+
+    private final Operacion[] operaciones;
+
+    private final int[] acumulado;
+
+    private MezclaTrafico(Map<Operacion, Integer> pesos) {
+        operaciones = pesos.keySet().toArray(Operacion[]::new);
+        acumulado = new int[operaciones.length];
+        int total = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            total += pesos.get(operaciones[i]);
+            acumulado[i] = total;
+        }
+    }
+
+    static MezclaTrafico desde(String texto) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.split("=");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Mezcla invalida: " + texto);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo en la mezcla: " + parte);
+            }
+            if (peso > 0) {
+                pesos.merge(Operacion.deClave(claveValor[0]), peso, Integer::sum);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla no tiene operaciones: " + texto);
+        }
+        return new MezclaTrafico(pesos);
+    }
+
+    Operacion elegir() {
+        int valor = ThreadLocalRandom.current().nextInt(acumulado[acumulado.length - 1]);
+        for (int i = 0; i < acumulado.length; i++) {
+            if (valor < acumulado[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        int anterior = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            if (i > 0) {
+                texto.append(',');
+            }
+            texto.append(operaciones[i].clave()).append('=').append(acumulado[i] - anterior);
+            anterior = acumulado[i];
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mockito.mockito.carga;
+
+import java.util.Locale;
+
+enum Operacion {
+
+    CREAR(201),
+    LEER(200),
+    ACTUALIZAR(204),
+    ELIMINAR(204),
+    LISTAR(200);
+
+    private final int estadoEsperado;
+
+    Operacion(int estadoEsperado) {
+        this.estadoEsperado = estadoEsperado;
+    }
+
+    int estadoEsperado() {
+        return estadoEsperado;
+    }
+
+    String clave() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Operacion deClave(String clave) {
+        return valueOf(clave.trim().toUpperCase(Locale.ROOT));
+    }
+}
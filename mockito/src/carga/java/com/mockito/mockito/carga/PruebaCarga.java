@@ -0,0 +1,252 @@
+package com.mockito.mockito.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mockito.mockito.MockitoApplication;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.service.EmpleadoService;
+
+/**
+ * Levanta la aplicacion completa en un puerto aleatorio contra H2 y la somete a la mezcla de trafico configurada.
+ * Termina con codigo 1 si hay regresiones frente a la linea base, para que falle el build ({@code mvn -Pcarga verify}),
+ * y con codigo 2 si no se puede comparar: falta la linea base (salvo {@code carga.sinLineaBase=true}) o se midio
+ * con otra mezcla u otra cantidad de clientes.
+ * <p>
+ * Lecturas, actualizaciones y listados usan las filas sembradas; las eliminaciones toman filas creadas durante la
+ * prueba, asi ninguna operacion apunta a un id ya borrado. Si no hay creadas disponibles la eliminacion se hace
+ * como creacion. Con {@code carga.tasa} la latencia se mide desde el instante programado y no desde el envio,
+ * para no ocultar la espera cuando el servidor se atrasa.
+ */
+public final class PruebaCarga {
+
+    private static final int LOTE_SEMILLA = 10_000;
+
+    private static final int TAMANIO_PAGINA = 50;
+
+    private static final int SIN_COMPARACION = 2;
+
+    private final ConfiguracionCarga configuracion;
+
+    private final String base;
+
+    private final List<Long> semilla;
+
+    private final Queue<Long> creados = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private final HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    private PruebaCarga(ConfiguracionCarga configuracion, String base, List<Long> semilla) {
+        this.configuracion = configuracion;
+        this.base = base;
+        this.semilla = semilla;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desde(System.getProperties());
+        InformeCarga informe;
+        try (ConfigurableApplicationContext contexto = iniciar(configuracion.perfil())) {
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            List<Long> semilla = sembrar(contexto.getBean(EmpleadoService.class), configuracion.filas());
+            informe = new PruebaCarga(configuracion, "http://localhost:" + puerto + "/api/empleados", semilla).ejecutar();
+        }
+        informe.imprimir(System.out);
+        informe.guardar(configuracion.resultado());
+        System.exit(evaluar(configuracion, informe));
+    }
+
+    private static int evaluar(ConfiguracionCarga configuracion, InformeCarga informe) throws IOException {
+        if (configuracion.guardarLineaBase()) {
+            informe.guardar(configuracion.lineaBase());
+            System.out.println("Linea base actualizada: " + configuracion.lineaBase());
+            return 0;
+        }
+        if (!Files.exists(configuracion.lineaBase())) {
+            if (configuracion.sinLineaBase()) {
+                System.out.println("Sin linea base en " + configuracion.lineaBase() + "; se omite la comparacion");
+                return 0;
+            }
+            System.out.println("ERROR: no hay linea base en " + configuracion.lineaBase()
+                    + "; generarla con -Dcarga.guardarLineaBase=true o correr con -Dcarga.sinLineaBase=true");
+            return SIN_COMPARACION;
+        }
+        InformeCarga lineaBase = InformeCarga.leer(configuracion.lineaBase());
+        // Con otra mezcla u otra concurrencia las latencias no son comparables: ni pasa ni falla por regresion
+        if (!lineaBase.mezcla().equals(informe.mezcla()) || lineaBase.clientes() != informe.clientes()) {
+            System.out.printf("ERROR: la linea base se midio con %d clientes y mezcla %s; esta prueba con %d y %s%n",
+                    lineaBase.clientes(), lineaBase.mezcla(), informe.clientes(), informe.mezcla());
+            return SIN_COMPARACION;
+        }
+        List<String> regresiones = informe.regresiones(lineaBase, configuracion.umbral());
+        regresiones.forEach(regresion -> System.out.println("REGRESION " + regresion));
+        return regresiones.isEmpty() ? 0 : 1;
+    }
+
+    private static ConfigurableApplicationContext iniciar(String perfil) {
+        SpringApplicationBuilder aplicacion = new SpringApplicationBuilder(MockitoApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                        // El perfil prod toma la base de estas variables
+                        "EMPLEADOS_DB_URL=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64",
+                        "EMPLEADOS_DB_USER=root",
+                        "EMPLEADOS_DB_PASSWORD=root",
+                        "logging.level.root=WARN",
+                        "server.port=0");
+        if (!"default".equals(perfil)) {
+            aplicacion.profiles(perfil.split(","));
+        }
+        return aplicacion.run();
+    }
+
+    private static List<Long> sembrar(EmpleadoService empleadoService, int filas) {
+        List<Long> ids = new ArrayList<>(filas);
+        for (int inicio = 0; inicio < filas; inicio += LOTE_SEMILLA) {
+            List<Empleado> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(filas, inicio + LOTE_SEMILLA); i++) {
+                lote.add(Empleado.builder()
+                        .nombre("Nombre" + i)
+                        .apellido("Apellido" + i)
+                        .email("semilla" + i + "@mail.com")
+                        .build());
+            }
+            for (ResultadoCarga resultado : empleadoService.saveEmpleados(lote)) {
+                ids.add(resultado.id());
+            }
+        }
+        return ids;
+    }
+
+    private InformeCarga ejecutar() throws Exception {
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + configuracion.calentamiento().toNanos();
+        long fin = inicioMedicion + configuracion.duracion().toNanos();
+        long intervalo = configuracion.tasa() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) * configuracion.clientes() / configuracion.tasa())
+                : 0;
+
+        ExecutorService hilos = Executors.newFixedThreadPool(configuracion.clientes());
+        List<Future<Map<Operacion, Medicion>>> clientes = new ArrayList<>();
+        for (int i = 0; i < configuracion.clientes(); i++) {
+            long desfase = intervalo * i / configuracion.clientes();
+            clientes.add(hilos.submit(() -> cliente(inicio + desfase, inicioMedicion, fin, intervalo)));
+        }
+        Map<Operacion, Medicion> total = new EnumMap<>(Operacion.class);
+        for (Future<Map<Operacion, Medicion>> resultado : clientes) {
+            resultado.get().forEach((operacion, medicion) ->
+                    total.computeIfAbsent(operacion, o -> new Medicion()).agregar(medicion));
+        }
+        hilos.shutdown();
+
+        double segundos = configuracion.duracion().toNanos() / 1e9;
+        Map<String, EstadisticaOperacion> operaciones = new TreeMap<>();
+        total.forEach((operacion, medicion) -> operaciones.put(operacion.clave(), medicion.estadistica(segundos)));
+        return new InformeCarga(configuracion.mezcla().toString(), configuracion.clientes(), segundos, operaciones);
+    }
+
+    private Map<Operacion, Medicion> cliente(long primerEnvio, long inicioMedicion, long fin, long intervalo) {
+        Map<Operacion, Medicion> mediciones = new EnumMap<>(Operacion.class);
+        long programado = primerEnvio;
+        while (true) {
+            long ahora = System.nanoTime();
+            if (intervalo > 0 && programado > ahora) {
+                LockSupport.parkNanos(programado - ahora);
+            }
+            long envio = intervalo > 0 ? programado : System.nanoTime();
+            if (envio >= fin) {
+                return mediciones;
+            }
+            Operacion operacion = configuracion.mezcla().elegir();
+            Long eliminable = operacion == Operacion.ELIMINAR ? creados.poll() : null;
+            if (operacion == Operacion.ELIMINAR && eliminable == null) {
+                operacion = Operacion.CREAR;
+            }
+            boolean correcta;
+            try {
+                correcta = enviar(operacion, eliminable);
+            } catch (IOException e) {
+                correcta = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return mediciones;
+            }
+            long latencia = System.nanoTime() - envio;
+            if (envio >= inicioMedicion) {
+                Medicion medicion = mediciones.computeIfAbsent(operacion, o -> new Medicion());
+                if (correcta) {
+                    medicion.registrar(TimeUnit.NANOSECONDS.toMicros(latencia));
+                } else {
+                    medicion.registrarError();
+                }
+            }
+            programado += intervalo;
+        }
+    }
+
+    private boolean enviar(Operacion operacion, Long eliminable) throws IOException, InterruptedException {
+        return switch (operacion) {
+            case CREAR -> crear();
+            case LEER -> enviar(operacion, HttpRequest.newBuilder(URI.create(base + "/" + idSembrado())).GET());
+            case ACTUALIZAR -> enviar(operacion, HttpRequest.newBuilder(URI.create(base + "/" + idSembrado()))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"nombre\":\"Cambio" + secuencia.incrementAndGet() + "\"}")));
+            case ELIMINAR -> enviar(operacion, HttpRequest.newBuilder(URI.create(base + "/" + eliminable)).DELETE());
+            case LISTAR -> enviar(operacion, HttpRequest.newBuilder(
+                    URI.create(base + "?after=" + idSembrado() + "&limit=" + TAMANIO_PAGINA)).GET());
+        };
+    }
+
+    private boolean crear() throws IOException, InterruptedException {
+        long n = secuencia.incrementAndGet();
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"nombre\":\"Nombre" + n + "\",\"apellido\":\"Apellido" + n
+                        + "\",\"email\":\"carga" + n + "@mail.com\"}"))
+                .build();
+        HttpResponse<byte[]> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+        if (respuesta.statusCode() != Operacion.CREAR.estadoEsperado()) {
+            return false;
+        }
+        creados.add(json.readTree(respuesta.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean enviar(Operacion operacion, HttpRequest.Builder peticion) throws IOException, InterruptedException {
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.discarding()).statusCode()
+                == operacion.estadoEsperado();
+    }
+
+    private long idSembrado() {
+        return semilla.get(ThreadLocalRandom.current().nextInt(semilla.size()));
+    }
+}
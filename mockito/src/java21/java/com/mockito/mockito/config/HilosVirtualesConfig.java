@@ -0,0 +1,35 @@
+package com.mockito.mockito.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+/**
+ * Solo se compila con el perfil Maven {@code java21}. Se activa con
+ * {@code empleados.hilos-virtuales.enabled=true} (perfil Spring {@code virtual}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "empleados.hilos-virtuales.enabled", havingValue = "true")
+public class HilosVirtualesConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> hilosVirtualesTomcat() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Reemplaza el pool de la aplicacion: respuestas asincronas de MVC y tareas de la capa de servicio
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
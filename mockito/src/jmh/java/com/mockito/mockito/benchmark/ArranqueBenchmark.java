@@ -0,0 +1,71 @@
+package com.mockito.mockito.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Arranque en frio: cada fork es una JVM nueva y mide una sola vez, sin calentamiento.
+ * {@code arrancar} llega hasta el contexto listo; {@code primeraPeticion} suma la primera respuesta
+ * de la API, donde el perfil lazy paga lo que ahorra al arrancar. No incluye el arranque de la JVM.
+ * AOT y CDS se comparan agregando {@code -jvmArgsAppend} (ver el perfil benchmark del pom).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ArranqueBenchmark {
+
+    @Param({ "default", "lazy" })
+    public String perfil;
+
+    private ConfigurableApplicationContext contexto;
+
+    @TearDown(Level.Iteration)
+    public void cerrar() {
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    private ConfigurableApplicationContext iniciar() {
+        contexto = ContextoBenchmark.iniciar("bench-arranque", WebApplicationType.SERVLET,
+                "spring.profiles.active=" + perfil);
+        return contexto;
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext arrancar() {
+        return iniciar();
+    }
+
+    @Benchmark
+    public int primeraPeticion() throws IOException, InterruptedException {
+        int puerto = ((WebServerApplicationContext) iniciar()).getWebServer().getPort();
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/empleados?limit=10"))
+                .GET()
+                .build();
+        return HttpClient.newHttpClient().send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
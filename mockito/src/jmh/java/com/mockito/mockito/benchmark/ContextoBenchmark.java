@@ -0,0 +1,59 @@
+package com.mockito.mockito.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.mockito.mockito.MockitoApplication;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.service.EmpleadoService;
+
+final class ContextoBenchmark {
+
+    private static final int LOTE = 10_000;
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String baseDatos, WebApplicationType tipo, String... propiedades) {
+        List<String> todas = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + baseDatos + ";DB_CLOSE_DELAY=-1",
+                // El perfil prod toma la base de estas variables
+                "EMPLEADOS_DB_URL=jdbc:h2:mem:" + baseDatos + ";DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64",
+                "EMPLEADOS_DB_USER=root",
+                "EMPLEADOS_DB_PASSWORD=root",
+                "logging.level.root=WARN",
+                "server.port=0"));
+        todas.addAll(List.of(propiedades));
+        return new SpringApplicationBuilder(MockitoApplication.class)
+                .web(tipo)
+                .properties(todas.toArray(String[]::new))
+                .run();
+    }
+
+    static List<Long> poblar(EmpleadoService empleadoService, int filas) {
+        List<Long> ids = new ArrayList<>(filas);
+        for (int inicio = 0; inicio < filas; inicio += LOTE) {
+            for (ResultadoCarga resultado : empleadoService.saveEmpleados(generar(inicio, Math.min(LOTE, filas - inicio)))) {
+                ids.add(resultado.id());
+            }
+        }
+        return ids;
+    }
+
+    static List<Empleado> generar(int desde, int cantidad) {
+        List<Empleado> empleados = new ArrayList<>(cantidad);
+        for (int i = desde; i < desde + cantidad; i++) {
+            empleados.add(Empleado.builder()
+                    .nombre("Nombre" + i)
+                    .apellido("Apellido" + i)
+                    .email("empleado" + i + "@mail.com")
+                    .build());
+        }
+        return empleados;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mockito.mockito.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.mockito.mockito.service.EmpleadoService;
+
+/**
+ * Latencia de la API bajo alta concurrencia (SampleTime reporta p50/p90/p99/p999).
+ * {@code perfil=virtual} solo tiene efecto con {@code mvn -Pbenchmark,java21 verify};
+ * {@code perfil=prod} compara el pool y Hibernate ajustados contra los valores por defecto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class EmpleadoHttpBenchmark {
+
+    @Param({ "default", "virtual", "prod" })
+    public String perfil;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private String base;
+
+    private List<Long> ids;
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    @Setup
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("bench-http-" + perfil, WebApplicationType.SERVLET,
+                "spring.profiles.active=" + perfil);
+        int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        base = "http://localhost:" + puerto + "/api/empleados";
+        ids = ContextoBenchmark.poblar(contexto.getBean(EmpleadoService.class), 10_000);
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    private int enviar(String uri) throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(uri)).GET().build());
+    }
+
+    private int enviar(HttpRequest peticion) throws IOException, InterruptedException {
+        return cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int obtenerEmpleadoPorId() throws IOException, InterruptedException {
+        return enviar(base + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public int listarPagina() throws IOException, InterruptedException {
+        return enviar(base + "?after=" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())) + "&limit=100");
+    }
+
+    @Benchmark
+    public int guardarEmpleado() throws IOException, InterruptedException {
+        long n = secuencia.incrementAndGet();
+        String cuerpo = "{\"nombre\":\"Nombre" + n + "\",\"apellido\":\"Apellido" + n
+                + "\",\"email\":\"nuevo" + n + "@mail.com\"}";
+        return enviar(HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build());
+    }
+}
@@ -0,0 +1,53 @@
+package com.mockito.mockito.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mockito.mockito.entities.Empleado;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmpleadoJsonBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int tamanioLista;
+
+    private ObjectMapper objectMapper;
+
+    private List<Empleado> empleados;
+
+    @Setup
+    public void iniciar() {
+        // Misma configuracion por defecto que el ObjectMapper de Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        empleados = ContextoBenchmark.generar(0, tamanioLista);
+        long id = 1;
+        for (Empleado empleado : empleados) {
+            empleado.setId(id++);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(empleados);
+    }
+}
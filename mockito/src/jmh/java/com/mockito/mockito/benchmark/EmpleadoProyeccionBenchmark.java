@@ -0,0 +1,78 @@
+package com.mockito.mockito.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.service.EmpleadoService;
+
+/**
+ * Compara una pagina de GET /api/empleados con entidades contra la misma pagina con
+ * {@code fields=nombre,apellido} (id y nombre para mostrar): consulta mas serializacion. Correr con {@code -prof gc}
+ * y dividir {@code gc.alloc.rate.norm} entre {@code tamanioPagina} para obtener bytes por fila.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmpleadoProyeccionBenchmark {
+
+    private static final int TAMANIO_TABLA = 20_000;
+
+    private static final Set<String> CAMPOS = Set.of("nombre", "apellido");
+
+    @Param({ "100", "1000" })
+    public int tamanioPagina;
+
+    private ConfigurableApplicationContext contexto;
+
+    private EmpleadoService empleadoService;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("bench-proyeccion-" + tamanioPagina, WebApplicationType.NONE);
+        empleadoService = contexto.getBean(EmpleadoService.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        ContextoBenchmark.poblar(empleadoService, TAMANIO_TABLA);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] listarEntidades() throws JsonProcessingException {
+        List<Empleado> empleados = empleadoService.getEmpleadosAfter(0, tamanioPagina);
+        return objectMapper.writeValueAsBytes(empleados);
+    }
+
+    @Benchmark
+    public byte[] listarResumen() throws JsonProcessingException {
+        List<EmpleadoResumen> resumenes = empleadoService.getResumenEmpleadosAfter(0, tamanioPagina, CAMPOS);
+        return objectMapper.writeValueAsBytes(resumenes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mockito.mockito.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.repository.EmpleadoRepository;
+import com.mockito.mockito.service.EmpleadoService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmpleadoServiceBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int tamanioTabla;
+
+    private ConfigurableApplicationContext contexto;
+
+    private EmpleadoService empleadoService;
+
+    private EmpleadoRepository empleadoRepository;
+
+    private List<Long> ids;
+
+    private final AtomicLong siguienteEmail = new AtomicLong();
+
+    @Setup
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("bench-servicio-" + tamanioTabla, WebApplicationType.NONE);
+        empleadoService = contexto.getBean(EmpleadoService.class);
+        empleadoRepository = contexto.getBean(EmpleadoRepository.class);
+        ids = ContextoBenchmark.poblar(empleadoService, tamanioTabla);
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    private long idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    // Incluye el cache de getEmpleadoById: es el camino que recorre GET /api/empleados/{id}
+    @Benchmark
+    public Optional<Empleado> getEmpleadoById() {
+        return empleadoService.getEmpleadoById(idAleatorio());
+    }
+
+    @Benchmark
+    public Optional<Empleado> findByIdSinCache() {
+        return empleadoRepository.findById(idAleatorio());
+    }
+
+    // Cada invocacion inserta una fila nueva, la tabla crece durante la medicion
+    @Benchmark
+    public Empleado saveEmpleado() {
+        long n = siguienteEmail.incrementAndGet();
+        return empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Nuevo" + n)
+                .apellido("Benchmark")
+                .email("nuevo" + n + "-" + tamanioTabla + "@bench.com")
+                .build());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Empleado> getAllEmpleados() {
+        return empleadoService.getAllEmpleados();
+    }
+}
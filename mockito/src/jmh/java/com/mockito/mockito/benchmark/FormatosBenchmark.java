@@ -0,0 +1,105 @@
+package com.mockito.mockito.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.formatos.ConversorColumnas;
+
+/**
+ * Costo de codificar y decodificar un listado en cada formato de GET /api/empleados. El tamanio de cada
+ * formato, sin comprimir y con gzip (server.compression), se imprime al preparar cada combinacion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FormatosBenchmark {
+
+    private static final TypeReference<List<Empleado>> LISTA = new TypeReference<>() {
+    };
+
+    @Param({ "100", "1000" })
+    public int tamanioLista;
+
+    @Param({ "json", "columnas", "cbor", "smile" })
+    public String formato;
+
+    private ObjectMapper objectMapper;
+
+    private ConversorColumnas columnas;
+
+    private List<Empleado> empleados;
+
+    private byte[] codificado;
+
+    @Setup
+    public void iniciar() throws IOException {
+        objectMapper = switch (formato) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        columnas = new ConversorColumnas(objectMapper);
+        empleados = ContextoBenchmark.generar(0, tamanioLista);
+        long id = 1;
+        for (Empleado empleado : empleados) {
+            empleado.setId(id++);
+            empleado.setVersion(0L);
+            empleado.setUltimaModificacion(Instant.now());
+        }
+        codificado = codificar();
+        System.out.printf("%n%s: %d filas, %d bytes, %d bytes con gzip%n",
+                formato, tamanioLista, codificado.length, gzip(codificado).length);
+    }
+
+    private static byte[] gzip(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        if (formato.equals("columnas")) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            columnas.escribir(empleados, salida);
+            return salida.toByteArray();
+        }
+        return objectMapper.writeValueAsBytes(empleados);
+    }
+
+    @Benchmark
+    public List<Empleado> decodificar() throws IOException {
+        if (formato.equals("columnas")) {
+            return columnas.leer(new ByteArrayInputStream(codificado), Empleado.class);
+        }
+        return objectMapper.readValue(codificado, LISTA);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mockito.mockito.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.replica.ReplicaEmpleados;
+
+/**
+ * Memoria por fila y lecturas de ReplicaEmpleados contra un {@code HashMap<Long, Empleado>}.
+ * Los bytes por fila se imprimen al preparar cada estructura (heap usado antes y despues,
+ * con GC de por medio); {@code -prof gc} muestra la asignacion por lectura y el tiempo de GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReplicaEmpleadosBenchmark {
+
+    @Param({ "100000", "1000000" })
+    public int filas;
+
+    @Param({ "replica", "hashmap" })
+    public String estructura;
+
+    private ReplicaEmpleados replica;
+
+    private Map<Long, Empleado> mapa;
+
+    @Setup
+    public void iniciar() {
+        long antes = heapUsado();
+        List<Empleado> empleados = ContextoBenchmark.generar(0, filas);
+        long id = 1;
+        for (Empleado empleado : empleados) {
+            empleado.setId(id++);
+            empleado.setVersion(0L);
+        }
+        long conLista = heapUsado();
+        if (estructura.equals("replica")) {
+            replica = new ReplicaEmpleados();
+            empleados.forEach(replica::poner);
+        } else {
+            mapa = new HashMap<>();
+            empleados.forEach(empleado -> mapa.put(empleado.getId(), empleado));
+        }
+        // La lista se suelta: el mapa retiene sus Empleado, la replica no
+        empleados = null;
+        long despues = heapUsado();
+        System.out.printf("%n%s: %d filas, %.1f bytes por fila (lista temporal %.1f bytes por fila)%n",
+                estructura, filas, (double) (despues - antes) / filas, (double) (conLista - antes) / filas);
+    }
+
+    private static long heapUsado() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    private long idAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(filas);
+    }
+
+    @Benchmark
+    public Empleado porId() {
+        long id = idAleatorio();
+        return replica != null ? replica.porId(id).orElse(null) : mapa.get(id);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mockito.mockito.admision;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pone el handler bajo el {@link LimitadorAdaptativo}; en el controlador vale para todos sus metodos
+ * y en un metodo cambia la prioridad solo para ese. Los handlers sin la anotacion no se limitan.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Admision {
+
+    Prioridad value() default Prioridad.NORMAL;
+}
@@ -0,0 +1,96 @@
+package com.mockito.mockito.admision;
+
+import java.io.IOException;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.mockito.mockito.exceptions.SobrecargaException;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Pide un permiso al {@link LimitadorAdaptativo} antes de los handlers con {@link Admision} y lo libera al
+ * terminar la peticion; sin permiso responde enseguida (503 con Retry-After) en lugar de esperar un hilo o
+ * una conexion. Las respuestas asincronas retienen el permiso hasta que terminan, sin aportar latencia.
+ */
+public class AdmisionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMISO = AdmisionInterceptor.class.getName() + ".permiso";
+
+    private final LimitadorAdaptativo limitador;
+
+    public AdmisionInterceptor(LimitadorAdaptativo limitador) {
+        this.limitador = limitador;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // El despacho que escribe un resultado asincrono ya paso por aqui
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+        Admision admision = metodo.getMethodAnnotation(Admision.class);
+        if (admision == null) {
+            admision = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), Admision.class);
+        }
+        if (admision == null) {
+            return true;
+        }
+        String clave = metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        LimitadorAdaptativo.Permiso permiso = limitador.intentar(clave, admision.value());
+        if (permiso == null) {
+            throw new SobrecargaException("Servicio saturado, intente de nuevo");
+        }
+        request.setAttribute(PERMISO, permiso);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LimitadorAdaptativo.Permiso permiso = quitarPermiso(request);
+        if (permiso != null) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    permiso.descartar();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    permiso.descartar();
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    permiso.descartar();
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) throws IOException {
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        LimitadorAdaptativo.Permiso permiso = quitarPermiso(request);
+        if (permiso != null) {
+            permiso.completar(response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    private static LimitadorAdaptativo.Permiso quitarPermiso(HttpServletRequest request) {
+        LimitadorAdaptativo.Permiso permiso = (LimitadorAdaptativo.Permiso) request.getAttribute(PERMISO);
+        request.removeAttribute(PERMISO);
+        return permiso;
+    }
+}
@@ -0,0 +1,199 @@
+package com.mockito.mockito.admision;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.mockito.mockito.config.AdmisionProperties;
+
+/**
+ * Limite de peticiones concurrentes que se ajusta por gradiente de latencia: cada endpoint guarda su latencia
+ * base (promedio de largo plazo) y cada respuesta compara su latencia con esa base. Mientras no empeore mas
+ * de {@code tolerancia} veces el limite crece en raiz(limite); si empeora baja en proporcion (a lo sumo a la
+ * mitad), igual que ante un 503 propio (p. ej. pool agotado). Cada ajuste se suaviza con {@code suavizado}.
+ * Un solo limite para todos los endpoints porque comparten hilos y conexiones; cada prioridad entra hasta su
+ * cuota del limite.
+ */
+public class LimitadorAdaptativo {
+
+    // Muestras que pesa el promedio de la latencia base
+    private static final int VENTANA_BASE = 600;
+
+    private final AdmisionProperties propiedades;
+
+    private final Consumer<Endpoint> alRegistrar;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private volatile double limite;
+
+    public LimitadorAdaptativo(AdmisionProperties propiedades) {
+        this(propiedades, endpoint -> {
+        });
+    }
+
+    public LimitadorAdaptativo(AdmisionProperties propiedades, Consumer<Endpoint> alRegistrar) {
+        this.propiedades = propiedades;
+        this.alRegistrar = alRegistrar;
+        this.limite = propiedades.limiteInicial();
+    }
+
+    /**
+     * Un permiso que hay que liberar con {@link Permiso#completar(boolean)} o {@link Permiso#descartar()},
+     * o {@code null} si la peticion no entra en la cuota de su prioridad.
+     */
+    public Permiso intentar(String clave, Prioridad prioridad) {
+        Endpoint endpoint = endpoints.computeIfAbsent(clave, c -> {
+            Endpoint nuevo = new Endpoint(c, prioridad);
+            alRegistrar.accept(nuevo);
+            return nuevo;
+        });
+        int maximo = Math.max(1, (int) (limite * cuota(prioridad)));
+        int actual;
+        do {
+            actual = enCurso.get();
+            if (actual >= maximo) {
+                endpoint.rechazos.incrementAndGet();
+                return null;
+            }
+        } while (!enCurso.compareAndSet(actual, actual + 1));
+        endpoint.enCurso.incrementAndGet();
+        return new Permiso(endpoint, actual + 1, System.nanoTime());
+    }
+
+    private double cuota(Prioridad prioridad) {
+        return switch (prioridad) {
+            case ALTA -> 1;
+            case NORMAL -> propiedades.cuotaNormal();
+            case BAJA -> propiedades.cuotaBaja();
+        };
+    }
+
+    public int limite() {
+        return (int) limite;
+    }
+
+    public int enCurso() {
+        return enCurso.get();
+    }
+
+    public Collection<Endpoint> endpoints() {
+        return endpoints.values();
+    }
+
+    private synchronized void ajustar(double base, long latencia, int enCursoAlEntrar, boolean sobrecarga) {
+        double gradiente;
+        if (sobrecarga) {
+            gradiente = 0.5;
+        } else {
+            // Con menos de la mitad del limite en uso la latencia no dice nada del limite
+            if (enCursoAlEntrar < limite / 2) {
+                return;
+            }
+            gradiente = Math.max(0.5, Math.min(1, propiedades.tolerancia() * base / Math.max(1, latencia)));
+        }
+        double objetivo = limite * gradiente + (gradiente == 1 ? Math.sqrt(limite) : 0);
+        double nuevo = limite * (1 - propiedades.suavizado()) + objetivo * propiedades.suavizado();
+        limite = Math.max(propiedades.limiteMinimo(), Math.min(propiedades.limiteMaximo(), nuevo));
+    }
+
+    public static final class Endpoint {
+
+        private final String clave;
+
+        private final Prioridad prioridad;
+
+        private final AtomicInteger enCurso = new AtomicInteger();
+
+        private final AtomicLong rechazos = new AtomicLong();
+
+        private double latenciaBase;
+
+        private Endpoint(String clave, Prioridad prioridad) {
+            this.clave = clave;
+            this.prioridad = prioridad;
+        }
+
+        public String clave() {
+            return clave;
+        }
+
+        public Prioridad prioridad() {
+            return prioridad;
+        }
+
+        public int enCurso() {
+            return enCurso.get();
+        }
+
+        public long rechazos() {
+            return rechazos.get();
+        }
+
+        public synchronized double latenciaBase() {
+            return latenciaBase;
+        }
+
+        // Devuelve la base anterior a la muestra, contra la que se compara
+        private synchronized double registrar(long latencia) {
+            double anterior = latenciaBase == 0 ? latencia : latenciaBase;
+            latenciaBase = anterior + (latencia - anterior) / VENTANA_BASE;
+            // Una base inflada (p. ej. por el arranque) bajaria el limite de mas: converge mas rapido hacia abajo
+            if (latenciaBase > 2 * latencia) {
+                latenciaBase *= 0.95;
+            }
+            return anterior;
+        }
+    }
+
+    public final class Permiso {
+
+        private final Endpoint endpoint;
+
+        private final int enCursoAlEntrar;
+
+        private final long inicio;
+
+        private final AtomicBoolean liberado = new AtomicBoolean();
+
+        private Permiso(Endpoint endpoint, int enCursoAlEntrar, long inicio) {
+            this.endpoint = endpoint;
+            this.enCursoAlEntrar = enCursoAlEntrar;
+            this.inicio = inicio;
+        }
+
+        /**
+         * Libera el permiso y ajusta el limite con la latencia medida; {@code sobrecarga} cuando la peticion
+         * fallo por falta de recursos del servidor.
+         */
+        public void completar(boolean sobrecarga) {
+            completar(System.nanoTime() - inicio, sobrecarga);
+        }
+
+        void completar(long latencia, boolean sobrecarga) {
+            if (liberar()) {
+                ajustar(endpoint.registrar(latencia), latencia, enCursoAlEntrar, sobrecarga);
+            }
+        }
+
+        // Sin muestra: respuestas asincronas o en streaming, cuya duracion no es la del trabajo
+        public void descartar() {
+            liberar();
+        }
+
+        private boolean liberar() {
+            if (!liberado.compareAndSet(false, true)) {
+                return false;
+            }
+            endpoint.enCurso.decrementAndGet();
+            enCurso.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.mockito.mockito.admision;
+
+/**
+ * Con el limite ocupado en parte, las peticiones de menor prioridad se rechazan primero
+ * ({@code empleados.admision.cuota-normal} y {@code cuota-baja}); ALTA entra hasta el limite completo.
+ */
+public enum Prioridad {
+    ALTA, NORMAL, BAJA
+}
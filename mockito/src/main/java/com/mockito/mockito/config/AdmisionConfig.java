@@ -0,0 +1,62 @@
+package com.mockito.mockito.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.mockito.mockito.admision.AdmisionInterceptor;
+import com.mockito.mockito.admision.LimitadorAdaptativo;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.admision", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmisionProperties.class)
+public class AdmisionConfig implements WebMvcConfigurer {
+
+    private final AdmisionProperties admisionProperties;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public AdmisionConfig(AdmisionProperties admisionProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.admisionProperties = admisionProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public LimitadorAdaptativo limitadorAdaptativo() {
+        MeterRegistry registro = meterRegistry.getIfAvailable();
+        if (registro == null) {
+            return new LimitadorAdaptativo(admisionProperties);
+        }
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(admisionProperties, endpoint -> {
+            Gauge.builder("empleados.admision.endpoint.en.curso", endpoint, LimitadorAdaptativo.Endpoint::enCurso)
+                    .tag("endpoint", endpoint.clave())
+                    .register(registro);
+            TimeGauge.builder("empleados.admision.endpoint.latencia.base", endpoint, TimeUnit.NANOSECONDS,
+                    LimitadorAdaptativo.Endpoint::latenciaBase)
+                    .tag("endpoint", endpoint.clave())
+                    .register(registro);
+            FunctionCounter.builder("empleados.admision.rechazos", endpoint, LimitadorAdaptativo.Endpoint::rechazos)
+                    .tags("endpoint", endpoint.clave(), "prioridad", endpoint.prioridad().name())
+                    .register(registro);
+        });
+        Gauge.builder("empleados.admision.limite", limitador, LimitadorAdaptativo::limite).register(registro);
+        Gauge.builder("empleados.admision.en.curso", limitador, LimitadorAdaptativo::enCurso).register(registro);
+        return limitador;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmisionInterceptor(limitadorAdaptativo())).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,24 @@
+package com.mockito.mockito.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limite adaptativo de peticiones concurrentes a la API de empleados, p. ej.
+ * {@code empleados.admision.limite-maximo=100} y {@code empleados.admision.cuota-baja=0.5}: los listados y
+ * las cargas masivas dejan de entrar cuando ocupan la mitad del limite, las lecturas por id entran hasta el limite
+ */
+@ConfigurationProperties(prefix = "empleados.admision")
+public record AdmisionProperties(boolean enabled, int limiteInicial, int limiteMinimo, int limiteMaximo,
+        double tolerancia, double suavizado, double cuotaNormal, double cuotaBaja) {
+
+    public AdmisionProperties {
+        limiteMinimo = limiteMinimo > 0 ? limiteMinimo : 5;
+        limiteMaximo = limiteMaximo > 0 ? Math.max(limiteMaximo, limiteMinimo) : Math.max(200, limiteMinimo);
+        limiteInicial = limiteInicial > 0 ? Math.max(limiteMinimo, Math.min(limiteInicial, limiteMaximo))
+                : Math.max(limiteMinimo, Math.min(20, limiteMaximo));
+        tolerancia = tolerancia >= 1 ? tolerancia : 1.5;
+        suavizado = suavizado > 0 && suavizado <= 1 ? suavizado : 0.2;
+        cuotaNormal = cuotaNormal > 0 && cuotaNormal <= 1 ? cuotaNormal : 0.8;
+        cuotaBaja = cuotaBaja > 0 && cuotaBaja <= 1 ? cuotaBaja : 0.5;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mockito.mockito.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.repository.EmpleadoRepository;
+import com.mockito.mockito.service.AgrupadorConsultas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.agrupador", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AgrupadorProperties.class)
+public class AgrupadorConfig {
+
+    @Bean
+    public AgrupadorConsultas<Long, Empleado> agrupadorEmpleados(EmpleadoRepository empleadoRepository,
+            AgrupadorProperties agrupadorProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registro = meterRegistry.getIfAvailable();
+        DistributionSummary tamanios = registro == null ? null
+                : DistributionSummary.builder("empleados.agrupador.lote").register(registro);
+        return new AgrupadorConsultas<>("agrupador-empleados", ids -> cargar(empleadoRepository, ids),
+                agrupadorProperties.maximoLote(), agrupadorProperties.ventana(), agrupadorProperties.espera(),
+                agrupadorProperties.hilos(), tamanios);
+    }
+
+    // Un lote de una sola llave usa findById: sin concurrencia la consulta es la misma de siempre
+    private static Map<Long, Empleado> cargar(EmpleadoRepository empleadoRepository, List<Long> ids) {
+        if (ids.size() == 1) {
+            return empleadoRepository.findById(ids.get(0))
+                    .map(empleado -> Map.of(empleado.getId(), empleado))
+                    .orElse(Map.of());
+        }
+        return empleadoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Empleado::getId, Function.identity()));
+    }
+}
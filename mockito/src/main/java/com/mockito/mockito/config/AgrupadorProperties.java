@@ -0,0 +1,21 @@
+package com.mockito.mockito.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Agrupamiento de getEmpleadoById concurrentes en una consulta "in (...)", p. ej.
+ * {@code empleados.agrupador.ventana=2ms} para esperar mas llaves a costa de latencia;
+ * {@code espera} es lo maximo que una busqueda espera su lote
+ */
+@ConfigurationProperties(prefix = "empleados.agrupador")
+public record AgrupadorProperties(boolean enabled, Duration ventana, Duration espera, int maximoLote, int hilos) {
+
+    public AgrupadorProperties {
+        ventana = ventana != null ? ventana : Duration.ZERO;
+        espera = espera != null ? espera : Duration.ofSeconds(5);
+        maximoLote = maximoLote > 0 ? maximoLote : 500;
+        hilos = hilos > 0 ? hilos : 2;
+    }
+}
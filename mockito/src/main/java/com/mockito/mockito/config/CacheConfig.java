@@ -0,0 +1,35 @@
+package com.mockito.mockito.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String EMPLEADOS = "empleados";
+
+    public static final String EMPLEADOS_POR_EMAIL = "empleadosPorEmail";
+
+    static final String SPEC_POR_DEFECTO = "maximumSize=10000,expireAfterWrite=10m,recordStats";
+
+    // Los put y evict del servicio corren dentro de sus transacciones: se aplican despues del commit para que
+    // una lectura concurrente no vuelva a cachear la fila vieja y un rollback no deje valores en el cache
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        for (String nombre : new String[] { EMPLEADOS, EMPLEADOS_POR_EMAIL }) {
+            String spec = cacheProperties.specs().getOrDefault(nombre, SPEC_POR_DEFECTO);
+            cacheManager.registerCustomCache(nombre, Caffeine.from(spec).build());
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,17 @@
+package com.mockito.mockito.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Especificacion de Caffeine por cache, p. ej.
+ * {@code empleados.cache.specs.empleados=maximumSize=10000,expireAfterWrite=10m,recordStats}
+ */
+@ConfigurationProperties(prefix = "empleados.cache")
+public record CacheProperties(Map<String, String> specs) {
+
+    public CacheProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+    }
+}
@@ -0,0 +1,30 @@
+package com.mockito.mockito.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mockito.mockito.repository.CambioEmpleadoRepository;
+import com.mockito.mockito.service.FeedCambios;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.cambios", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CambiosProperties.class)
+public class CambiosConfig {
+
+    @Bean
+    public FeedCambios feedCambios(CambioEmpleadoRepository cambioEmpleadoRepository, CambiosProperties cambiosProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        FeedCambios feed = new FeedCambios(cambioEmpleadoRepository, cambiosProperties);
+        meterRegistry.ifAvailable(registro -> {
+            Gauge.builder("empleados.cambios.suscriptores", feed, FeedCambios::suscriptores).register(registro);
+            Gauge.builder("empleados.cambios.esperas", feed, FeedCambios::esperasPendientes).register(registro);
+        });
+        return feed;
+    }
+}
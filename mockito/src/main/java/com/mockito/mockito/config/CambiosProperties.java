@@ -0,0 +1,29 @@
+package com.mockito.mockito.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Feed de cambios de GET /api/empleados/changes, p. ej.
+ * {@code empleados.cambios.retencion=7d} y {@code empleados.cambios.espera-maxima=30s};
+ * activo salvo {@code empleados.cambios.enabled=false}, que tambien deja de escribir el outbox.
+ * Cada suscripcion SSE se escribe desde {@code hilos-envio} hilos propios; la que tarda mas de
+ * {@code envio-maximo} en aceptar un envio se cierra.
+ */
+@ConfigurationProperties(prefix = "empleados.cambios")
+public record CambiosProperties(Duration retencion, Duration esperaMaxima, Duration suscripcion, Duration latido,
+        Duration sondeo, Duration depuracion, int tamanioLote, Duration envioMaximo, int hilosEnvio) {
+
+    public CambiosProperties {
+        retencion = retencion != null ? retencion : Duration.ofDays(7);
+        esperaMaxima = esperaMaxima != null ? esperaMaxima : Duration.ofSeconds(30);
+        suscripcion = suscripcion != null ? suscripcion : Duration.ofMinutes(30);
+        latido = latido != null ? latido : Duration.ofSeconds(15);
+        sondeo = sondeo != null ? sondeo : Duration.ofSeconds(1);
+        depuracion = depuracion != null ? depuracion : Duration.ofHours(1);
+        tamanioLote = tamanioLote > 0 ? tamanioLote : 500;
+        envioMaximo = envioMaximo != null ? envioMaximo : Duration.ofSeconds(10);
+        hilosEnvio = hilosEnvio > 0 ? hilosEnvio : 4;
+    }
+}
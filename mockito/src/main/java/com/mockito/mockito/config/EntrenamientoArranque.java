@@ -0,0 +1,78 @@
+package com.mockito.mockito.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Corrida de entrenamiento del archivo CDS ({@code mvn -Parranque package}): con
+ * {@code empleados.arranque.entrenamiento=true} recorre una vez cada operacion de la API, para que
+ * las clases de la primera peticion tambien queden en el archivo, y termina el proceso.
+ * No usa @ConditionalOnProperty porque con AOT la condicion se fijaria al compilar.
+ */
+@Component
+public class EntrenamientoArranque {
+
+    private static final Logger log = LoggerFactory.getLogger(EntrenamientoArranque.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void entrenar(ApplicationReadyEvent evento) {
+        if (!evento.getApplicationContext().getEnvironment()
+                .getProperty("empleados.arranque.entrenamiento", Boolean.class, false)) {
+            return;
+        }
+        int codigo = 0;
+        try {
+            recorrerApi(evento.getApplicationContext());
+        } catch (IOException | RuntimeException e) {
+            log.error("Fallo la corrida de entrenamiento", e);
+            codigo = 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            codigo = 1;
+        }
+        int salida = codigo;
+        System.exit(SpringApplication.exit(evento.getApplicationContext(), () -> salida));
+    }
+
+    private static void recorrerApi(Object contexto) throws IOException, InterruptedException {
+        if (!(contexto instanceof WebServerApplicationContext web)) {
+            return;
+        }
+        String base = "http://localhost:" + web.getWebServer().getPort() + "/api/empleados";
+        HttpClient cliente = HttpClient.newHttpClient();
+        String creado = enviar(cliente, HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"nombre\":\"Entrenamiento\",\"apellido\":\"Arranque\",\"email\":\"entrenamiento@arranque.local\"}")));
+        String id = creado.replaceAll("(?s).*\"id\"\\s*:\\s*(\\d+).*", "$1");
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/" + id)).GET());
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "?ids=" + id)).GET());
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "?limit=10")).GET());
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/search?apellido=Arr*")).GET());
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/" + id))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"nombre\":\"Entrenada\"}")));
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/changes?since=0")).GET());
+        enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE());
+    }
+
+    private static String enviar(HttpClient cliente, HttpRequest.Builder peticion) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() >= 400) {
+            throw new IllegalStateException(respuesta.request().method() + " " + respuesta.request().uri()
+                    + " respondio " + respuesta.statusCode());
+        }
+        return respuesta.body();
+    }
+}
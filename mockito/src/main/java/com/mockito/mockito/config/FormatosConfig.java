@@ -0,0 +1,71 @@
+package com.mockito.mockito.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mockito.mockito.formatos.ConversorColumnas;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Formatos ademas de JSON, elegidos por Accept / Content-Type: CBOR ({@code application/cbor}) y Smile
+ * ({@code application/x-jackson-smile}), el mismo modelo de JSON en binario, y {@link ConversorColumnas}
+ * para listas grandes. Todos con la configuracion de Jackson de Spring Boot. Las lecturas de la API
+ * llevan {@code Vary: Accept, Accept-Encoding} para que un cache no entregue un formato por otro.
+ */
+@Configuration
+public class FormatosConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public FormatosConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Reemplazan a los que Spring MVC arma con su propia configuracion y quedan en su lugar, despues de JSON
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // Al final: con Accept */* se sigue respondiendo JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ConversorColumnas(objectMapper));
+    }
+
+    // Antes del handler, asi tambien lo llevan los 304
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,20 @@
+package com.mockito.mockito.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mockito.mockito.service.EmpleadoService;
+import com.mockito.mockito.service.IngestaEmpleados;
+
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.ingesta", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(IngestaProperties.class)
+public class IngestaConfig {
+
+    @Bean
+    public IngestaEmpleados ingestaEmpleados(EmpleadoService empleadoService, IngestaProperties ingestaProperties) {
+        return new IngestaEmpleados(empleadoService, ingestaProperties);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mockito.mockito.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ingesta asincrona de POST /api/empleados/ingesta, p. ej.
+ * {@code empleados.ingesta.enabled=true} y {@code empleados.ingesta.capacidad=10000}
+ */
+@ConfigurationProperties(prefix = "empleados.ingesta")
+public record IngestaProperties(boolean enabled, int capacidad, int trabajadores, int tamanioLote,
+        Duration esperaLote, Duration esperaCierre, long maximoEstados) {
+
+    public IngestaProperties {
+        capacidad = capacidad > 0 ? capacidad : 10_000;
+        trabajadores = trabajadores > 0 ? trabajadores : 2;
+        tamanioLote = tamanioLote > 0 ? tamanioLote : 500;
+        esperaLote = esperaLote != null ? esperaLote : Duration.ofMillis(50);
+        esperaCierre = esperaCierre != null ? esperaCierre : Duration.ofSeconds(30);
+        maximoEstados = maximoEstados > 0 ? maximoEstados : 100_000;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mockito.mockito.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.mockito.mockito.lecturas.DataSourceEnrutado;
+import com.mockito.mockito.lecturas.FiltroLecturaPropia;
+import com.mockito.mockito.lecturas.MonitorReplicas;
+import com.mockito.mockito.lecturas.ReplicaLectura;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reemplaza el DataSource autoconfigurado: el primario se arma con {@code spring.datasource.*} como siempre
+ * y cada replica copia su configuracion de pool, cambiando url, credenciales y nombre.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.lecturas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LecturasProperties.class)
+public class LecturasConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DataSourceEnrutado dataSourceEnrutado(HikariDataSource dataSourcePrimario, LecturasProperties lecturasProperties,
+            ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        // Con open-in-view la conexion de la primera transaccion queda tomada hasta el fin de la peticion y las
+        // siguientes la reusan sin pasar por el enrutador: una escritura despues de una lectura iria a la replica
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("empleados.lecturas.enabled=true requiere spring.jpa.open-in-view=false");
+        }
+        MeterRegistry registro = meterRegistry.getIfAvailable();
+        List<ReplicaLectura> replicas = new ArrayList<>();
+        for (int i = 0; i < lecturasProperties.replicas().size(); i++) {
+            String nombre = "replica-" + i;
+            LecturasProperties.Replica replica = lecturasProperties.replicas().get(i);
+            HikariConfig config = PoolDerivado.de(dataSourcePrimario, nombre, replica.url(), replica.username(),
+                    replica.password(), replica.pool(), registro);
+            config.setReadOnly(true);
+            // Una replica caida al arrancar no detiene la aplicacion: el monitor la deja fuera
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaLectura(nombre, new HikariDataSource(config)));
+        }
+        DataSourceEnrutado enrutado = new DataSourceEnrutado(dataSourcePrimario, replicas);
+        if (registro != null) {
+            Gauge.builder("empleados.lecturas.replicas.sanas", enrutado, DataSourceEnrutado::replicasSanas).register(registro);
+            contarConexiones(registro, enrutado, DataSourceEnrutado.PRIMARIO);
+            replicas.forEach(replica -> contarConexiones(registro, enrutado, replica.nombre()));
+        }
+        return enrutado;
+    }
+
+    private static void contarConexiones(MeterRegistry registro, DataSourceEnrutado enrutado, String destino) {
+        FunctionCounter.builder("empleados.lecturas.conexiones", enrutado, e -> e.conexiones(destino))
+                .tag("destino", destino)
+                .register(registro);
+    }
+
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(DataSourceEnrutado dataSourceEnrutado) {
+        return new LazyConnectionDataSourceProxy(dataSourceEnrutado);
+    }
+
+    @Bean
+    public MonitorReplicas monitorReplicas(DataSourceEnrutado dataSourceEnrutado, LecturasProperties lecturasProperties) {
+        return new MonitorReplicas(dataSourceEnrutado.replicas(), lecturasProperties.chequeo(),
+                lecturasProperties.timeoutChequeo());
+    }
+
+    @Bean
+    public FiltroLecturaPropia filtroLecturaPropia(LecturasProperties lecturasProperties) {
+        return new FiltroLecturaPropia(lecturasProperties.lecturaPropia());
+    }
+}
@@ -0,0 +1,26 @@
+package com.mockito.mockito.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Replicas de lectura para las transacciones readOnly, p. ej.
+ * {@code empleados.lecturas.replicas[0].url=jdbc:postgresql://replica-1/empleados} y
+ * {@code empleados.lecturas.lectura-propia=5s}; usuario, clave y pool por defecto son los del primario
+ */
+@ConfigurationProperties(prefix = "empleados.lecturas")
+public record LecturasProperties(boolean enabled, List<Replica> replicas, Duration lecturaPropia, Duration chequeo,
+        Duration timeoutChequeo) {
+
+    public LecturasProperties {
+        replicas = replicas != null ? List.copyOf(replicas) : List.of();
+        lecturaPropia = lecturaPropia != null ? lecturaPropia : Duration.ofSeconds(5);
+        chequeo = chequeo != null ? chequeo : Duration.ofSeconds(5);
+        timeoutChequeo = timeoutChequeo != null ? timeoutChequeo : Duration.ofSeconds(1);
+    }
+
+    public record Replica(String url, String username, String password, int pool) {
+    }
+}
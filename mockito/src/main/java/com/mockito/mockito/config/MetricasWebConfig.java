@@ -0,0 +1,26 @@
+package com.mockito.mockito.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.mockito.mockito.metrics.MetricasPeticionInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricasWebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricasWebConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(registro ->
+                registry.addInterceptor(new MetricasPeticionInterceptor(registro)).addPathPatterns("/api/**"));
+    }
+}
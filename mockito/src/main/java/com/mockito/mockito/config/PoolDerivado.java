@@ -0,0 +1,34 @@
+package com.mockito.mockito.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Pool de otra base (replica o shard) con la misma configuracion que el primario; usuario y clave por defecto los suyos
+final class PoolDerivado {
+
+    private PoolDerivado() {
+    }
+
+    static HikariConfig de(HikariDataSource base, String nombre, String url, String username, String password, int pool,
+            MeterRegistry registro) {
+        HikariConfig config = new HikariConfig();
+        base.copyStateTo(config);
+        config.setJdbcUrl(url);
+        config.setUsername(username != null ? username : base.getUsername());
+        config.setPassword(password != null ? password : base.getPassword());
+        config.setPoolName(nombre);
+        if (pool > 0) {
+            config.setMaximumPoolSize(pool);
+            if (config.getMinimumIdle() > pool) {
+                config.setMinimumIdle(pool);
+            }
+        }
+        if (registro != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registro));
+        }
+        return config;
+    }
+}
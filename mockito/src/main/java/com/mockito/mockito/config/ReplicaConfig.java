@@ -0,0 +1,33 @@
+package com.mockito.mockito.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mockito.mockito.replica.ReplicaEmpleados;
+import com.mockito.mockito.replica.SincronizadorReplica;
+import com.mockito.mockito.service.EmpleadoService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.replica", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    public ReplicaEmpleados replicaEmpleados(ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaEmpleados replica = new ReplicaEmpleados();
+        meterRegistry.ifAvailable(registro -> {
+            Gauge.builder("empleados.replica.filas", replica, ReplicaEmpleados::filas).register(registro);
+            Gauge.builder("empleados.replica.bytes", replica, ReplicaEmpleados::bytesRetenidos).baseUnit("bytes").register(registro);
+        });
+        return replica;
+    }
+
+    @Bean
+    public SincronizadorReplica sincronizadorReplica(ReplicaEmpleados replicaEmpleados, EmpleadoService empleadoService) {
+        return new SincronizadorReplica(replicaEmpleados, empleadoService);
+    }
+}
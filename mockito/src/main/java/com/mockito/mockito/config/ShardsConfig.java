@@ -0,0 +1,123 @@
+package com.mockito.mockito.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mockito.mockito.service.EmpleadoServiceImpl;
+import com.mockito.mockito.service.RevisionEmpleados;
+import com.mockito.mockito.shards.DataSourceShards;
+import com.mockito.mockito.shards.DirectorioEmails;
+import com.mockito.mockito.shards.EmpleadoServiceShards;
+import com.mockito.mockito.shards.GeneradorIds;
+import com.mockito.mockito.shards.MapaShards;
+import com.mockito.mockito.shards.MigradorShards;
+import com.mockito.mockito.shards.PreparacionShards;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reemplaza el DataSource autoconfigurado por uno que elige el shard de {@code ContextoShard}; sin shard
+ * fijado es la base global de {@code spring.datasource.*}. Cada shard copia la configuracion de pool de la global.
+ * EmpleadoServiceShards pasa a ser el EmpleadoService que ven los controladores.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "empleados.shards", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardsProperties.class)
+public class ShardsConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourceGlobal(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSourceShards dataSource(HikariDataSource dataSourceGlobal, ShardsProperties shardsProperties,
+            ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        // Con open-in-view la conexion del primer shard queda tomada hasta el fin de la peticion
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("empleados.shards.enabled=true requiere spring.jpa.open-in-view=false");
+        }
+        if (environment.getProperty("empleados.lecturas.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("empleados.shards y empleados.lecturas no se pueden usar a la vez");
+        }
+        // El feed lee un solo outbox y sus offsets no se pueden comparar entre shards
+        if (environment.getProperty("empleados.cambios.enabled", Boolean.class, true)) {
+            throw new IllegalStateException("empleados.shards.enabled=true requiere empleados.cambios.enabled=false");
+        }
+        if (shardsProperties.bases().isEmpty()) {
+            throw new IllegalStateException("empleados.shards.enabled=true requiere al menos empleados.shards.bases[0].url");
+        }
+        MeterRegistry registro = meterRegistry.getIfAvailable();
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardsProperties.bases().size(); i++) {
+            ShardsProperties.Base base = shardsProperties.bases().get(i);
+            shards.add(new HikariDataSource(PoolDerivado.de(dataSourceGlobal, "shard-" + i, base.url(), base.username(),
+                    base.password(), base.pool(), registro)));
+        }
+        return new DataSourceShards(dataSourceGlobal, shards);
+    }
+
+    @Bean
+    public GeneradorIds generadorIds(ShardsProperties shardsProperties) {
+        return new GeneradorIds(shardsProperties.nodo());
+    }
+
+    @Bean
+    public MapaShards mapaShards(HikariDataSource dataSourceGlobal, DataSourceShards dataSourceShards,
+            ShardsProperties shardsProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        MapaShards mapa = new MapaShards(new JdbcTemplate(dataSourceGlobal), dataSourceShards.cantidad(),
+                shardsProperties.refresco());
+        meterRegistry.ifAvailable(registro -> {
+            for (int i = 0; i < mapa.shards(); i++) {
+                int shard = i;
+                Gauge.builder("empleados.shards.particiones", mapa, m -> m.particionesPorShard()[shard])
+                        .tag("shard", String.valueOf(shard))
+                        .register(registro);
+            }
+        });
+        return mapa;
+    }
+
+    @Bean
+    public DirectorioEmails directorioEmails(HikariDataSource dataSourceGlobal) {
+        return new DirectorioEmails(new JdbcTemplate(dataSourceGlobal));
+    }
+
+    @Bean
+    public PreparacionShards preparacionShards(MapaShards mapaShards, DirectorioEmails directorioEmails,
+            GeneradorIds generadorIds, EntityManagerFactory entityManagerFactory, RevisionEmpleados revisionEmpleados) {
+        return new PreparacionShards(mapaShards, directorioEmails, generadorIds, entityManagerFactory, revisionEmpleados);
+    }
+
+    @Bean
+    public MigradorShards migradorShards(DataSourceShards dataSourceShards, MapaShards mapaShards,
+            DirectorioEmails directorioEmails) {
+        return new MigradorShards(dataSourceShards, mapaShards, directorioEmails);
+    }
+
+    @Bean
+    @Primary
+    public EmpleadoServiceShards empleadoServiceShards(EmpleadoServiceImpl empleadoServiceImpl, MapaShards mapaShards,
+            DirectorioEmails directorioEmails) {
+        return new EmpleadoServiceShards(empleadoServiceImpl, mapaShards, directorioEmails);
+    }
+}
@@ -0,0 +1,24 @@
+package com.mockito.mockito.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Shards de la tabla empleados, p. ej. {@code empleados.shards.bases[0].url=jdbc:postgresql://shard-0/empleados};
+ * {@code spring.datasource.*} es la base global (mapa de particiones y directorio de emails).
+ * {@code nodo} distingue los ids de cada instancia y tiene que ser unico entre las que corren a la vez.
+ * {@code refresco} es cada cuanto una instancia relee el mapa y lo que espera una migracion entre pasos.
+ */
+@ConfigurationProperties(prefix = "empleados.shards")
+public record ShardsProperties(boolean enabled, List<Base> bases, int nodo, Duration refresco) {
+
+    public ShardsProperties {
+        bases = bases != null ? List.copyOf(bases) : List.of();
+        refresco = refresco != null ? refresco : Duration.ofSeconds(5);
+    }
+
+    public record Base(String url, String username, String password, int pool) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.mockito.mockito.controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mockito.mockito.dto.LoteCambios;
+import com.mockito.mockito.service.FeedCambios;
+
+// Sincronizacion incremental: GET /offset, exportacion completa y luego ?since=<offset> con los lotes siguientes
+@RestController
+@ConditionalOnProperty(prefix = "empleados.cambios", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/empleados/changes")
+public class CambiosController {
+
+    @Autowired
+    private FeedCambios feedCambios;
+
+    // ?wait=<segundos> espera cambios (long-poll) hasta empleados.cambios.espera-maxima
+    @GetMapping
+    public DeferredResult<LoteCambios> leerCambios(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", defaultValue = "" + EmpleadoController.LIMIT_POR_DEFECTO) int limit,
+            @RequestParam(name = "wait", defaultValue = "0") long wait){
+        int tamanio = Math.max(1, Math.min(limit, EmpleadoController.LIMIT_MAXIMO));
+        return feedCambios.esperar(since, tamanio, Duration.ofSeconds(wait));
+    }
+
+    // Al reconectar, Last-Event-ID tiene prioridad sobre ?since=
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirCambios(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long ultimoEvento){
+        return feedCambios.suscribir(ultimoEvento != null ? ultimoEvento : since);
+    }
+
+    @GetMapping("/offset")
+    public long obtenerOffset(){
+        return feedCambios.ultimoOffset();
+    }
+}
@@ -1,65 +1,264 @@
 package com.mockito.mockito.controller;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.mockito.mockito.admision.Admision;
+import com.mockito.mockito.admision.Prioridad;
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.dto.ResultadoEliminacion;
 import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.exceptions.CursorInvalidoException;
+import com.mockito.mockito.exceptions.IfMatchInvalidoException;
+import com.mockito.mockito.repository.EmpleadoRepositoryCustom;
 import com.mockito.mockito.service.EmpleadoService;
+import com.mockito.mockito.service.TransferenciaEmpleados;
 
 @RestController
 @RequestMapping("/api/empleados")
+@Admision
 public class EmpleadoController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    static final int LIMIT_POR_DEFECTO = 100;
+
+    static final int LIMIT_MAXIMO = 1000;
+
     @Autowired
     private EmpleadoService empleadoService;
 
+    @Autowired
+    private TransferenciaEmpleados transferenciaEmpleados;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Empleado guardarEmpleado(@RequestBody Empleado empleado){
         return empleadoService.saveEmpleado(empleado);
     }
 
+    @Admision(Prioridad.BAJA)
+    @PostMapping("/batch")
+    public List<ResultadoCarga> guardarEmpleados(@RequestBody List<Empleado> empleados){
+        return empleadoService.saveEmpleados(empleados);
+    }
+
+    // ?fields=nombre,apellido selecciona solo esas columnas (y el id) y responde con EmpleadoResumen
+    @Admision(Prioridad.BAJA)
     @GetMapping
-    public List<Empleado> listarEmpleados(){
-        return empleadoService.getAllEmpleados();
+    public ResponseEntity<List<?>> listarEmpleados(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", defaultValue = "" + LIMIT_POR_DEFECTO) int limit,
+            @RequestParam(name = "fields", required = false) String fields,
+            WebRequest peticion){
+        boolean resumen = fields != null && !fields.isBlank();
+        Set<String> campos = resumen
+                ? Arrays.stream(fields.split(",")).map(String::trim).collect(Collectors.toSet())
+                : Set.of();
+        if (!EmpleadoResumen.CAMPOS.containsAll(campos)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (coleccionSinCambios(peticion)) {
+            return null;
+        }
+        int tamanio = Math.max(1, Math.min(limit, LIMIT_MAXIMO));
+        if (!resumen) {
+            List<Empleado> empleados = empleadoService.getEmpleadosAfter(after, tamanio);
+            return paginaPorLlave(empleados, tamanio, empleados.isEmpty() ? null : empleados.get(empleados.size() - 1).getId());
+        }
+        List<EmpleadoResumen> resumenes = empleadoService.getResumenEmpleadosAfter(after, tamanio, campos);
+        return paginaPorLlave(resumenes, tamanio, resumenes.isEmpty() ? null : resumenes.get(resumenes.size() - 1).id());
     }
 
+    // ?ids=1,2,3 en una sola consulta en lugar de un GET /{id} por empleado
+    @Admision(Prioridad.ALTA)
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Empleado>> obtenerEmpleadosPorIds(@RequestParam("ids") List<Long> ids){
+        if (ids.isEmpty() || ids.size() > LIMIT_MAXIMO) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(empleadoService.getEmpleadosByIds(ids));
+    }
+
+    @Admision(Prioridad.BAJA)
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirEmpleados(){
+        StreamingResponseBody cuerpo = transferenciaEmpleados::exportarNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(cuerpo);
+    }
+
+    // ?apellido=Gar*&dominio=mail.com&size=50&sort=apellido,asc; las paginas siguientes se piden con el
+    // ?after= del Link. Sin filtro o con page= responde 400: recorrer todo es GET /api/empleados
+    @Admision(Prioridad.BAJA)
+    @GetMapping("/search")
+    public ResponseEntity<List<Empleado>> buscarEmpleados(
+            @RequestParam(name = "nombre", required = false) String nombre,
+            @RequestParam(name = "apellido", required = false) String apellido,
+            @RequestParam(name = "email", required = false) String email,
+            @RequestParam(name = "dominio", required = false) String dominio,
+            @RequestParam(name = "after", required = false) String after,
+            @PageableDefault(size = LIMIT_POR_DEFECTO, sort = "id") Pageable pageable,
+            WebRequest peticion){
+        FiltroEmpleado filtro = new FiltroEmpleado(nombre, apellido, email, dominio);
+        if (filtro.vacio() || pageable.getPageNumber() > 0 || pageable.getSort().toList().size() > 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Order orden = pageable.getSort().iterator().next();
+        if (!EmpleadoRepositoryCustom.CAMPOS_ORDENABLES.contains(orden.getProperty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        CursorBusqueda despuesDe = after == null ? null : CursorBusqueda.decodificar(after);
+        if (despuesDe != null && !orden.getProperty().equals("id") && despuesDe.valor() == null) {
+            throw new CursorInvalidoException(after);
+        }
+        if (coleccionSinCambios(peticion)) {
+            return null;
+        }
+        Pageable pagina = PageRequest.of(0, Math.min(pageable.getPageSize(), LIMIT_MAXIMO), pageable.getSort());
+        Slice<Empleado> resultado = empleadoService.searchEmpleados(filtro, despuesDe, pagina);
+
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (resultado.hasNext()) {
+            Empleado ultimo = resultado.getContent().get(resultado.getNumberOfElements() - 1);
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", CursorBusqueda.despuesDe(ultimo, orden.getProperty()).codificar())
+                    .replaceQueryParam("size", pagina.getPageSize())
+                    .toUriString();
+            respuesta.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return respuesta.body(resultado.getContent());
+    }
+
+    @Admision(Prioridad.ALTA)
     @GetMapping("/{id}")
     public ResponseEntity<Empleado> obtenerEmpleadoPorId(@PathVariable("id") long empleadoId){
         return empleadoService.getEmpleadoById(empleadoId)
-                .map(ResponseEntity::ok)
+                .map(empleado -> conValidadores(ResponseEntity.ok(), empleado).body(empleado))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // Un solo UPDATE; la respuesta se arma sin volver a leer la fila
     @PutMapping("/{id}")
-    public ResponseEntity<Empleado> actualizarEmpleado(@PathVariable("id") long empleadoId, @RequestBody Empleado empleado){
-        return empleadoService.getEmpleadoById(empleadoId)
-                .map(empleadoGuardado -> {
-                    empleadoGuardado.setNombre(empleado.getNombre());
-                    empleadoGuardado.setApellido(empleado.getApellido());
-                    empleadoGuardado.setEmail(empleado.getEmail());
-
-                    Empleado empleadoActualizado = empleadoService.updateEmpleado(empleadoGuardado);
-                    return new ResponseEntity<>(empleadoActualizado, HttpStatus.OK);
-                })
+    public ResponseEntity<Empleado> actualizarEmpleado(@PathVariable("id") long empleadoId, @RequestBody Empleado empleado,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        if (empleado.getNombre() == null || empleado.getApellido() == null || empleado.getEmail() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long versionEsperada = versionDeIfMatch(ifMatch);
+        Optional<Long> version = empleadoService.patchEmpleado(empleadoId, empleado, versionEsperada);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        empleado.setId(empleadoId);
+        empleado.setVersion(version.get());
+        return conValidadores(ResponseEntity.ok(), empleado).body(empleado);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> actualizarEmpleadoParcial(@PathVariable("id") long empleadoId, @RequestBody Empleado cambios,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Long versionEsperada = versionDeIfMatch(ifMatch);
+        return empleadoService.patchEmpleado(empleadoId, cambios, versionEsperada)
+                .map(version -> ResponseEntity.noContent().eTag(etagDebil(String.valueOf(version))).<Void>build())
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> eliminarEmpleado(@PathVariable("id") long empleadoId){
-        empleadoService.deleteEmpleado(empleadoId);
-        return new ResponseEntity<String>("Empleado elimnado exitosamente", HttpStatus.OK);
+    public ResponseEntity<Void> eliminarEmpleado(@PathVariable("id") long empleadoId){
+        return empleadoService.deleteEmpleado(empleadoId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @Admision(Prioridad.BAJA)
+    @DeleteMapping
+    public ResultadoEliminacion eliminarEmpleados(@RequestBody List<Long> ids){
+        return new ResultadoEliminacion(ids.size(), empleadoService.deleteEmpleados(ids));
+    }
+
+    private static ResponseEntity<List<?>> paginaPorLlave(List<?> filas, int tamanio, Long ultimoId) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (filas.size() == tamanio) {
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", ultimoId)
+                    .replaceQueryParam("limit", tamanio)
+                    .toUriString();
+            respuesta.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return respuesta.body(filas);
+    }
+
+    // Con ETag y Last-Modified Spring responde 304 por si solo a If-None-Match/If-Modified-Since
+    private static ResponseEntity.BodyBuilder conValidadores(ResponseEntity.BodyBuilder respuesta, Empleado empleado) {
+        if (empleado.getVersion() != null) {
+            respuesta.eTag(etagDebil(String.valueOf(empleado.getVersion())));
+        }
+        if (empleado.getUltimaModificacion() != null) {
+            respuesta.lastModified(empleado.getUltimaModificacion());
+        }
+        return respuesta;
+    }
+
+    // Compara contra la revision de la tabla antes de leer filas; en 304 el handler devuelve null
+    private boolean coleccionSinCambios(WebRequest peticion) {
+        RevisionTabla revision = empleadoService.getRevisionEmpleados();
+        return peticion.checkNotModified(etagDebil("empleados-" + revision.getRevision()), revision.getModificado().toEpochMilli());
+    }
+
+    // Debil: JSON, CBOR, Smile y columnas (con o sin gzip) son la misma version en bytes distintos.
+    // If-None-Match compara en forma debil y versionDeIfMatch acepta el prefijo W/
+    private static String etagDebil(String valor) {
+        return "W/\"" + valor + "\"";
+    }
+
+    // If-Match: "<version>"; "*" o ausente no exige version
+    private static Long versionDeIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IfMatchInvalidoException(ifMatch);
+        }
     }
-}
+}
\ No newline at end of file
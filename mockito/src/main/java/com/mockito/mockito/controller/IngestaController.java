@@ -0,0 +1,45 @@
+package com.mockito.mockito.controller;
+
+import java.net.URI;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.mockito.mockito.dto.EstadoIngesta;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.service.IngestaEmpleados;
+
+@RestController
+@RequestMapping("/api/empleados/ingesta")
+@ConditionalOnProperty(prefix = "empleados.ingesta", name = "enabled", havingValue = "true")
+public class IngestaController {
+
+    @Autowired
+    private IngestaEmpleados ingestaEmpleados;
+
+    @PostMapping
+    public ResponseEntity<EstadoIngesta> encolarEmpleado(@RequestBody Empleado empleado){
+        EstadoIngesta estado = ingestaEmpleados.encolar(empleado);
+        URI seguimiento = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(estado.id())
+                .toUri();
+        return ResponseEntity.accepted().location(seguimiento).body(estado);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EstadoIngesta> obtenerEstado(@PathVariable("id") UUID id){
+        return ingestaEmpleados.estado(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
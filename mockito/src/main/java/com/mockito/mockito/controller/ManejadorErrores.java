@@ -0,0 +1,53 @@
+package com.mockito.mockito.controller;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.mockito.mockito.exceptions.IngestaSaturadaException;
+import com.mockito.mockito.exceptions.ShardEnMigracionException;
+import com.mockito.mockito.exceptions.SobrecargaException;
+
+@RestControllerAdvice
+public class ManejadorErrores {
+
+    static final String REINTENTAR_EN_SEGUNDOS = "1";
+
+    // Pool de conexiones agotado (connection-timeout vencido), base de datos inaccesible o una consulta
+    // agrupada que no respondio a tiempo
+    @ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class,
+            QueryTimeoutException.class })
+    public ResponseEntity<String> sinConexionDisponible(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, REINTENTAR_EN_SEGUNDOS)
+                .body("Servicio saturado, intente de nuevo");
+    }
+
+    @ExceptionHandler(IngestaSaturadaException.class)
+    public ResponseEntity<String> ingestaSaturada(IngestaSaturadaException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, REINTENTAR_EN_SEGUNDOS)
+                .body(e.getMessage());
+    }
+
+    // La escritura se puede repetir en cuanto termine el movimiento de la particion
+    @ExceptionHandler(ShardEnMigracionException.class)
+    public ResponseEntity<String> shardEnMigracion(ShardEnMigracionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, REINTENTAR_EN_SEGUNDOS)
+                .body(e.getMessage());
+    }
+
+    // Rechazo del limite de admision: 503 y no 429 porque la saturacion es del servidor, no de un cliente
+    @ExceptionHandler(SobrecargaException.class)
+    public ResponseEntity<String> sobrecarga(SobrecargaException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, REINTENTAR_EN_SEGUNDOS)
+                .body(e.getMessage());
+    }
+}
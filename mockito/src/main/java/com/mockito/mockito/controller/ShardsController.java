@@ -0,0 +1,49 @@
+package com.mockito.mockito.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mockito.mockito.dto.EstadoShard;
+import com.mockito.mockito.dto.ResultadoMigracion;
+import com.mockito.mockito.shards.GeneradorIds;
+import com.mockito.mockito.shards.MigradorShards;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@ConditionalOnProperty(prefix = "empleados.shards", name = "enabled", havingValue = "true")
+public class ShardsController {
+
+    @Autowired
+    private MigradorShards migradorShards;
+
+    @GetMapping
+    public List<EstadoShard> obtenerEstado(){
+        return migradorShards.estado();
+    }
+
+    // Mueve las particiones [desde, hasta) de 0..1023 al shard destino; responde al terminar
+    @PostMapping("/migraciones")
+    public ResponseEntity<ResultadoMigracion> migrar(
+            @RequestParam("desde") int desde,
+            @RequestParam("hasta") int hasta,
+            @RequestParam("destino") int destino){
+        if (desde < 0 || hasta > GeneradorIds.PARTICIONES || desde >= hasta || destino < 0
+                || destino >= migradorShards.shards()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(migradorShards.mover(desde, hasta, destino));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
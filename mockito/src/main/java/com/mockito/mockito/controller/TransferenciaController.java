@@ -0,0 +1,83 @@
+package com.mockito.mockito.controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.mockito.mockito.admision.Admision;
+import com.mockito.mockito.admision.Prioridad;
+import com.mockito.mockito.dto.ResultadoImportacion;
+import com.mockito.mockito.service.TransferenciaEmpleados;
+
+@RestController
+@RequestMapping("/api/empleados")
+@Admision(Prioridad.BAJA)
+public class TransferenciaController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    @Autowired
+    private TransferenciaEmpleados transferenciaEmpleados;
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResultadoImportacion importarCsv(InputStream cuerpo,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo) throws IOException{
+        return transferenciaEmpleados.importarCsv(lector(cuerpo, tipo));
+    }
+
+    @PostMapping(value = "/import", consumes = EmpleadoController.APPLICATION_NDJSON_VALUE)
+    public ResultadoImportacion importarNdjson(InputStream cuerpo,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo) throws IOException{
+        return transferenciaEmpleados.importarNdjson(lector(cuerpo, tipo));
+    }
+
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarCsv(){
+        StreamingResponseBody cuerpo = salida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANIO_BUFFER);
+            transferenciaEmpleados.exportarCsv(escritor);
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, adjunto("empleados.csv"))
+                .body(cuerpo);
+    }
+
+    @GetMapping(value = "/export", produces = EmpleadoController.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarNdjson(){
+        StreamingResponseBody cuerpo = transferenciaEmpleados::exportarNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(EmpleadoController.APPLICATION_NDJSON_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, adjunto("empleados.ndjson"))
+                .body(cuerpo);
+    }
+
+    private static BufferedReader lector(InputStream cuerpo, MediaType tipo) {
+        Charset charset = tipo.getCharset() != null ? tipo.getCharset() : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(cuerpo, charset), TAMANIO_BUFFER);
+    }
+
+    private static String adjunto(String archivo) {
+        return ContentDisposition.attachment().filename(archivo).build().toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.mockito.mockito.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.CursorInvalidoException;
+
+/**
+ * Posicion de la ultima fila de una pagina de busqueda: su id y, si se ordena por otra columna,
+ * el valor de esa columna. Viaja en {@code ?after=} como base64url de {@code id} o {@code id:valor}.
+ */
+public record CursorBusqueda(long id, String valor) {
+
+    public static CursorBusqueda despuesDe(Empleado ultimo, String propiedad) {
+        String valor = switch (propiedad) {
+            case "nombre" -> ultimo.getNombre();
+            case "apellido" -> ultimo.getApellido();
+            case "email" -> ultimo.getEmail();
+            default -> null;
+        };
+        return new CursorBusqueda(ultimo.getId(), valor);
+    }
+
+    public String codificar() {
+        String texto = valor == null ? String.valueOf(id) : id + ":" + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorBusqueda decodificar(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(':');
+            return separador < 0
+                    ? new CursorBusqueda(Long.parseLong(texto), null)
+                    : new CursorBusqueda(Long.parseLong(texto.substring(0, separador)), texto.substring(separador + 1));
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException(cursor);
+        }
+    }
+}
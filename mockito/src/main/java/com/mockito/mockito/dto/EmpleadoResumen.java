@@ -0,0 +1,13 @@
+package com.mockito.mockito.dto;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Proyeccion para pantallas de listado: Hibernate no la administra ni guarda snapshot.
+// Solo lleva las columnas pedidas en fields=; el id siempre, porque es el cursor de la pagina siguiente
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmpleadoResumen(Long id, String nombre, String apellido, String email) {
+
+    public static final Set<String> CAMPOS = Set.of("id", "nombre", "apellido", "email");
+}
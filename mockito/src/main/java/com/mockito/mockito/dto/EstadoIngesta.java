@@ -0,0 +1,26 @@
+package com.mockito.mockito.dto;
+
+import java.util.UUID;
+
+public record EstadoIngesta(UUID id, Estado estado, Long empleadoId, String mensaje) {
+
+    public enum Estado {
+        PENDIENTE,
+        CREADO,
+        DUPLICADO,
+        INVALIDO,
+        ERROR
+    }
+
+    public static EstadoIngesta pendiente(UUID id) {
+        return new EstadoIngesta(id, Estado.PENDIENTE, null, null);
+    }
+
+    public static EstadoIngesta de(UUID id, ResultadoCarga resultado) {
+        return new EstadoIngesta(id, Estado.valueOf(resultado.estado().name()), resultado.id(), resultado.mensaje());
+    }
+
+    public static EstadoIngesta error(UUID id, String mensaje) {
+        return new EstadoIngesta(id, Estado.ERROR, null, mensaje);
+    }
+}
@@ -0,0 +1,4 @@
+package com.mockito.mockito.dto;
+
+public record EstadoShard(int shard, int particiones, long filas) {
+}
@@ -0,0 +1,18 @@
+package com.mockito.mockito.dto;
+
+/**
+ * Criterios de busqueda de empleados. En nombre, apellido y email un valor terminado en
+ * {@code *} busca por prefijo y cualquier otro valor por igualdad; el dominio del email
+ * siempre se compara por igualdad. Los criterios nulos o vacios no filtran.
+ */
+public record FiltroEmpleado(String nombre, String apellido, String email, String dominio) {
+
+    /** Ningun criterio filtra: todos vacios o un {@code *} solo, que no restringe nada. */
+    public boolean vacio() {
+        return sinCriterio(nombre) && sinCriterio(apellido) && sinCriterio(email) && (dominio == null || dominio.isBlank());
+    }
+
+    private static boolean sinCriterio(String valor) {
+        return valor == null || valor.isBlank() || valor.trim().equals("*");
+    }
+}
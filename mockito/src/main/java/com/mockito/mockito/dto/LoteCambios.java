@@ -0,0 +1,9 @@
+package com.mockito.mockito.dto;
+
+import java.util.List;
+
+import com.mockito.mockito.entities.CambioEmpleado;
+
+// siguiente es el ?since= de la proxima consulta; igual al pedido cuando no hubo cambios
+public record LoteCambios(List<CambioEmpleado> cambios, long siguiente) {
+}
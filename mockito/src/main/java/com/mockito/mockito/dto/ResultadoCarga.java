@@ -0,0 +1,27 @@
+package com.mockito.mockito.dto;
+
+public record ResultadoCarga(int fila, Long id, String email, Estado estado, String mensaje) {
+
+    public enum Estado {
+        CREADO,
+        DUPLICADO,
+        INVALIDO,
+        ERROR
+    }
+
+    public static ResultadoCarga creado(int fila, Long id, String email) {
+        return new ResultadoCarga(fila, id, email, Estado.CREADO, null);
+    }
+
+    public static ResultadoCarga duplicado(int fila, String email) {
+        return new ResultadoCarga(fila, null, email, Estado.DUPLICADO, "Un empleado con ese email ya existe: " + email);
+    }
+
+    public static ResultadoCarga invalido(int fila, String email, String mensaje) {
+        return new ResultadoCarga(fila, null, email, Estado.INVALIDO, mensaje);
+    }
+
+    public static ResultadoCarga error(int fila, String email, String mensaje) {
+        return new ResultadoCarga(fila, null, email, Estado.ERROR, mensaje);
+    }
+}
@@ -0,0 +1,4 @@
+package com.mockito.mockito.dto;
+
+public record ResultadoEliminacion(int solicitados, int eliminados) {
+}
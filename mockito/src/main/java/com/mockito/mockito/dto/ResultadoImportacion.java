@@ -0,0 +1,7 @@
+package com.mockito.mockito.dto;
+
+import java.util.List;
+
+// errores trae como maximo TransferenciaEmpleados.MAXIMO_ERRORES; erroresOmitidos cuenta el resto
+public record ResultadoImportacion(long filas, long creados, long rechazados, List<ResultadoCarga> errores, long erroresOmitidos) {
+}
@@ -0,0 +1,5 @@
+package com.mockito.mockito.dto;
+
+// Particiones del rango que cambiaron de shard y filas copiadas; las que ya eran del destino no cuentan
+public record ResultadoMigracion(int desde, int hasta, int destino, int particionesMovidas, long filasMovidas) {
+}
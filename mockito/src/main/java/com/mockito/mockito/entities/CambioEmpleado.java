@@ -0,0 +1,67 @@
+package com.mockito.mockito.entities;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Outbox de cambios de empleados; el id es el offset que los consumidores usan en ?since=
+@Setter @Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "cambios_empleados",
+        indexes = @Index(name = "idx_cambios_empleados_fecha", columnList = "fecha"))
+public class CambioEmpleado implements Persistable<Long> {
+
+    public enum Tipo {
+        // datos trae la fila completa
+        GUARDADO,
+        // datos trae solo los campos que cambiaron
+        MODIFICADO,
+        ELIMINADO
+    }
+
+    // Lo asigna RegistroCambios bajo el bloqueo del contador, en orden de commit
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 16)
+    private Tipo tipo;
+
+    @Column(name = "empleado_id", nullable = false)
+    private long empleadoId;
+
+    @Lob
+    @JsonRawValue
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Column(name = "datos")
+    private String datos;
+
+    @Column(name = "fecha", nullable = false)
+    private Instant fecha;
+
+    // Solo se insertan: sin esto save() buscaria cada fila antes del INSERT porque el id ya viene asignado
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,11 +1,27 @@
 package com.mockito.mockito.entities;
 
+import java.time.Instant;
+import java.util.Locale;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mockito.mockito.shards.GeneradorIdEmpleado;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,11 +33,24 @@ import lombok.Setter;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "empleados")
+@Table(name = "empleados",
+        uniqueConstraints = @UniqueConstraint(name = Empleado.UK_EMAIL, columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_empleados_apellido_nombre", columnList = "apellido, nombre"),
+                @Index(name = "idx_empleados_nombre", columnList = "nombre"),
+                @Index(name = "idx_empleados_email_dominio", columnList = "email_dominio")
+        })
 public class Empleado {
-    
+
+    public static final String UK_EMAIL = "uk_empleados_email";
+
+    // La secuencia empleados_seq de siempre; con sharding, un id global de GeneradorIds
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "empleados_seq")
+    @GenericGenerator(name = "empleados_seq", type = GeneradorIdEmpleado.class, parameters = {
+            @Parameter(name = "sequence_name", value = "empleados_seq"),
+            @Parameter(name = "increment_size", value = "50")
+    })
     private Long id;
 
     @Column(name = "nombre", nullable = false)
@@ -32,4 +61,36 @@ public class Empleado {
 
     @Column(name = "email", nullable = false)
     private String email;
+
+    // Se expone como ETag; el cliente la devuelve en If-Match, no en el cuerpo
+    @Version
+    @Column(name = "version")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Se expone como Last-Modified; Hibernate la fija en cada INSERT y UPDATE
+    @UpdateTimestamp
+    @Column(name = "ultima_modificacion")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant ultimaModificacion;
+
+    // Copia de lower(dominio del email) para poder indexarla; H2 no tiene indices sobre expresiones
+    @JsonIgnore
+    @Column(name = "email_dominio")
+    private String emailDominio;
+
+    @PrePersist
+    @PreUpdate
+    void calcularEmailDominio() {
+        emailDominio = dominioDe(email);
+    }
+
+    public static String dominioDe(String email) {
+        if (email == null || email.indexOf('@') < 0) {
+            return null;
+        }
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,36 @@
+package com.mockito.mockito.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Contador de cambios por tabla: ETag y Last-Modified de las colecciones sin leer sus filas
+@Setter @Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "revisiones_tabla")
+public class RevisionTabla {
+
+    public static final String EMPLEADOS = "empleados";
+
+    // Su revision es el ultimo offset asignado en el outbox cambios_empleados
+    public static final String CAMBIOS_EMPLEADOS = "cambios_empleados";
+
+    @Id
+    @Column(name = "tabla")
+    private String tabla;
+
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
+    @Column(name = "modificado", nullable = false)
+    private Instant modificado;
+}
@@ -0,0 +1,7 @@
+package com.mockito.mockito.events;
+
+import com.mockito.mockito.entities.Empleado;
+
+// Solo trae los campos no nulos que escribio el UPDATE parcial, y la version en que quedo la fila
+public record EmpleadoModificadoEvent(long id, Empleado cambios, long version) {
+}
@@ -0,0 +1,6 @@
+package com.mockito.mockito.events;
+
+import java.util.Collection;
+
+public record EmpleadosEliminadosEvent(Collection<Long> ids) {
+}
@@ -0,0 +1,8 @@
+package com.mockito.mockito.events;
+
+import java.util.List;
+
+import com.mockito.mockito.entities.Empleado;
+
+public record EmpleadosGuardadosEvent(List<Empleado> empleados) {
+}
@@ -0,0 +1,12 @@
+package com.mockito.mockito.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ArchivoInvalidoException extends RuntimeException{
+
+    public ArchivoInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mockito.mockito.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class ConflictoVersionException extends RuntimeException{
+
+    public ConflictoVersionException(long id) {
+        super("El empleado " + id + " fue modificado por otra peticion");
+    }
+}
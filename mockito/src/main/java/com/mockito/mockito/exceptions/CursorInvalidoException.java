@@ -0,0 +1,13 @@
+package com.mockito.mockito.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Un ?after= que no salio de un Link de la busqueda
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CursorInvalidoException extends RuntimeException{
+
+    public CursorInvalidoException(String cursor) {
+        super("Cursor de busqueda invalido: " + cursor);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mockito.mockito.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EmpleadoDuplicadoException extends ResourceNotFoundException{
+
+    public EmpleadoDuplicadoException(String email) {
+        super("Un empleado con ese email ya existe: " + email);
+    }
+}
@@ -0,0 +1,13 @@
+package com.mockito.mockito.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Un If-Match que no es una version: 400, no 412, porque no se comparo contra ninguna fila
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class IfMatchInvalidoException extends RuntimeException{
+
+    public IfMatchInvalidoException(String ifMatch) {
+        super("If-Match invalido: " + ifMatch);
+    }
+}
@@ -0,0 +1,8 @@
+package com.mockito.mockito.exceptions;
+
+public class IngestaSaturadaException extends RuntimeException{
+
+    public IngestaSaturadaException(String message) {
+        super(message);
+    }
+}
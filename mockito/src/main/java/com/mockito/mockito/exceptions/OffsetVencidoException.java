@@ -0,0 +1,13 @@
+package com.mockito.mockito.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Los cambios posteriores al offset ya se depuraron: el consumidor debe resincronizar completo
+@ResponseStatus(HttpStatus.GONE)
+public class OffsetVencidoException extends RuntimeException{
+
+    public OffsetVencidoException(long offset, long depuradoHasta) {
+        super("Los cambios hasta el offset " + depuradoHasta + " ya no estan disponibles (since=" + offset + ")");
+    }
+}
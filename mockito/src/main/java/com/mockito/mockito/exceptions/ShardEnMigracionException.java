@@ -0,0 +1,8 @@
+package com.mockito.mockito.exceptions;
+
+public class ShardEnMigracionException extends RuntimeException{
+
+    public ShardEnMigracionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.mockito.mockito.exceptions;
+
+public class SobrecargaException extends RuntimeException{
+
+    public SobrecargaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,170 @@
+package com.mockito.mockito.formatos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Listas como {@code {"columnas": ["id", "nombre", ...], "filas": [[1, "Ana", ...], ...]}}: los nombres de
+ * campo van una vez y no en cada fila. Las columnas son las propiedades que Jackson serializa del tipo del
+ * primer elemento, en el mismo orden, con {@code null} donde el JSON normal omite el campo.
+ * Tambien lee ese formato, p. ej. en {@code POST /api/empleados/batch}.
+ */
+public class ConversorColumnas extends AbstractGenericHttpMessageConverter<Object> {
+
+    // Sin sufijo +json: el conversor de JSON acepta application/*+json y lo tomaria antes que este
+    public static final String APPLICATION_COLUMNAS_VALUE = "application/vnd.empleados.columnas";
+
+    public static final MediaType APPLICATION_COLUMNAS = MediaType.parseMediaType(APPLICATION_COLUMNAS_VALUE);
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Class<?>, Formato> formatos = new ConcurrentHashMap<>();
+
+    private record Formato(List<String> columnas, ObjectWriter escritor) {
+    }
+
+    public ConversorColumnas(ObjectMapper objectMapper) {
+        super(APPLICATION_COLUMNAS);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return supports(tipo(type, contextClass).getRawClass()) && canRead(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        JavaType elemento = tipo(type, contextClass).getContentType();
+        Class<?> clase = elemento != null ? elemento.getRawClass() : Object.class;
+        return leer(inputMessage.getBody(), clase);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return leer(inputMessage.getBody(), Object.class);
+    }
+
+    @Override
+    protected void writeInternal(Object objeto, Type type, HttpOutputMessage outputMessage) throws IOException {
+        escribir((List<?>) objeto, StreamUtils.nonClosing(outputMessage.getBody()));
+    }
+
+    private JavaType tipo(Type type, Class<?> contextClass) {
+        return objectMapper.constructType(GenericTypeResolver.resolveType(type, contextClass));
+    }
+
+    public void escribir(List<?> filas, OutputStream salida) throws IOException {
+        try (JsonGenerator generador = objectMapper.createGenerator(salida)) {
+            generador.writeStartObject();
+            generador.writeArrayFieldStart("columnas");
+            if (!filas.isEmpty() && filas.get(0) != null) {
+                for (String columna : formato(filas.get(0).getClass()).columnas()) {
+                    generador.writeString(columna);
+                }
+            }
+            generador.writeEndArray();
+            generador.writeArrayFieldStart("filas");
+            for (Object fila : filas) {
+                if (fila == null) {
+                    generador.writeNull();
+                } else {
+                    formato(fila.getClass()).escritor().writeValue(generador, fila);
+                }
+            }
+            generador.writeEndArray();
+            generador.writeEndObject();
+        }
+    }
+
+    public <T> List<T> leer(InputStream entrada, Class<T> clase) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw JsonMappingException.from(parser, "Se esperaba {\"columnas\": [...], \"filas\": [[...], ...]}");
+            }
+            List<String> columnas = null;
+            List<T> filas = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                parser.nextToken();
+                if ("columnas".equals(campo)) {
+                    columnas = List.of(objectMapper.readValue(parser, String[].class));
+                } else if ("filas".equals(campo)) {
+                    if (columnas == null) {
+                        throw JsonMappingException.from(parser, "\"columnas\" tiene que ir antes de \"filas\"");
+                    }
+                    leerFilas(parser, columnas, clase, filas);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return filas;
+        }
+    }
+
+    // Cada fila pasa por un ObjectNode con sus nombres: se aplican las mismas reglas que al leer JSON normal
+    private <T> void leerFilas(JsonParser parser, List<String> columnas, Class<T> clase, List<T> filas) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw JsonMappingException.from(parser, "\"filas\" tiene que ser una lista de listas");
+        }
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            ObjectNode fila = objectMapper.createObjectNode();
+            for (String columna : columnas) {
+                if (parser.nextToken() == JsonToken.END_ARRAY) {
+                    throw JsonMappingException.from(parser, "La fila " + filas.size() + " tiene menos valores que columnas");
+                }
+                fila.set(columna, objectMapper.readTree(parser));
+            }
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                throw JsonMappingException.from(parser, "La fila " + filas.size() + " tiene mas valores que columnas");
+            }
+            filas.add(objectMapper.treeToValue(fila, clase));
+        }
+    }
+
+    // Una copia del ObjectMapper por tipo, con forma de arreglo solo para ese tipo (las fechas siguen igual)
+    private Formato formato(Class<?> clase) {
+        return formatos.computeIfAbsent(clase, tipo -> {
+            List<String> columnas = new ArrayList<>();
+            try {
+                objectMapper.getSerializerProviderInstance().findValueSerializer(tipo).properties()
+                        .forEachRemaining(propiedad -> columnas.add(propiedad.getName()));
+            } catch (JsonMappingException e) {
+                throw new IllegalStateException("No se puede serializar " + tipo.getName() + " por columnas", e);
+            }
+            ObjectMapper copia = objectMapper.copy();
+            copia.configOverride(tipo).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.ARRAY));
+            // Sin flush por fila: cada flush sobre la respuesta seria un envio al cliente
+            return new Formato(List.copyOf(columnas), copia.writerFor(tipo).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.mockito.mockito.lecturas;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Las conexiones de transacciones {@code readOnly} van a una replica sana (round-robin); el resto, al primario.
+ * Va detras de un {@code LazyConnectionDataSourceProxy}: la transaccion pide la conexion antes de marcarse
+ * readOnly, el proxy la obtiene recien en la primera sentencia.
+ * <p>
+ * Sin replicas sanas, dentro de la ventana de {@link LecturaPropia} o si la replica no entrega una conexion,
+ * la lectura va al primario.
+ */
+public class DataSourceEnrutado extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARIO = "primario";
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceEnrutado.class);
+
+    private final List<ReplicaLectura> replicas;
+
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    private final Map<String, LongAdder> conexiones = new HashMap<>();
+
+    public DataSourceEnrutado(DataSource primario, List<ReplicaLectura> replicas) {
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        conexiones.put(PRIMARIO, new LongAdder());
+        for (ReplicaLectura replica : this.replicas) {
+            destinos.put(replica.nombre(), replica.dataSource());
+            conexiones.put(replica.nombre(), new LongAdder());
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+    }
+
+    public List<ReplicaLectura> replicas() {
+        return replicas;
+    }
+
+    public int replicasSanas() {
+        int sanas = 0;
+        for (ReplicaLectura replica : replicas) {
+            if (replica.sana()) {
+                sanas++;
+            }
+        }
+        return sanas;
+    }
+
+    /** Conexiones entregadas por {@code destino} ({@link #PRIMARIO} o el nombre de una replica). */
+    public long conexiones(String destino) {
+        LongAdder contador = conexiones.get(destino);
+        return contador == null ? 0 : contador.sum();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return elegir();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String destino = elegir();
+        if (PRIMARIO.equals(destino)) {
+            return conectar(PRIMARIO);
+        }
+        try {
+            return conectar(destino);
+        } catch (SQLException e) {
+            log.warn("La replica {} no entrego una conexion; la lectura va al primario", destino, e);
+            marcarCaida(destino);
+            return conectar(PRIMARIO);
+        }
+    }
+
+    private Connection conectar(String destino) throws SQLException {
+        Connection conexion = getResolvedDataSources().get(destino).getConnection();
+        conexiones.get(destino).increment();
+        return conexion;
+    }
+
+    String elegir() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || LecturaPropia.activa()) {
+            return PRIMARIO;
+        }
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaLectura replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.sana()) {
+                return replica.nombre();
+            }
+        }
+        return PRIMARIO;
+    }
+
+    // El monitor la vuelve a marcar sana cuando responda
+    private void marcarCaida(String destino) {
+        for (ReplicaLectura replica : replicas) {
+            if (replica.nombre().equals(destino)) {
+                replica.marcar(false);
+            }
+        }
+    }
+
+    /** Cierra los pools de las replicas; el primario es su propio bean. */
+    @Override
+    public void close() {
+        for (ReplicaLectura replica : replicas) {
+            if (replica.dataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mockito.mockito.lecturas;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes entre peticiones: al confirmarse una escritura responde la cookie
+ * {@value #COOKIE} con el fin de la ventana, y mientras la cookie siga vigente las lecturas
+ * de ese cliente van al primario en lugar de a una replica que quiza aun no recibio el cambio.
+ */
+public class FiltroLecturaPropia extends OncePerRequestFilter {
+
+    public static final String COOKIE = "empleados-primario-hasta";
+
+    private final Duration ventana;
+
+    public FiltroLecturaPropia(Duration ventana) {
+        this.ventana = ventana;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long hasta = hastaDeCookie(request);
+        if (hasta > 0) {
+            // Un valor mas lejano que la ventana no lo pudo haber emitido este servidor
+            LecturaPropia.extender(Math.min(hasta, System.currentTimeMillis() + ventana.toMillis()));
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            LecturaPropia.limpiar();
+        }
+    }
+
+    private static long hastaDeCookie(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void guardados(EmpleadosGuardadosEvent evento) {
+        escrito();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void modificado(EmpleadoModificadoEvent evento) {
+        escrito();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void eliminados(EmpleadosEliminadosEvent evento) {
+        escrito();
+    }
+
+    // Tambien cubre el resto de la peticion actual; fuera de una peticion (ingesta) solo afecta al hilo
+    private void escrito() {
+        long hasta = System.currentTimeMillis() + ventana.toMillis();
+        LecturaPropia.extender(hasta);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos
+                && atributos.getResponse() != null && !atributos.getResponse().isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(hasta));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, ventana.toSeconds()));
+            atributos.getResponse().addCookie(cookie);
+        }
+    }
+}
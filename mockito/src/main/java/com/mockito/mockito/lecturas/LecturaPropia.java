@@ -0,0 +1,30 @@
+package com.mockito.mockito.lecturas;
+
+/**
+ * Ventana de "leer lo propio" del hilo actual: mientras dure, {@link DataSourceEnrutado} manda
+ * las lecturas al primario. Se guarda el instante de fin, asi un valor que queda en un hilo de pool vence solo.
+ */
+public final class LecturaPropia {
+
+    private static final ThreadLocal<Long> HASTA = new ThreadLocal<>();
+
+    private LecturaPropia() {
+    }
+
+    public static boolean activa() {
+        Long hasta = HASTA.get();
+        return hasta != null && hasta > System.currentTimeMillis();
+    }
+
+    /** Extiende la ventana hasta {@code hasta} (epoch en milisegundos); nunca la acorta. */
+    public static void extender(long hasta) {
+        Long actual = HASTA.get();
+        if (actual == null || actual < hasta) {
+            HASTA.set(hasta);
+        }
+    }
+
+    public static void limpiar() {
+        HASTA.remove();
+    }
+}
@@ -0,0 +1,83 @@
+package com.mockito.mockito.lecturas;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Verifica cada replica con {@link Connection#isValid(int)} a intervalo fijo: la que falla deja de recibir
+ * lecturas hasta que vuelva a responder. La primera verificacion corre al arrancar, antes de atender peticiones.
+ */
+public class MonitorReplicas implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplicas.class);
+
+    private final List<ReplicaLectura> replicas;
+
+    private final Duration intervalo;
+
+    private final Duration timeout;
+
+    private volatile ScheduledExecutorService ejecutor;
+
+    public MonitorReplicas(List<ReplicaLectura> replicas, Duration intervalo, Duration timeout) {
+        this.replicas = replicas;
+        this.intervalo = intervalo;
+        this.timeout = timeout;
+    }
+
+    void verificar() {
+        for (ReplicaLectura replica : replicas) {
+            boolean sana = responde(replica);
+            if (sana != replica.sana()) {
+                if (sana) {
+                    log.info("La replica {} responde; vuelve a recibir lecturas", replica.nombre());
+                } else {
+                    log.warn("La replica {} no responde; sus lecturas van a las demas o al primario", replica.nombre());
+                }
+            }
+            replica.marcar(sana);
+        }
+    }
+
+    private boolean responde(ReplicaLectura replica) {
+        try (Connection conexion = replica.dataSource().getConnection()) {
+            return conexion.isValid((int) Math.max(1, timeout.toSeconds()));
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Fallo la verificacion de la replica {}", replica.nombre(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        verificar();
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "monitor-replicas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long milisegundos = intervalo.toMillis();
+        ejecutor.scheduleWithFixedDelay(this::verificar, milisegundos, milisegundos, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService actual = ejecutor;
+        ejecutor = null;
+        actual.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ejecutor != null;
+    }
+}
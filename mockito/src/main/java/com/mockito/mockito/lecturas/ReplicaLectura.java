@@ -0,0 +1,35 @@
+package com.mockito.mockito.lecturas;
+
+import javax.sql.DataSource;
+
+/** Una replica de solo lectura y su ultimo estado segun {@link MonitorReplicas}. */
+public class ReplicaLectura {
+
+    private final String nombre;
+
+    private final DataSource dataSource;
+
+    // Sin verificar no recibe lecturas; el monitor la verifica al arrancar
+    private volatile boolean sana;
+
+    public ReplicaLectura(String nombre, DataSource dataSource) {
+        this.nombre = nombre;
+        this.dataSource = dataSource;
+    }
+
+    public String nombre() {
+        return nombre;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean sana() {
+        return sana;
+    }
+
+    void marcar(boolean sana) {
+        this.sana = sana;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mockito.mockito.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Cuenta sentencias SQL y entidades cargadas por el hilo actual. Hibernate lo instancia
+ * a partir de {@code hibernate.session_factory.statement_inspector} e
+ * {@code hibernate.session_factory.interceptor}; los contadores son estaticos por hilo.
+ */
+public class ContadorSentencias implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<long[]> CONTADORES = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final int SENTENCIAS = 0;
+
+    private static final int ENTIDADES = 1;
+
+    public static void reiniciar() {
+        long[] contadores = CONTADORES.get();
+        contadores[SENTENCIAS] = 0;
+        contadores[ENTIDADES] = 0;
+    }
+
+    public static long sentencias() {
+        return CONTADORES.get()[SENTENCIAS];
+    }
+
+    public static long entidadesCargadas() {
+        return CONTADORES.get()[ENTIDADES];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        CONTADORES.get()[SENTENCIAS]++;
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        CONTADORES.get()[ENTIDADES]++;
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mockito.mockito.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Registra por peticion HTTP cuantas sentencias SQL ejecuto y cuantas entidades cargo,
+ * para detectar N+1 y lecturas completas de la tabla desde los tableros. Lo que corre
+ * en otro hilo (respuestas en streaming) no se atribuye a la peticion.
+ */
+public class MetricasPeticionInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasPeticionInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContadorSentencias.reiniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        registrar("empleados.http.sentencias", request.getMethod(), uri, ContadorSentencias.sentencias());
+        registrar("empleados.http.entidades.cargadas", request.getMethod(), uri, ContadorSentencias.entidadesCargadas());
+    }
+
+    private void registrar(String nombre, String metodo, String uri, long valor) {
+        DistributionSummary.builder(nombre)
+                .tags("method", metodo, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(valor);
+    }
+}
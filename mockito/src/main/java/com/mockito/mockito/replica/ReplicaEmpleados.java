@@ -0,0 +1,509 @@
+package com.mockito.mockito.replica;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.mockito.mockito.entities.Empleado;
+
+/**
+ * Copia en memoria de la tabla empleados para lecturas por id y por email sin JDBC.
+ * <p>
+ * Las filas se guardan codificadas en paginas de {@code byte[]} (id, version, fecha y los tres
+ * textos en UTF-8) y se indexan con dos tablas de direccionamiento abierto con sondeo
+ * lineal: {@code long id -> posicion} y {@code hash(email) -> posicion}. Asi una fila
+ * cuesta sus bytes mas unas pocas ranuras de arreglos primitivos, en lugar de un
+ * {@code Empleado}, cuatro objetos {@code String}, un {@code Long} y una entrada de
+ * {@code HashMap}; el recolector solo ve unas decenas de arreglos grandes sin importar
+ * cuantas filas haya.
+ * <p>
+ * Las actualizaciones agregan la fila nueva al final y la anterior queda como basura
+ * hasta que la mitad de lo escrito esta muerto y se compacta.
+ */
+public class ReplicaEmpleados {
+
+    static final int TAMANIO_PAGINA = 1 << 20;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    static final int MAXIMO_BORRADOS = 1 << 14;
+
+    // id, version y ultimaModificacion (epoch en milisegundos)
+    private static final int CABECERA = 24;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    private List<byte[]> paginas = new ArrayList<>();
+
+    private long bytesEscritos;
+
+    private long bytesMuertos;
+
+    // Indice por id; 0 marca ranura vacia (los ids de la secuencia empiezan en 1)
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+
+    private long[] posicionesPorId = new long[CAPACIDAD_INICIAL];
+
+    // Indice por email; posicion + 1, 0 marca ranura vacia
+    private int[] hashesEmail = new int[CAPACIDAD_INICIAL];
+
+    private long[] posicionesPorEmail = new long[CAPACIDAD_INICIAL];
+
+    private int filas;
+
+    // Ids borrados hace poco. Los listeners de commits distintos pueden correr en otro orden que los
+    // commits, y un poner o actualizarCampos atrasado no debe revivir la fila. El evento de borrado no
+    // trae la version, pero los ids no se reusan: despues del DELETE ningun cambio de ese id es nuevo
+    private final Borrados borrados = new Borrados(MAXIMO_BORRADOS);
+
+    private volatile boolean lista;
+
+    public Optional<Empleado> porId(long id) {
+        candado.readLock().lock();
+        try {
+            int ranura = ranuraDeId(id);
+            return ids[ranura] == 0 ? Optional.empty() : Optional.of(leer(posicionesPorId[ranura]));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public Optional<Empleado> porEmail(String email) {
+        byte[] buscado = email.getBytes(StandardCharsets.UTF_8);
+        candado.readLock().lock();
+        try {
+            int ranura = ranuraDeEmail(buscado, hashEmail(buscado));
+            return posicionesPorEmail[ranura] == 0 ? Optional.empty() : Optional.of(leer(posicionesPorEmail[ranura] - 1));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /** Inserta o reemplaza la fila; una version menor a la guardada se ignora. */
+    public void poner(Empleado empleado) {
+        if (empleado.getId() == null || empleado.getId() <= 0) {
+            return;
+        }
+        candado.writeLock().lock();
+        try {
+            if (borrados.contiene(empleado.getId())) {
+                return;
+            }
+            int ranura = ranuraDeId(empleado.getId());
+            if (ids[ranura] != 0) {
+                long anterior = posicionesPorId[ranura];
+                if (version(empleado) < leerLong(anterior, 8)) {
+                    return;
+                }
+                quitarEmail(anterior);
+                bytesMuertos += largoRegistro(anterior);
+            } else {
+                ids[ranura] = empleado.getId();
+                filas++;
+            }
+            long posicion = escribir(empleado);
+            posicionesPorId[ranura] = posicion;
+            ponerEmail(posicion);
+            crecerSiHaceFalta();
+            compactarSiHaceFalta();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica los campos no nulos de {@code cambios} y deja la fila en {@code version}, la que resulto del
+     * UPDATE parcial; si la guardada ya es igual o mayor el cambio llego tarde y se ignora.
+     */
+    public void actualizarCampos(long id, Empleado cambios, long version) {
+        candado.writeLock().lock();
+        try {
+            int ranura = ranuraDeId(id);
+            if (ids[ranura] == 0 || borrados.contiene(id) || leerLong(posicionesPorId[ranura], 8) >= version) {
+                return;
+            }
+            Empleado actual = leer(posicionesPorId[ranura]);
+            if (cambios.getNombre() != null) {
+                actual.setNombre(cambios.getNombre());
+            }
+            if (cambios.getApellido() != null) {
+                actual.setApellido(cambios.getApellido());
+            }
+            if (cambios.getEmail() != null) {
+                actual.setEmail(cambios.getEmail());
+            }
+            if (cambios.getUltimaModificacion() != null) {
+                actual.setUltimaModificacion(cambios.getUltimaModificacion());
+            }
+            actual.setVersion(version);
+            poner(actual);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /** Quita la fila y recuerda el id, aunque la fila todavia no haya llegado. */
+    public void quitar(long id) {
+        candado.writeLock().lock();
+        try {
+            borrados.agregar(id);
+            int ranura = ranuraDeId(id);
+            if (ids[ranura] == 0) {
+                return;
+            }
+            long posicion = posicionesPorId[ranura];
+            quitarEmail(posicion);
+            bytesMuertos += largoRegistro(posicion);
+            borrarDeIds(ranura);
+            filas--;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public int filas() {
+        candado.readLock().lock();
+        try {
+            return filas;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /** Bytes retenidos: paginas reservadas, los cuatro arreglos de indices y los ids borrados. */
+    public long bytesRetenidos() {
+        candado.readLock().lock();
+        try {
+            return (long) paginas.size() * TAMANIO_PAGINA
+                    + (long) ids.length * (Long.BYTES + Long.BYTES)
+                    + (long) hashesEmail.length * (Integer.BYTES + Long.BYTES)
+                    + borrados.bytes();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /** Indica que la carga inicial termino y la copia puede responder lecturas. */
+    public boolean lista() {
+        return lista;
+    }
+
+    public void marcarLista() {
+        lista = true;
+    }
+
+    // ---- registros ----
+
+    private long escribir(Empleado empleado) {
+        byte[] nombre = bytes(empleado.getNombre());
+        byte[] apellido = bytes(empleado.getApellido());
+        byte[] email = bytes(empleado.getEmail());
+        int largo = CABECERA + 6 + nombre.length + apellido.length + email.length;
+
+        int desplazamiento = (int) (bytesEscritos % TAMANIO_PAGINA);
+        boolean sinPagina = bytesEscritos / TAMANIO_PAGINA >= paginas.size();
+        if (sinPagina || desplazamiento + largo > TAMANIO_PAGINA) {
+            // Un registro nunca cruza paginas; el resto de la pagina se cuenta como basura
+            if (!sinPagina) {
+                bytesMuertos += TAMANIO_PAGINA - desplazamiento;
+            }
+            paginas.add(new byte[TAMANIO_PAGINA]);
+            bytesEscritos = (long) (paginas.size() - 1) * TAMANIO_PAGINA;
+            desplazamiento = 0;
+        }
+        long posicion = bytesEscritos;
+        byte[] pagina = paginas.get(paginas.size() - 1);
+        LONG.set(pagina, desplazamiento, empleado.getId());
+        LONG.set(pagina, desplazamiento + 8, version(empleado));
+        LONG.set(pagina, desplazamiento + 16, empleado.getUltimaModificacion() == null ? Long.MIN_VALUE
+                : empleado.getUltimaModificacion().toEpochMilli());
+        int i = desplazamiento + CABECERA;
+        for (byte[] texto : new byte[][] { nombre, apellido, email }) {
+            SHORT.set(pagina, i, (short) texto.length);
+            System.arraycopy(texto, 0, pagina, i + 2, texto.length);
+            i += 2 + texto.length;
+        }
+        bytesEscritos += largo;
+        return posicion;
+    }
+
+    private Empleado leer(long posicion) {
+        return leer(paginas, posicion);
+    }
+
+    private static Empleado leer(List<byte[]> paginas, long posicion) {
+        byte[] pagina = paginas.get((int) (posicion / TAMANIO_PAGINA));
+        int i = (int) (posicion % TAMANIO_PAGINA);
+        long version = (long) LONG.get(pagina, i + 8);
+        long modificado = (long) LONG.get(pagina, i + 16);
+        String[] textos = new String[3];
+        int j = i + CABECERA;
+        for (int k = 0; k < 3; k++) {
+            int largo = Short.toUnsignedInt((short) SHORT.get(pagina, j));
+            textos[k] = new String(pagina, j + 2, largo, StandardCharsets.UTF_8);
+            j += 2 + largo;
+        }
+        return Empleado.builder()
+                .id((long) LONG.get(pagina, i))
+                .version(version < 0 ? null : version)
+                .ultimaModificacion(modificado == Long.MIN_VALUE ? null : Instant.ofEpochMilli(modificado))
+                .nombre(textos[0])
+                .apellido(textos[1])
+                .email(textos[2])
+                .emailDominio(Empleado.dominioDe(textos[2]))
+                .build();
+    }
+
+    private long leerLong(long posicion, int desplazamiento) {
+        return (long) LONG.get(paginas.get((int) (posicion / TAMANIO_PAGINA)), (int) (posicion % TAMANIO_PAGINA) + desplazamiento);
+    }
+
+    private int largoRegistro(long posicion) {
+        byte[] pagina = paginas.get((int) (posicion / TAMANIO_PAGINA));
+        int inicio = (int) (posicion % TAMANIO_PAGINA);
+        int j = inicio + CABECERA;
+        for (int k = 0; k < 3; k++) {
+            j += 2 + Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        }
+        return j - inicio;
+    }
+
+    private boolean emailIgual(long posicion, byte[] buscado) {
+        byte[] pagina = paginas.get((int) (posicion / TAMANIO_PAGINA));
+        int j = (int) (posicion % TAMANIO_PAGINA) + CABECERA;
+        j += 2 + Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        j += 2 + Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        int largo = Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        return Arrays.equals(pagina, j + 2, j + 2 + largo, buscado, 0, buscado.length);
+    }
+
+    private byte[] emailDe(long posicion) {
+        byte[] pagina = paginas.get((int) (posicion / TAMANIO_PAGINA));
+        int j = (int) (posicion % TAMANIO_PAGINA) + CABECERA;
+        j += 2 + Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        j += 2 + Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        int largo = Short.toUnsignedInt((short) SHORT.get(pagina, j));
+        return Arrays.copyOfRange(pagina, j + 2, j + 2 + largo);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto == null ? new byte[0] : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long version(Empleado empleado) {
+        return empleado.getVersion() == null ? -1 : empleado.getVersion();
+    }
+
+    // ---- indice por id ----
+
+    private int ranuraDeId(long id) {
+        int mascara = ids.length - 1;
+        int ranura = mezclar(id) & mascara;
+        while (ids[ranura] != 0 && ids[ranura] != id) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    // Borrado con corrimiento hacia atras: no deja lapidas que alarguen los sondeos
+    private void borrarDeIds(int ranura) {
+        int mascara = ids.length - 1;
+        int libre = ranura;
+        int j = ranura;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (ids[j] == 0) {
+                break;
+            }
+            int ideal = mezclar(ids[j]) & mascara;
+            if (((j - ideal) & mascara) >= ((j - libre) & mascara)) {
+                ids[libre] = ids[j];
+                posicionesPorId[libre] = posicionesPorId[j];
+                libre = j;
+            }
+        }
+        ids[libre] = 0;
+        posicionesPorId[libre] = 0;
+    }
+
+    // ---- indice por email ----
+
+    private int ranuraDeEmail(byte[] email, int hash) {
+        int mascara = hashesEmail.length - 1;
+        int ranura = hash & mascara;
+        while (posicionesPorEmail[ranura] != 0
+                && (hashesEmail[ranura] != hash || !emailIgual(posicionesPorEmail[ranura] - 1, email))) {
+            ranura = (ranura + 1) & mascara;
+        }
+        return ranura;
+    }
+
+    private void ponerEmail(long posicion) {
+        byte[] email = emailDe(posicion);
+        int hash = hashEmail(email);
+        int ranura = ranuraDeEmail(email, hash);
+        hashesEmail[ranura] = hash;
+        posicionesPorEmail[ranura] = posicion + 1;
+    }
+
+    private void quitarEmail(long posicion) {
+        byte[] email = emailDe(posicion);
+        int ranura = ranuraDeEmail(email, hashEmail(email));
+        if (posicionesPorEmail[ranura] != posicion + 1) {
+            return;
+        }
+        int mascara = hashesEmail.length - 1;
+        int libre = ranura;
+        int j = ranura;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (posicionesPorEmail[j] == 0) {
+                break;
+            }
+            int ideal = hashesEmail[j] & mascara;
+            if (((j - ideal) & mascara) >= ((j - libre) & mascara)) {
+                hashesEmail[libre] = hashesEmail[j];
+                posicionesPorEmail[libre] = posicionesPorEmail[j];
+                libre = j;
+            }
+        }
+        hashesEmail[libre] = 0;
+        posicionesPorEmail[libre] = 0;
+    }
+
+    private static int hashEmail(byte[] email) {
+        return mezclar(Arrays.hashCode(email));
+    }
+
+    private static int mezclar(long valor) {
+        long h = valor * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // ---- mantenimiento ----
+
+    // Factor de carga maximo 0.5: los sondeos lineales se mantienen cortos
+    private void crecerSiHaceFalta() {
+        if (filas * 2 > ids.length) {
+            reconstruir(ids.length * 2, false);
+        }
+    }
+
+    private void compactarSiHaceFalta() {
+        if (bytesMuertos > TAMANIO_PAGINA && bytesMuertos * 2 > bytesEscritos) {
+            reconstruir(ids.length, true);
+        }
+    }
+
+    private void reconstruir(int capacidad, boolean compactar) {
+        long[] idsAnteriores = ids;
+        long[] posicionesAnteriores = posicionesPorId;
+        List<byte[]> paginasAnteriores = paginas;
+
+        ids = new long[capacidad];
+        posicionesPorId = new long[capacidad];
+        hashesEmail = new int[capacidad];
+        posicionesPorEmail = new long[capacidad];
+        if (compactar) {
+            paginas = new ArrayList<>();
+            bytesEscritos = 0;
+            bytesMuertos = 0;
+        }
+        for (int i = 0; i < idsAnteriores.length; i++) {
+            if (idsAnteriores[i] == 0) {
+                continue;
+            }
+            long posicion = posicionesAnteriores[i];
+            if (compactar) {
+                posicion = escribir(leer(paginasAnteriores, posicion));
+            }
+            int ranura = ranuraDeId(idsAnteriores[i]);
+            ids[ranura] = idsAnteriores[i];
+            posicionesPorId[ranura] = posicion;
+            ponerEmail(posicion);
+        }
+    }
+
+    // ---- ids borrados ----
+
+    /**
+     * Conjunto acotado de ids: solo hace falta cubrir los commits que todavia tienen el listener en
+     * vuelo, asi que al llenarse se olvida el id borrado hace mas tiempo.
+     */
+    private static final class Borrados {
+
+        private final long[] tabla;
+
+        // Cola circular en orden de borrado
+        private final long[] orden;
+
+        private int siguiente;
+
+        private int cantidad;
+
+        Borrados(int maximo) {
+            tabla = new long[maximo * 2];
+            orden = new long[maximo];
+        }
+
+        boolean contiene(long id) {
+            return tabla[ranura(id)] != 0;
+        }
+
+        void agregar(long id) {
+            if (id <= 0 || contiene(id)) {
+                return;
+            }
+            if (cantidad == orden.length) {
+                olvidar(orden[siguiente]);
+            } else {
+                cantidad++;
+            }
+            tabla[ranura(id)] = id;
+            orden[siguiente] = id;
+            siguiente = (siguiente + 1) % orden.length;
+        }
+
+        long bytes() {
+            return (long) (tabla.length + orden.length) * Long.BYTES;
+        }
+
+        private int ranura(long id) {
+            int mascara = tabla.length - 1;
+            int ranura = mezclar(id) & mascara;
+            while (tabla[ranura] != 0 && tabla[ranura] != id) {
+                ranura = (ranura + 1) & mascara;
+            }
+            return ranura;
+        }
+
+        private void olvidar(long id) {
+            int mascara = tabla.length - 1;
+            int libre = ranura(id);
+            int j = libre;
+            while (true) {
+                j = (j + 1) & mascara;
+                if (tabla[j] == 0) {
+                    break;
+                }
+                int ideal = mezclar(tabla[j]) & mascara;
+                if (((j - ideal) & mascara) >= ((j - libre) & mascara)) {
+                    tabla[libre] = tabla[j];
+                    libre = j;
+                }
+            }
+            tabla[libre] = 0;
+        }
+    }
+}
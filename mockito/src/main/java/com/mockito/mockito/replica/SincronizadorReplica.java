@@ -0,0 +1,84 @@
+package com.mockito.mockito.replica;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+import com.mockito.mockito.service.EmpleadoService;
+
+/**
+ * Carga la replica al arrancar y le aplica los cambios de EmpleadoService despues del
+ * commit; lo que se revierte nunca llega a la replica.
+ * <p>
+ * Los cambios que se confirman durante la carga se guardan y se aplican cuando termina: aplicados
+ * antes, un borrado o un PATCH de una fila que la carga todavia no leyo se perderia y la carga
+ * pondria despues la fila vieja. Las versiones descartan lo que ya estaba en la fila leida.
+ */
+public class SincronizadorReplica {
+
+    private final ReplicaEmpleados replica;
+
+    private final EmpleadoService empleadoService;
+
+    // null cuando termino la carga
+    private List<Runnable> pendientes = new ArrayList<>();
+
+    public SincronizadorReplica(ReplicaEmpleados replica, EmpleadoService empleadoService) {
+        this.replica = replica;
+        this.empleadoService = empleadoService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        try {
+            empleadoService.streamEmpleados(replica::poner);
+        } finally {
+            // Tambien si la carga falla: la lista no puede crecer para siempre
+            synchronized (this) {
+                pendientes.forEach(Runnable::run);
+                pendientes = null;
+            }
+        }
+        replica.marcarLista();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void guardados(EmpleadosGuardadosEvent evento) {
+        aplicar(() -> {
+            for (Empleado empleado : evento.empleados()) {
+                replica.poner(empleado);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void modificado(EmpleadoModificadoEvent evento) {
+        aplicar(() -> replica.actualizarCampos(evento.id(), evento.cambios(), evento.version()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void eliminados(EmpleadosEliminadosEvent evento) {
+        aplicar(() -> {
+            for (Long id : evento.ids()) {
+                replica.quitar(id);
+            }
+        });
+    }
+
+    private void aplicar(Runnable cambio) {
+        synchronized (this) {
+            if (pendientes != null) {
+                pendientes.add(cambio);
+                return;
+            }
+        }
+        cambio.run();
+    }
+}
@@ -0,0 +1,34 @@
+package com.mockito.mockito.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mockito.mockito.entities.CambioEmpleado;
+
+@Repository
+public interface CambioEmpleadoRepository extends JpaRepository<CambioEmpleado, Long>{
+
+    List<CambioEmpleado> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @Query("select coalesce(max(c.id), 0) from CambioEmpleado c")
+    long ultimoOffset();
+
+    @Query("select coalesce(min(c.id), 0) from CambioEmpleado c")
+    long primerOffset();
+
+    @Query("select coalesce(max(c.id), 0) from CambioEmpleado c where c.fecha < :limite")
+    long ultimoOffsetAntesDe(@Param("limite") Instant limite);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CambioEmpleado c where c.id <= :offset")
+    int eliminarHasta(@Param("offset") long offset);
+}
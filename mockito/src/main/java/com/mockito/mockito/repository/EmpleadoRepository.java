@@ -1,14 +1,56 @@
 package com.mockito.mockito.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.mockito.mockito.config.CacheConfig;
 import com.mockito.mockito.entities.Empleado;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface EmpleadoRepository extends JpaRepository<Empleado, Long>{
+public interface EmpleadoRepository extends JpaRepository<Empleado, Long>, EmpleadoRepositoryCustom{
     
+    @Cacheable(cacheNames = CacheConfig.EMPLEADOS_POR_EMAIL, unless = "#result == null")
     Optional<Empleado> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("select e.email from Empleado e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select e.version from Empleado e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // Paginacion por llave (keyset): "where id > ? order by id limit ?" usa el indice de la PK
+    List<Empleado> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Un solo DELETE: deleteById carga la entidad antes de borrarla
+    @Modifying
+    @Query("delete from Empleado e where e.id = :id")
+    int eliminarPorId(@Param("id") long id);
+
+    @Modifying
+    @Query("delete from Empleado e where e.id in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Empleado e order by e.id")
+    Stream<Empleado> streamAll();
+}
@@ -0,0 +1,40 @@
+package com.mockito.mockito.repository;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.entities.Empleado;
+
+public interface EmpleadoRepositoryCustom {
+
+    Set<String> CAMPOS_ORDENABLES = Set.of("id", "nombre", "apellido", "email");
+
+    /**
+     * Un solo {@code UPDATE ... WHERE id = ?} que escribe unicamente los campos no nulos de
+     * {@code cambios}, incrementa la version y fija ultimaModificacion (la de {@code cambios}
+     * o la hora actual). Con {@code versionEsperada} solo actualiza si la fila sigue en esa
+     * version. Devuelve el numero de filas afectadas.
+     */
+    int actualizarCampos(long id, Empleado cambios, Long versionEsperada);
+
+    /**
+     * Busca por prefijo o igualdad sobre columnas indexadas. Pagina por llave sobre (columna de orden, id)
+     * como {@code findByIdGreaterThanOrderByIdAsc}: {@code despuesDe} es la ultima fila de la pagina anterior
+     * (null para la primera) y de {@code pageable} solo se usan el tamanio y un unico campo de orden, asi
+     * una pagina lejana cuesta lo mismo que la primera. Devuelve un {@link Slice}: pide una fila de mas
+     * para saber si hay pagina siguiente y no ejecuta {@code count(*)}.
+     */
+    Slice<Empleado> buscar(FiltroEmpleado filtro, CursorBusqueda despuesDe, Pageable pageable);
+
+    /**
+     * Pagina por llave como {@code findByIdGreaterThanOrderByIdAsc}, pero selecciona solo el id y las
+     * columnas de {@code campos} (de {@link EmpleadoResumen#CAMPOS}); las demas quedan en null.
+     */
+    List<EmpleadoResumen> listarResumen(long afterId, int limit, Set<String> campos);
+}
@@ -0,0 +1,164 @@
+package com.mockito.mockito.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.entities.Empleado;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class EmpleadoRepositoryCustomImpl implements EmpleadoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int actualizarCampos(long id, Empleado cambios, Long versionEsperada) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Empleado> update = cb.createCriteriaUpdate(Empleado.class);
+        Root<Empleado> empleado = update.from(Empleado.class);
+
+        if (cambios.getNombre() != null) {
+            update.set(empleado.<String>get("nombre"), cambios.getNombre());
+        }
+        if (cambios.getApellido() != null) {
+            update.set(empleado.<String>get("apellido"), cambios.getApellido());
+        }
+        if (cambios.getEmail() != null) {
+            update.set(empleado.<String>get("email"), cambios.getEmail());
+            update.set(empleado.<String>get("emailDominio"), Empleado.dominioDe(cambios.getEmail()));
+        }
+        update.set(empleado.<Long>get("version"), cb.sum(empleado.<Long>get("version"), 1L));
+        update.set(empleado.<Instant>get("ultimaModificacion"),
+                cambios.getUltimaModificacion() != null ? cambios.getUltimaModificacion() : Instant.now());
+
+        Predicate condicion = cb.equal(empleado.get("id"), id);
+        if (versionEsperada != null) {
+            condicion = cb.and(condicion, cb.equal(empleado.get("version"), versionEsperada));
+        }
+        update.where(condicion);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public Slice<Empleado> buscar(FiltroEmpleado filtro, CursorBusqueda despuesDe, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Empleado> query = cb.createQuery(Empleado.class);
+        Root<Empleado> empleado = query.from(Empleado.class);
+
+        List<Predicate> condiciones = new ArrayList<>(4);
+        agregarCondicion(cb, empleado.get("nombre"), filtro.nombre(), condiciones);
+        agregarCondicion(cb, empleado.get("apellido"), filtro.apellido(), condiciones);
+        agregarCondicion(cb, empleado.get("email"), filtro.email(), condiciones);
+        if (filtro.dominio() != null && !filtro.dominio().isBlank()) {
+            condiciones.add(cb.equal(empleado.get("emailDominio"), Empleado.dominioDe("@" + filtro.dominio().trim())));
+        }
+
+        // El id desempata para que el orden entre paginas sea estable
+        Sort.Order campo = pageable.getSortOr(Sort.by("id")).iterator().next();
+        Path<Long> id = empleado.get("id");
+        List<Order> orden = new ArrayList<>(2);
+        if (campo.getProperty().equals("id")) {
+            orden.add(campo.isAscending() ? cb.asc(id) : cb.desc(id));
+            if (despuesDe != null) {
+                condiciones.add(campo.isAscending() ? cb.greaterThan(id, despuesDe.id()) : cb.lessThan(id, despuesDe.id()));
+            }
+        } else {
+            Path<String> columna = empleado.get(campo.getProperty());
+            orden.add(campo.isAscending() ? cb.asc(columna) : cb.desc(columna));
+            orden.add(cb.asc(id));
+            if (despuesDe != null) {
+                // (columna, id) despues del cursor; con el indice de la columna es un rango, no un offset
+                Predicate pasada = campo.isAscending()
+                        ? cb.greaterThan(columna, despuesDe.valor())
+                        : cb.lessThan(columna, despuesDe.valor());
+                condiciones.add(cb.or(pasada,
+                        cb.and(cb.equal(columna, despuesDe.valor()), cb.greaterThan(id, despuesDe.id()))));
+            }
+        }
+        query.where(condiciones.toArray(Predicate[]::new));
+        query.orderBy(orden);
+
+        List<Empleado> filas = entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean haySiguiente = filas.size() > pageable.getPageSize();
+        List<Empleado> contenido = haySiguiente ? filas.subList(0, pageable.getPageSize()) : filas;
+        return new SliceImpl<>(contenido, pageable, haySiguiente);
+    }
+
+    @Override
+    public List<EmpleadoResumen> listarResumen(long afterId, int limit, Set<String> campos) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Empleado> empleado = query.from(Empleado.class);
+
+        List<Selection<?>> columnas = new ArrayList<>(4);
+        columnas.add(empleado.get("id").alias("id"));
+        boolean nombre = agregarColumna(empleado, "nombre", campos, columnas);
+        boolean apellido = agregarColumna(empleado, "apellido", campos, columnas);
+        boolean email = agregarColumna(empleado, "email", campos, columnas);
+        query.multiselect(columnas)
+                .where(cb.greaterThan(empleado.get("id"), afterId))
+                .orderBy(cb.asc(empleado.get("id")));
+
+        List<Tuple> filas = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        List<EmpleadoResumen> resumenes = new ArrayList<>(filas.size());
+        for (Tuple fila : filas) {
+            resumenes.add(new EmpleadoResumen(fila.get("id", Long.class),
+                    nombre ? fila.get("nombre", String.class) : null,
+                    apellido ? fila.get("apellido", String.class) : null,
+                    email ? fila.get("email", String.class) : null));
+        }
+        return resumenes;
+    }
+
+    private static boolean agregarColumna(Root<Empleado> empleado, String campo, Set<String> campos,
+            List<Selection<?>> columnas) {
+        if (!campos.contains(campo)) {
+            return false;
+        }
+        columnas.add(empleado.get(campo).alias(campo));
+        return true;
+    }
+
+    // "valor*" se traduce a like 'valor%': con el comodin solo al final el indice se recorre como rango
+    private static void agregarCondicion(CriteriaBuilder cb, Path<String> columna, String valor, List<Predicate> condiciones) {
+        if (valor == null || valor.isBlank()) {
+            return;
+        }
+        String criterio = valor.trim();
+        if (criterio.endsWith("*")) {
+            String prefijo = criterio.substring(0, criterio.length() - 1)
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+            if (prefijo.isEmpty()) {
+                return;
+            }
+            condiciones.add(cb.like(columna, prefijo + "%", '\\'));
+        } else {
+            condiciones.add(cb.equal(columna, criterio));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mockito.mockito.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mockito.mockito.entities.RevisionTabla;
+
+@Repository
+public interface RevisionTablaRepository extends JpaRepository<RevisionTabla, String>{
+
+    // Se une a la transaccion de la escritura si existe
+    @Transactional
+    @Modifying
+    @Query("update RevisionTabla r set r.revision = r.revision + 1, r.modificado = :ahora where r.tabla = :tabla")
+    int incrementar(@Param("tabla") String tabla, @Param("ahora") Instant ahora);
+
+    // Insert y no save: save hace merge y pisaria la fila si otra instancia la sembro en el medio
+    @Transactional
+    @Modifying
+    @Query(value = "insert into revisiones_tabla (tabla, revision, modificado) values (:tabla, :revision, :ahora)",
+            nativeQuery = true)
+    int insertar(@Param("tabla") String tabla, @Param("revision") long revision, @Param("ahora") Instant ahora);
+
+    // Reserva los siguientes valores del contador; la fila queda bloqueada hasta el commit
+    @Transactional
+    @Modifying
+    @Query("update RevisionTabla r set r.revision = r.revision + :cantidad, r.modificado = :ahora where r.tabla = :tabla")
+    int sumar(@Param("tabla") String tabla, @Param("cantidad") long cantidad, @Param("ahora") Instant ahora);
+
+    // Consulta y no find: la entidad podria estar en el contexto con un valor anterior a sumar
+    @Query("select r.revision from RevisionTabla r where r.tabla = :tabla")
+    long revisionDe(@Param("tabla") String tabla);
+}
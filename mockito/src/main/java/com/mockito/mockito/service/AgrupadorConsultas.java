@@ -0,0 +1,172 @@
+package com.mockito.mockito.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+
+/**
+ * Agrupa busquedas concurrentes por llave en una sola consulta, al estilo DataLoader: las llaves
+ * que llegan mientras los hilos del agrupador estan ocupados (o dentro de {@code ventana}) salen
+ * juntas en el siguiente lote, y quien pide una llave que ya esta en vuelo recibe el mismo resultado.
+ * Con ventana 0 una busqueda aislada no espera nada; el agrupamiento aparece solo bajo concurrencia.
+ * Quien pide espera a lo sumo {@code espera}; si el lote no se puede programar (ejecutor cerrado) sus
+ * solicitudes fallan enseguida.
+ */
+public class AgrupadorConsultas<K, V> implements AutoCloseable {
+
+    private final Function<List<K>, Map<K, V>> cargarLote;
+
+    private final int maximoLote;
+
+    private final long ventanaNanos;
+
+    private final long esperaNanos;
+
+    private final ScheduledExecutorService ejecutor;
+
+    // null sin MeterRegistry
+    private final DistributionSummary tamanios;
+
+    private final Map<K, CompletableFuture<Optional<V>>> enVuelo = new ConcurrentHashMap<>();
+
+    private final Object candado = new Object();
+
+    private Map<K, CompletableFuture<Optional<V>>> pendientes = new LinkedHashMap<>();
+
+    private boolean despachoProgramado;
+
+    public AgrupadorConsultas(String nombre, Function<List<K>, Map<K, V>> cargarLote, int maximoLote, Duration ventana,
+            Duration espera, int hilos, DistributionSummary tamanios) {
+        this.cargarLote = cargarLote;
+        this.maximoLote = maximoLote;
+        this.ventanaNanos = ventana.toNanos();
+        this.esperaNanos = espera.toNanos();
+        this.tamanios = tamanios;
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutor = Executors.newScheduledThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, nombre + "-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    // get con plazo y no orTimeout: el futuro lo comparten todos los que piden la misma llave
+    public Optional<V> cargar(K llave) {
+        try {
+            return solicitar(llave).get(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("La consulta agrupada de " + llave + " no respondio a tiempo", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Se interrumpio la espera de la consulta agrupada de " + llave, e);
+        }
+    }
+
+    CompletableFuture<Optional<V>> solicitar(K llave) {
+        CompletableFuture<Optional<V>> futuro = enVuelo.get(llave);
+        if (futuro != null) {
+            return futuro;
+        }
+        synchronized (candado) {
+            futuro = pendientes.get(llave);
+            if (futuro == null) {
+                futuro = enVuelo.get(llave);
+            }
+            if (futuro != null) {
+                return futuro;
+            }
+            futuro = new CompletableFuture<>();
+            pendientes.put(llave, futuro);
+            try {
+                if (pendientes.size() >= maximoLote) {
+                    Map<K, CompletableFuture<Optional<V>>> lote = tomarPendientes();
+                    try {
+                        ejecutor.execute(() -> ejecutar(lote));
+                    } catch (RejectedExecutionException e) {
+                        fallar(lote, e);
+                    }
+                } else if (!despachoProgramado) {
+                    despachoProgramado = true;
+                    ejecutor.schedule(this::despachar, ventanaNanos, TimeUnit.NANOSECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                // Sin despacho programado nadie mas tomaria los pendientes
+                despachoProgramado = false;
+                fallar(tomarPendientes(), e);
+            }
+            return futuro;
+        }
+    }
+
+    // Se llama con el candado tomado
+    private Map<K, CompletableFuture<Optional<V>>> tomarPendientes() {
+        Map<K, CompletableFuture<Optional<V>>> lote = pendientes;
+        pendientes = new LinkedHashMap<>();
+        enVuelo.putAll(lote);
+        return lote;
+    }
+
+    private void despachar() {
+        Map<K, CompletableFuture<Optional<V>>> lote;
+        synchronized (candado) {
+            despachoProgramado = false;
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            lote = tomarPendientes();
+        }
+        ejecutar(lote);
+    }
+
+    private void ejecutar(Map<K, CompletableFuture<Optional<V>>> lote) {
+        if (tamanios != null) {
+            tamanios.record(lote.size());
+        }
+        Map<K, V> encontrados;
+        try {
+            encontrados = cargarLote.apply(new ArrayList<>(lote.keySet()));
+        } catch (RuntimeException | Error e) {
+            fallar(lote, e);
+            return;
+        }
+        lote.forEach((llave, futuro) -> {
+            enVuelo.remove(llave, futuro);
+            futuro.complete(Optional.ofNullable(encontrados.get(llave)));
+        });
+    }
+
+    private void fallar(Map<K, CompletableFuture<Optional<V>>> lote, Throwable error) {
+        lote.forEach((llave, futuro) -> {
+            enVuelo.remove(llave, futuro);
+            futuro.completeExceptionally(error);
+        });
+    }
+
+    @Override
+    public void close() {
+        ejecutor.shutdown();
+    }
+}
@@ -1,19 +1,53 @@
 package com.mockito.mockito.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.dto.ResultadoCarga;
 import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
 
 public interface EmpleadoService {
     
     Empleado saveEmpleado(Empleado empleado);
+
+    List<ResultadoCarga> saveEmpleados(List<Empleado> empleados);
     
     List<Empleado> getAllEmpleados();
+
+    List<Empleado> getEmpleadosAfter(long afterId, int limit);
+
+    // Solo el id y las columnas de campos (de EmpleadoResumen.CAMPOS)
+    List<EmpleadoResumen> getResumenEmpleadosAfter(long afterId, int limit, Set<String> campos);
+
+    void streamEmpleados(Consumer<Empleado> consumidor);
+
+    Slice<Empleado> searchEmpleados(FiltroEmpleado filtro, CursorBusqueda despuesDe, Pageable pageable);
     
     Optional<Empleado> getEmpleadoById(long id);
+
+    // En el orden pedido, sin repetidos; los ids inexistentes se omiten
+    List<Empleado> getEmpleadosByIds(Collection<Long> ids);
+
+    Optional<Empleado> getEmpleadoByEmail(String email);
     
     Empleado updateEmpleado(Empleado empleadoActualizado);
+
+    // La version nueva de la fila, o vacio si no existe
+    Optional<Long> patchEmpleado(long id, Empleado cambios, Long versionEsperada);
     
-    void deleteEmpleado(long id);
+    boolean deleteEmpleado(long id);
+
+    int deleteEmpleados(Collection<Long> ids);
+
+    RevisionTabla getRevisionEmpleados();
 }
@@ -1,48 +1,457 @@
 package com.mockito.mockito.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.mockito.mockito.config.CacheConfig;
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.dto.ResultadoCarga;
 import com.mockito.mockito.entities.Empleado;
-import com.mockito.mockito.exceptions.ResourceNotFoundException;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+import com.mockito.mockito.exceptions.ConflictoVersionException;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.lecturas.LecturaPropia;
+import com.mockito.mockito.replica.ReplicaEmpleados;
 import com.mockito.mockito.repository.EmpleadoRepository;
+import com.mockito.mockito.repository.RevisionTablaRepository;
+import com.mockito.mockito.shards.ContextoShard;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class EmpleadoServiceImpl implements EmpleadoService{
 
+    // Filas por consulta "in (...)" y por flush; multiplo de hibernate.jdbc.batch_size
+    static final int TAMANIO_LOTE = 500;
+
     @Autowired
     private EmpleadoRepository empleadoRepository;
 
+    @Autowired
+    private RevisionTablaRepository revisionTablaRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    // Solo existe con empleados.replica.enabled=true
+    @Autowired(required = false)
+    private ReplicaEmpleados replica;
+
+    // Solo existe con empleados.agrupador.enabled=true
+    @Autowired(required = false)
+    private AgrupadorConsultas<Long, Empleado> agrupador;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "save"}, histogram = true)
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.EMPLEADOS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.EMPLEADOS_POR_EMAIL, key = "#result.email")
+    })
+    @Transactional
     public Empleado saveEmpleado(Empleado empleado) {
-        Optional<Empleado> empleadoGuardado = empleadoRepository.findByEmail(empleado.getEmail());
-        if(empleadoGuardado.isPresent()){
-            throw new ResourceNotFoundException("Un empleado con ese email ya existe: " + empleado.getEmail());
+        // El indice unico sobre email detecta el duplicado en el mismo INSERT, sin SELECT previo
+        try {
+            Empleado guardado = empleadoRepository.saveAndFlush(empleado);
+            eventos.publishEvent(new EmpleadosGuardadosEvent(List.of(guardado)));
+            return guardado;
+        } catch (DataIntegrityViolationException e) {
+            if (esEmailDuplicado(e)) {
+                contarEmailDuplicado();
+                throw new EmpleadoDuplicadoException(empleado.getEmail());
+            }
+            throw e;
         }
-        return empleadoRepository.save(empleado);
     }
 
+    static boolean esEmailDuplicado(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violacion
+                && violacion.getConstraintName() != null
+                && violacion.getConstraintName().toLowerCase(Locale.ROOT).contains(Empleado.UK_EMAIL);
+    }
+
+    // Una transaccion por lote: si un INSERT concurrente toma un email despues de findExistingEmails, la violacion
+    // del indice unico deja la transaccion solo para rollback y el lote se repite fila por fila. Dentro de una
+    // transaccion ajena no se puede repetir nada y la violacion sigue de largo.
     @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "saveBatch"}, histogram = true)
+    public List<ResultadoCarga> saveEmpleados(List<Empleado> empleados) {
+        TransactionTemplate transacciones = new TransactionTemplate(transactionManager);
+        List<ResultadoCarga> resultados = new ArrayList<>(empleados.size());
+        Set<String> emailsVistos = new HashSet<>();
+        for (int inicio = 0; inicio < empleados.size(); inicio += TAMANIO_LOTE) {
+            List<Empleado> lote = empleados.subList(inicio, Math.min(inicio + TAMANIO_LOTE, empleados.size()));
+            int primeraFila = inicio;
+            Set<String> vistosAntes = new HashSet<>(emailsVistos);
+            try {
+                resultados.addAll(transacciones.execute(estado -> guardarLote(lote, primeraFila, emailsVistos)));
+            } catch (DataIntegrityViolationException e) {
+                if (!esEmailDuplicado(e) || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw e;
+                }
+                emailsVistos.retainAll(vistosAntes);
+                resultados.addAll(guardarDeAUno(lote, primeraFila, emailsVistos, transacciones));
+            }
+        }
+        return resultados;
+    }
+
+    private List<ResultadoCarga> guardarLote(List<Empleado> lote, int primeraFila, Set<String> emailsVistos) {
+        Set<String> emails = new HashSet<>();
+        for (Empleado empleado : lote) {
+            if (empleado.getEmail() != null) {
+                emails.add(empleado.getEmail());
+            }
+        }
+        Set<String> existentes = emails.isEmpty() ? Set.of() : empleadoRepository.findExistingEmails(emails);
+
+        ResultadoCarga[] resultadosLote = new ResultadoCarga[lote.size()];
+        List<Empleado> nuevos = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Empleado empleado = lote.get(i);
+            int fila = primeraFila + i;
+            String faltante = campoFaltante(empleado);
+            if (faltante != null) {
+                resultadosLote[i] = ResultadoCarga.invalido(fila, empleado.getEmail(), "El campo " + faltante + " es obligatorio");
+            } else if (existentes.contains(empleado.getEmail()) || !emailsVistos.add(empleado.getEmail())) {
+                resultadosLote[i] = ResultadoCarga.duplicado(fila, empleado.getEmail());
+                contarEmailDuplicado();
+            } else {
+                empleado.setId(null);
+                nuevos.add(empleado);
+            }
+        }
+
+        empleadoRepository.saveAll(nuevos);
+        empleadoRepository.flush();
+        entityManager.clear();
+        if (!nuevos.isEmpty()) {
+            eventos.publishEvent(new EmpleadosGuardadosEvent(nuevos));
+        }
+
+        List<ResultadoCarga> resultados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Empleado empleado = lote.get(i);
+            resultados.add(resultadosLote[i] != null
+                    ? resultadosLote[i]
+                    : ResultadoCarga.creado(primeraFila + i, empleado.getId(), empleado.getEmail()));
+        }
+        return resultados;
+    }
+
+    // Cada fila en su transaccion: el indice unico decide, como en saveEmpleado
+    private List<ResultadoCarga> guardarDeAUno(List<Empleado> lote, int primeraFila, Set<String> emailsVistos,
+            TransactionTemplate transacciones) {
+        List<ResultadoCarga> resultados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Empleado empleado = lote.get(i);
+            int fila = primeraFila + i;
+            // El intento del lote ya les asigno id y version
+            empleado.setId(null);
+            empleado.setVersion(null);
+            String faltante = campoFaltante(empleado);
+            if (faltante != null) {
+                resultados.add(ResultadoCarga.invalido(fila, empleado.getEmail(), "El campo " + faltante + " es obligatorio"));
+                continue;
+            }
+            if (!emailsVistos.add(empleado.getEmail())) {
+                resultados.add(ResultadoCarga.duplicado(fila, empleado.getEmail()));
+                contarEmailDuplicado();
+                continue;
+            }
+            try {
+                Empleado guardado = transacciones.execute(estado -> {
+                    Empleado nuevo = empleadoRepository.saveAndFlush(empleado);
+                    eventos.publishEvent(new EmpleadosGuardadosEvent(List.of(nuevo)));
+                    return nuevo;
+                });
+                resultados.add(ResultadoCarga.creado(fila, guardado.getId(), guardado.getEmail()));
+            } catch (DataIntegrityViolationException e) {
+                if (!esEmailDuplicado(e)) {
+                    throw e;
+                }
+                empleado.setId(null);
+                empleado.setVersion(null);
+                resultados.add(ResultadoCarga.duplicado(fila, empleado.getEmail()));
+                contarEmailDuplicado();
+            }
+        }
+        return resultados;
+    }
+
+    private static String campoFaltante(Empleado empleado) {
+        if (empleado.getNombre() == null || empleado.getNombre().isBlank()) {
+            return "nombre";
+        }
+        if (empleado.getApellido() == null || empleado.getApellido().isBlank()) {
+            return "apellido";
+        }
+        if (empleado.getEmail() == null || empleado.getEmail().isBlank()) {
+            return "email";
+        }
+        return null;
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "getAll"}, histogram = true)
+    @Transactional(readOnly = true)
     public List<Empleado> getAllEmpleados() {
         return empleadoRepository.findAll();
     }
 
     @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "getPage"}, histogram = true)
+    @Transactional(readOnly = true)
+    public List<Empleado> getEmpleadosAfter(long afterId, int limit) {
+        return empleadoRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "getPageResumen"}, histogram = true)
+    @Transactional(readOnly = true)
+    public List<EmpleadoResumen> getResumenEmpleadosAfter(long afterId, int limit, Set<String> campos) {
+        return empleadoRepository.listarResumen(afterId, limit, campos);
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "stream"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void streamEmpleados(Consumer<Empleado> consumidor) {
+        // Cada fila se suelta del contexto de persistencia en cuanto se entrega,
+        // asi la memoria no crece con el tamaño de la tabla
+        try (Stream<Empleado> empleados = empleadoRepository.streamAll()) {
+            empleados.forEach(empleado -> {
+                consumidor.accept(empleado);
+                entityManager.detach(empleado);
+            });
+        }
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "search"}, histogram = true)
+    @Transactional(readOnly = true)
+    public Slice<Empleado> searchEmpleados(FiltroEmpleado filtro, CursorBusqueda despuesDe, Pageable pageable) {
+        return empleadoRepository.buscar(filtro, despuesDe, pageable);
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "getById"}, histogram = true)
+    @Cacheable(cacheNames = CacheConfig.EMPLEADOS, key = "#id", unless = "#result == null")
     public Optional<Empleado> getEmpleadoById(long id) {
-       return empleadoRepository.findById(id);
+       Optional<Empleado> empleado = usarReplica() ? replica.porId(id) : buscarPorId(id);
+       if (empleado.isEmpty()) {
+           contarNoEncontrado("getById");
+       }
+       return empleado;
+    }
+
+    // El agrupador consulta en sus propios hilos: dentro de una transaccion se lee con la conexion de esta,
+    // y en la ventana de LecturaPropia tambien, porque los hilos del agrupador leerian de una replica.
+    // Con un shard fijado tampoco: sus hilos no tienen ContextoShard y leerian de la base global.
+    // Sin transaccion propia findById/findAllById corren en la readOnly del repositorio y van a las replicas.
+    private Optional<Empleado> buscarPorId(long id) {
+        if (agrupador == null || TransactionSynchronizationManager.isActualTransactionActive() || LecturaPropia.activa()
+                || ContextoShard.actual() != null) {
+            return empleadoRepository.findById(id);
+        }
+        return agrupador.cargar(id);
+    }
+
+    // Los que ya estan en el cache de getEmpleadoById no se consultan; el resto sale en un "in (...)" por lote
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "getByIds"}, histogram = true)
+    @Transactional(readOnly = true)
+    public List<Empleado> getEmpleadosByIds(Collection<Long> ids) {
+        List<Long> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Empleado> encontrados = new HashMap<>();
+        if (usarReplica()) {
+            for (Long id : unicos) {
+                replica.porId(id).ifPresent(empleado -> encontrados.put(id, empleado));
+            }
+        } else {
+            Cache cache = cacheManager.getCache(CacheConfig.EMPLEADOS);
+            List<Long> faltantes = new ArrayList<>();
+            for (Long id : unicos) {
+                Empleado cacheado = cache.get(id, Empleado.class);
+                if (cacheado != null) {
+                    encontrados.put(id, cacheado);
+                } else {
+                    faltantes.add(id);
+                }
+            }
+            for (int inicio = 0; inicio < faltantes.size(); inicio += TAMANIO_LOTE) {
+                for (Empleado empleado : empleadoRepository.findAllById(
+                        faltantes.subList(inicio, Math.min(inicio + TAMANIO_LOTE, faltantes.size())))) {
+                    encontrados.put(empleado.getId(), empleado);
+                    cache.put(empleado.getId(), empleado);
+                }
+            }
+        }
+        List<Empleado> empleados = new ArrayList<>(encontrados.size());
+        for (Long id : unicos) {
+            Empleado empleado = encontrados.get(id);
+            if (empleado != null) {
+                empleados.add(empleado);
+            }
+        }
+        return empleados;
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "getByEmail"}, histogram = true)
+    @Transactional(readOnly = true)
+    public Optional<Empleado> getEmpleadoByEmail(String email) {
+        return usarReplica() ? replica.porEmail(email) : empleadoRepository.findByEmail(email);
+    }
+
+    private boolean usarReplica() {
+        return replica != null && replica.lista();
     }
 
+    // El email anterior no se conoce aqui, por eso se vacia todo el cache por email
     @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "update"}, histogram = true)
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.EMPLEADOS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.EMPLEADOS_POR_EMAIL, allEntries = true))
+    @Transactional
     public Empleado updateEmpleado(Empleado empleadoActualizado) {
-        return empleadoRepository.save(empleadoActualizado);
+        Empleado guardado = empleadoRepository.save(empleadoActualizado);
+        eventos.publishEvent(new EmpleadosGuardadosEvent(List.of(guardado)));
+        return guardado;
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "patch"}, histogram = true)
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLEADOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLEADOS_POR_EMAIL, allEntries = true)
+    })
+    public Optional<Long> patchEmpleado(long id, Empleado cambios, Long versionEsperada) {
+        // La misma fecha llega al UPDATE, a la respuesta y a los listeners del evento
+        cambios.setUltimaModificacion(Instant.now());
+        int filas;
+        try {
+            filas = empleadoRepository.actualizarCampos(id, cambios, versionEsperada);
+        } catch (DataIntegrityViolationException e) {
+            if (esEmailDuplicado(e)) {
+                contarEmailDuplicado();
+                throw new EmpleadoDuplicadoException(cambios.getEmail());
+            }
+            throw e;
+        }
+        if (filas > 0) {
+            // La fila queda bloqueada por el UPDATE hasta el commit: nadie mas cambia su version antes
+            long version = versionEsperada != null ? versionEsperada + 1
+                    : empleadoRepository.findVersionById(id).orElseThrow();
+            eventos.publishEvent(new EmpleadoModificadoEvent(id, cambios, version));
+            return Optional.of(version);
+        }
+        // Solo en el caso raro se distingue "no existe" de "otra peticion gano"
+        if (versionEsperada != null && empleadoRepository.existsById(id)) {
+            meterRegistry.counter("empleados.conflictos_version").increment();
+            throw new ConflictoVersionException(id);
+        }
+        contarNoEncontrado("patch");
+        return Optional.empty();
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "delete"}, histogram = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLEADOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLEADOS_POR_EMAIL, allEntries = true)
+    })
+    @Transactional
+    public boolean deleteEmpleado(long id) {
+       boolean eliminado = empleadoRepository.eliminarPorId(id) > 0;
+       if (eliminado) {
+           eventos.publishEvent(new EmpleadosEliminadosEvent(List.of(id)));
+       } else {
+           contarNoEncontrado("delete");
+       }
+       return eliminado;
+    }
+
+    @Override
+    @Timed(value = "empleados.operacion", extraTags = {"operacion", "deleteBatch"}, histogram = true)
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLEADOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EMPLEADOS_POR_EMAIL, allEntries = true)
+    })
+    public int deleteEmpleados(Collection<Long> ids) {
+        List<Long> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        int eliminados = 0;
+        for (int inicio = 0; inicio < unicos.size(); inicio += TAMANIO_LOTE) {
+            eliminados += empleadoRepository.eliminarPorIds(unicos.subList(inicio, Math.min(inicio + TAMANIO_LOTE, unicos.size())));
+        }
+        eventos.publishEvent(new EmpleadosEliminadosEvent(unicos));
+        return eliminados;
     }
 
     @Override
-    public void deleteEmpleado(long id) {
-       empleadoRepository.deleteById(id);
+    public RevisionTabla getRevisionEmpleados() {
+        return revisionTablaRepository.findById(RevisionTabla.EMPLEADOS)
+                .orElseGet(() -> new RevisionTabla(RevisionTabla.EMPLEADOS, 0, Instant.EPOCH));
+    }
+
+    private void contarEmailDuplicado() {
+        meterRegistry.counter("empleados.rechazos", "motivo", "email_duplicado").increment();
+    }
+
+    private void contarNoEncontrado(String operacion) {
+        meterRegistry.counter("empleados.no_encontrados", "operacion", operacion).increment();
     }
     
 }
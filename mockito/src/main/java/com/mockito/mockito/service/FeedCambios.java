@@ -0,0 +1,381 @@
+package com.mockito.mockito.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mockito.mockito.config.CambiosProperties;
+import com.mockito.mockito.dto.LoteCambios;
+import com.mockito.mockito.entities.CambioEmpleado;
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+import com.mockito.mockito.exceptions.OffsetVencidoException;
+import com.mockito.mockito.repository.CambioEmpleadoRepository;
+
+/**
+ * Lectura del outbox que escribe {@link RegistroCambios}: consultas por offset, long-poll y SSE.
+ * Las esperas y suscripciones se atienden cuando se confirma una escritura en esta instancia o cuando el
+ * sondeo ve un offset nuevo (escrituras de otras instancias); sin cambios no hay consultas. El hilo del feed
+ * resuelve las esperas y solo programa los envios SSE: cada suscripcion se escribe en el pool de envios, de a
+ * una tarea por vez, y la que lleva mas de {@code envio-maximo} trabada en un envio se descarta, asi un
+ * cliente lento no demora a los demas ni al sondeo y la depuracion.
+ */
+public class FeedCambios implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedCambios.class);
+
+    private final CambioEmpleadoRepository cambioEmpleadoRepository;
+
+    private final CambiosProperties propiedades;
+
+    private final Set<Espera> esperas = ConcurrentHashMap.newKeySet();
+
+    private final Set<Suscripcion> suscripciones = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean despachoPendiente = new AtomicBoolean();
+
+    private final AtomicLong avisos = new AtomicLong();
+
+    private volatile ScheduledExecutorService ejecutor;
+
+    private volatile ExecutorService envios;
+
+    private volatile long ultimoVisto;
+
+    private volatile long depuradoHasta;
+
+    private record Espera(long desde, int limite, DeferredResult<LoteCambios> resultado) {
+    }
+
+    private static final class Suscripcion {
+
+        private final SseEmitter emisor;
+
+        // Solo lo toca la tarea de envio en curso
+        private long offset;
+
+        // Hay una tarea de envio programada; los avisos que llegan mientras tanto quedan en cambios y latido
+        private final AtomicBoolean programada = new AtomicBoolean();
+
+        private final AtomicBoolean cambios = new AtomicBoolean();
+
+        private final AtomicBoolean latido = new AtomicBoolean();
+
+        // System.nanoTime() al empezar el envio en curso, 0 si no hay ninguno
+        private volatile long enviandoDesde;
+
+        private Suscripcion(SseEmitter emisor, long offset) {
+            this.emisor = emisor;
+            this.offset = offset;
+        }
+    }
+
+    public FeedCambios(CambioEmpleadoRepository cambioEmpleadoRepository, CambiosProperties propiedades) {
+        this.cambioEmpleadoRepository = cambioEmpleadoRepository;
+        this.propiedades = propiedades;
+    }
+
+    public long ultimoOffset() {
+        return cambioEmpleadoRepository.ultimoOffset();
+    }
+
+    public LoteCambios leer(long desde, int limite) {
+        if (desde < depuradoHasta) {
+            throw new OffsetVencidoException(desde, depuradoHasta);
+        }
+        List<CambioEmpleado> cambios = cambioEmpleadoRepository.findByIdGreaterThanOrderByIdAsc(desde, PageRequest.ofSize(limite));
+        return new LoteCambios(cambios, cambios.isEmpty() ? desde : cambios.get(cambios.size() - 1).getId());
+    }
+
+    /**
+     * Responde en cuanto hay cambios despues de {@code desde}, o con un lote vacio al cumplirse {@code espera}
+     * (como maximo {@code empleados.cambios.espera-maxima}).
+     */
+    public DeferredResult<LoteCambios> esperar(long desde, int limite, Duration espera) {
+        if (espera.compareTo(propiedades.esperaMaxima()) > 0) {
+            espera = propiedades.esperaMaxima();
+        }
+        long avisosAntes = avisos.get();
+        LoteCambios lote = leer(desde, limite);
+        if (!lote.cambios().isEmpty() || espera.isZero() || espera.isNegative()) {
+            DeferredResult<LoteCambios> inmediato = new DeferredResult<>();
+            inmediato.setResult(lote);
+            return inmediato;
+        }
+        DeferredResult<LoteCambios> resultado = new DeferredResult<>(espera.toMillis(), lote);
+        Espera pendiente = new Espera(desde, limite, resultado);
+        esperas.add(pendiente);
+        resultado.onCompletion(() -> esperas.remove(pendiente));
+        // Un commit entre la lectura y el registro no debe quedar sin aviso
+        if (avisos.get() != avisosAntes) {
+            programarDespacho();
+        }
+        return resultado;
+    }
+
+    /**
+     * Envia los cambios posteriores a {@code desde} y luego cada lote nuevo; el id de cada evento es
+     * el offset para reconectar con Last-Event-ID.
+     */
+    public SseEmitter suscribir(long desde) {
+        return suscribir(desde, new SseEmitter(propiedades.suscripcion().toMillis()));
+    }
+
+    SseEmitter suscribir(long desde, SseEmitter emisor) {
+        if (desde < depuradoHasta) {
+            throw new OffsetVencidoException(desde, depuradoHasta);
+        }
+        Suscripcion suscripcion = new Suscripcion(emisor, desde);
+        suscripciones.add(suscripcion);
+        emisor.onCompletion(() -> suscripciones.remove(suscripcion));
+        emisor.onTimeout(emisor::complete);
+        emisor.onError(error -> suscripciones.remove(suscripcion));
+        programarEnvio(suscripcion, suscripcion.cambios);
+        return emisor;
+    }
+
+    public int suscriptores() {
+        return suscripciones.size();
+    }
+
+    public int esperasPendientes() {
+        return esperas.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void guardados(EmpleadosGuardadosEvent evento) {
+        avisar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void modificado(EmpleadoModificadoEvent evento) {
+        avisar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void eliminados(EmpleadosEliminadosEvent evento) {
+        avisar();
+    }
+
+    private void avisar() {
+        avisos.incrementAndGet();
+        programarDespacho();
+    }
+
+    // Varios commits seguidos se atienden con un solo despacho
+    private void programarDespacho() {
+        ScheduledExecutorService actual = ejecutor;
+        if (actual != null && despachoPendiente.compareAndSet(false, true)) {
+            actual.execute(this::despachar);
+        }
+    }
+
+    private void despachar() {
+        despachoPendiente.set(false);
+        // Las esperas con el mismo offset comparten una consulta
+        Map<Long, LoteCambios> porOffset = new HashMap<>();
+        for (Espera espera : esperas) {
+            if (espera.resultado().isSetOrExpired()) {
+                continue;
+            }
+            try {
+                LoteCambios lote = porOffset.computeIfAbsent(espera.desde(), desde -> leer(desde, propiedades.tamanioLote()));
+                if (!lote.cambios().isEmpty()) {
+                    espera.resultado().setResult(recortar(lote, espera.limite()));
+                }
+            } catch (RuntimeException e) {
+                espera.resultado().setErrorResult(e);
+            }
+        }
+        for (Suscripcion suscripcion : suscripciones) {
+            programarEnvio(suscripcion, suscripcion.cambios);
+        }
+    }
+
+    private void programarEnvio(Suscripcion suscripcion, AtomicBoolean motivo) {
+        motivo.set(true);
+        ExecutorService actual = envios;
+        if (actual != null && suscripcion.programada.compareAndSet(false, true)) {
+            actual.execute(() -> atender(suscripcion));
+        }
+    }
+
+    // Una sola tarea por suscripcion: los eventos salen en orden y un cliente lento ocupa a lo sumo un hilo
+    private void atender(Suscripcion suscripcion) {
+        do {
+            while (suscripciones.contains(suscripcion)) {
+                if (suscripcion.cambios.getAndSet(false)) {
+                    enviarPendientes(suscripcion);
+                } else if (suscripcion.latido.getAndSet(false)) {
+                    enviarLatido(suscripcion);
+                } else {
+                    break;
+                }
+            }
+            suscripcion.programada.set(false);
+            // Un aviso que llego entre el ultimo getAndSet y el set(false) no debe quedar sin enviar
+        } while ((suscripcion.cambios.get() || suscripcion.latido.get()) && suscripciones.contains(suscripcion)
+                && suscripcion.programada.compareAndSet(false, true));
+    }
+
+    private static LoteCambios recortar(LoteCambios lote, int limite) {
+        if (lote.cambios().size() <= limite) {
+            return lote;
+        }
+        List<CambioEmpleado> cambios = lote.cambios().subList(0, limite);
+        return new LoteCambios(cambios, cambios.get(limite - 1).getId());
+    }
+
+    private void enviarPendientes(Suscripcion suscripcion) {
+        try {
+            LoteCambios lote;
+            do {
+                lote = leer(suscripcion.offset, propiedades.tamanioLote());
+                if (lote.cambios().isEmpty()) {
+                    return;
+                }
+                enviar(suscripcion, SseEmitter.event()
+                        .id(String.valueOf(lote.siguiente()))
+                        .name("cambios")
+                        .data(lote.cambios(), MediaType.APPLICATION_JSON));
+                suscripcion.offset = lote.siguiente();
+            } while (lote.cambios().size() == propiedades.tamanioLote());
+        } catch (IOException | IllegalStateException e) {
+            // El cliente se desconecto o el emisor ya termino
+            suscripciones.remove(suscripcion);
+        } catch (RuntimeException e) {
+            suscripciones.remove(suscripcion);
+            suscripcion.emisor.completeWithError(e);
+        }
+    }
+
+    private void enviarLatido(Suscripcion suscripcion) {
+        try {
+            enviar(suscripcion, SseEmitter.event().comment("latido"));
+        } catch (IOException | IllegalStateException e) {
+            suscripciones.remove(suscripcion);
+        }
+    }
+
+    private static void enviar(Suscripcion suscripcion, SseEmitter.SseEventBuilder evento) throws IOException {
+        suscripcion.enviandoDesde = System.nanoTime();
+        try {
+            suscripcion.emisor.send(evento);
+        } finally {
+            suscripcion.enviandoDesde = 0;
+        }
+    }
+
+    // Mantiene viva la conexion en proxies, detecta clientes que se fueron y descarta los que no leen
+    private void latido() {
+        long ahora = System.nanoTime();
+        for (Suscripcion suscripcion : suscripciones) {
+            long desde = suscripcion.enviandoDesde;
+            if (desde != 0 && ahora - desde > propiedades.envioMaximo().toNanos()) {
+                log.debug("Se descarta una suscripcion con un envio trabado hace {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(ahora - desde));
+                suscripciones.remove(suscripcion);
+                suscripcion.emisor.completeWithError(new TimeoutException("Envio trabado por mas de " + propiedades.envioMaximo()));
+            } else {
+                programarEnvio(suscripcion, suscripcion.latido);
+            }
+        }
+    }
+
+    private void sondear() {
+        if (esperas.isEmpty() && suscripciones.isEmpty()) {
+            return;
+        }
+        // Los offsets siguen el orden de commit (RegistroCambios): un maximo mayor trae todo lo anterior
+        long ultimo = cambioEmpleadoRepository.ultimoOffset();
+        if (ultimo > ultimoVisto) {
+            ultimoVisto = ultimo;
+            programarDespacho();
+        }
+    }
+
+    private void depurar() {
+        long hasta = cambioEmpleadoRepository.ultimoOffsetAntesDe(Instant.now().minus(propiedades.retencion()));
+        if (hasta > 0) {
+            depuradoHasta = Math.max(depuradoHasta, hasta);
+            int eliminados = cambioEmpleadoRepository.eliminarHasta(hasta);
+            log.debug("Se depuraron {} cambios hasta el offset {}", eliminados, hasta);
+        }
+    }
+
+    private Runnable protegida(Runnable tarea) {
+        return () -> {
+            try {
+                tarea.run();
+            } catch (RuntimeException e) {
+                log.warn("Fallo una tarea del feed de cambios", e);
+            }
+        };
+    }
+
+    @Override
+    public void start() {
+        long primero = cambioEmpleadoRepository.primerOffset();
+        depuradoHasta = Math.max(0, primero - 1);
+        ultimoVisto = cambioEmpleadoRepository.ultimoOffset();
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "feed-cambios");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        AtomicInteger hilosEnvio = new AtomicInteger();
+        envios = Executors.newFixedThreadPool(propiedades.hilosEnvio(), tarea -> {
+            Thread hilo = new Thread(tarea, "feed-cambios-envio-" + hilosEnvio.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long sondeo = propiedades.sondeo().toMillis();
+        long latido = propiedades.latido().toMillis();
+        long depuracion = propiedades.depuracion().toMillis();
+        ejecutor.scheduleWithFixedDelay(protegida(this::sondear), sondeo, sondeo, TimeUnit.MILLISECONDS);
+        ejecutor.scheduleWithFixedDelay(protegida(this::latido), latido, latido, TimeUnit.MILLISECONDS);
+        ejecutor.scheduleWithFixedDelay(protegida(this::depurar), 0, depuracion, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService actual = ejecutor;
+        ejecutor = null;
+        actual.shutdownNow();
+        envios.shutdownNow();
+        envios = null;
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.emisor.complete();
+        }
+        suscripciones.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ejecutor != null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.mockito.mockito.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mockito.mockito.config.IngestaProperties;
+import com.mockito.mockito.dto.EstadoIngesta;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.exceptions.IngestaSaturadaException;
+
+/**
+ * Cola acotada de altas: la peticion solo espera el {@code offer} y los trabajadores
+ * guardan lo acumulado con {@link EmpleadoService#saveEmpleados}, una transaccion por lote.
+ * Al detenerse deja de aceptar y vacia la cola antes de que se cierre el DataSource; si un
+ * trabajador no termina a tiempo, las solicitudes de su lote quedan como ERROR en lugar de
+ * PENDIENTE para siempre.
+ */
+public class IngestaEmpleados implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestaEmpleados.class);
+
+    // Se detiene despues del servidor web (DEFAULT_PHASE - 2048), que ya no entrega peticiones nuevas
+    static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    // Lo que se espera a un trabajador despues de interrumpirlo
+    static final long ESPERA_INTERRUPCION_MS = 500;
+
+    private final EmpleadoService empleadoService;
+
+    private final IngestaProperties propiedades;
+
+    private final BlockingQueue<Solicitud> cola;
+
+    // saveEmpleados confirma cada TAMANIO_LOTE filas por separado: un lote mas grande podria fallar con parte
+    // ya guardada, y al repetirlo de a uno esas filas saldrian como duplicadas
+    private final int tamanioLote;
+
+    private final Cache<UUID, EstadoIngesta> estados;
+
+    private final List<Thread> trabajadores = new ArrayList<>();
+
+    // Lote que cada trabajador esta guardando
+    private final Map<Thread, List<Solicitud>> enCurso = new ConcurrentHashMap<>();
+
+    // encolar comprueba aceptando y hace el offer con la lectura; stop lo apaga con la escritura, asi
+    // ninguna solicitud entra a la cola despues de que stop la vacio
+    private final ReadWriteLock admision = new ReentrantReadWriteLock();
+
+    private volatile boolean aceptando;
+
+    private volatile boolean detenido = true;
+
+    record Solicitud(UUID id, Empleado empleado) {
+    }
+
+    public IngestaEmpleados(EmpleadoService empleadoService, IngestaProperties propiedades) {
+        this.empleadoService = empleadoService;
+        this.propiedades = propiedades;
+        this.cola = new ArrayBlockingQueue<>(propiedades.capacidad());
+        this.tamanioLote = Math.min(propiedades.tamanioLote(), EmpleadoServiceImpl.TAMANIO_LOTE);
+        this.estados = Caffeine.newBuilder().maximumSize(propiedades.maximoEstados()).build();
+    }
+
+    public EstadoIngesta encolar(Empleado empleado) {
+        admision.readLock().lock();
+        try {
+            if (!aceptando) {
+                throw new IngestaSaturadaException("La ingesta no esta aceptando solicitudes");
+            }
+            EstadoIngesta pendiente = EstadoIngesta.pendiente(UUID.randomUUID());
+            estados.put(pendiente.id(), pendiente);
+            if (!cola.offer(new Solicitud(pendiente.id(), empleado))) {
+                estados.invalidate(pendiente.id());
+                throw new IngestaSaturadaException("La cola de ingesta esta llena (" + propiedades.capacidad() + ")");
+            }
+            return pendiente;
+        } finally {
+            admision.readLock().unlock();
+        }
+    }
+
+    public Optional<EstadoIngesta> estado(UUID id) {
+        return Optional.ofNullable(estados.getIfPresent(id));
+    }
+
+    public int pendientes() {
+        return cola.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        detenido = false;
+        aceptando = true;
+        for (int i = 0; i < propiedades.trabajadores(); i++) {
+            Thread trabajador = new Thread(this::drenar, "ingesta-empleados-" + i);
+            trabajador.start();
+            trabajadores.add(trabajador);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        admision.writeLock().lock();
+        try {
+            aceptando = false;
+        } finally {
+            admision.writeLock().unlock();
+        }
+        detenido = true;
+        long limite = System.nanoTime() + propiedades.esperaCierre().toNanos();
+        for (Thread trabajador : trabajadores) {
+            try {
+                trabajador.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime())));
+                if (trabajador.isAlive()) {
+                    trabajador.interrupt();
+                    trabajador.join(ESPERA_INTERRUPCION_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                trabajador.interrupt();
+            }
+            if (trabajador.isAlive()) {
+                fallarEnCurso(trabajador);
+            }
+        }
+        trabajadores.clear();
+        // Lo que quedo si algun trabajador se interrumpio con la cola sin vaciar, en lotes del mismo tamanio
+        List<Solicitud> restantes = new ArrayList<>(tamanioLote);
+        while (cola.drainTo(restantes, tamanioLote) > 0) {
+            guardar(restantes);
+            restantes.clear();
+        }
+        log.info("Ingesta de empleados detenida");
+    }
+
+    // El trabajador sigue dentro de saveEmpleados y el DataSource se cierra despues de esta fase
+    private void fallarEnCurso(Thread trabajador) {
+        List<Solicitud> lote = enCurso.remove(trabajador);
+        if (lote == null) {
+            return;
+        }
+        log.warn("{} no termino de guardar {} solicitudes antes del cierre", trabajador.getName(), lote.size());
+        for (Solicitud solicitud : lote) {
+            estados.put(solicitud.id(), EstadoIngesta.error(solicitud.id(),
+                    "La ingesta se detuvo antes de confirmar la solicitud"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return !detenido;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    private void drenar() {
+        List<Solicitud> lote = new ArrayList<>(tamanioLote);
+        while (!detenido || !cola.isEmpty()) {
+            try {
+                Solicitud primera = cola.poll(propiedades.esperaLote().toMillis(), TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanioLote - 1);
+                enCurso.put(Thread.currentThread(), List.copyOf(lote));
+                guardar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                enCurso.remove(Thread.currentThread());
+                lote.clear();
+            }
+        }
+    }
+
+    // Si el lote falla entero se repite de a una solicitud, para que una fila mala no arrastre a las demas
+    private void guardar(List<Solicitud> lote) {
+        List<Empleado> empleados = new ArrayList<>(lote.size());
+        for (Solicitud solicitud : lote) {
+            empleados.add(solicitud.empleado());
+        }
+        try {
+            List<ResultadoCarga> resultados = empleadoService.saveEmpleados(empleados);
+            for (int i = 0; i < lote.size(); i++) {
+                estados.put(lote.get(i).id(), EstadoIngesta.de(lote.get(i).id(), resultados.get(i)));
+            }
+        } catch (RuntimeException e) {
+            if (lote.size() > 1) {
+                log.warn("No se pudo guardar un lote de {} empleados, se repite de a uno", lote.size(), e);
+                for (Solicitud solicitud : lote) {
+                    guardar(List.of(solicitud));
+                }
+                return;
+            }
+            Solicitud solicitud = lote.get(0);
+            if (esEmailDuplicado(e)) {
+                estados.put(solicitud.id(), EstadoIngesta.de(solicitud.id(),
+                        ResultadoCarga.duplicado(0, solicitud.empleado().getEmail())));
+            } else {
+                log.warn("No se pudo guardar el empleado de la solicitud {}", solicitud.id(), e);
+                estados.put(solicitud.id(), EstadoIngesta.error(solicitud.id(), e.getMessage()));
+            }
+        }
+    }
+
+    private static boolean esEmailDuplicado(RuntimeException e) {
+        return e instanceof EmpleadoDuplicadoException
+                || e instanceof DataIntegrityViolationException violacion && EmpleadoServiceImpl.esEmailDuplicado(violacion);
+    }
+}
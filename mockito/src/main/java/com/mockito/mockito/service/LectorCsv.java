@@ -0,0 +1,155 @@
+package com.mockito.mockito.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV (RFC 4180) que avanza registro por registro sobre un {@link Reader}: campos
+ * entre comillas con comas, comillas dobles y saltos de linea. No retiene mas que el
+ * registro actual, y ese tiene tope: un campo de mas de {@link #MAXIMO_CAMPO} caracteres o un
+ * registro de mas de {@link #MAXIMO_REGISTRO} se leen hasta el final sin guardarlos y se
+ * reportan como {@link RegistroInvalidoException}, igual que unas comillas sin cerrar.
+ */
+final class LectorCsv {
+
+    static final int MAXIMO_CAMPO = 1024;
+
+    static final int MAXIMO_REGISTRO = 8192;
+
+    private final Reader entrada;
+
+    private final StringBuilder campo = new StringBuilder();
+
+    private long linea = 1;
+
+    private long lineaRegistro;
+
+    private int devuelto = -2;
+
+    // Caracteres del registro actual, contando separadores
+    private long largo;
+
+    private int numeroCampo;
+
+    // Motivo por el que el registro actual se descarta, o null
+    private String excedido;
+
+    LectorCsv(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    /** Linea (desde 1) donde empieza el ultimo registro leido. */
+    long linea() {
+        return lineaRegistro;
+    }
+
+    /**
+     * Devuelve el siguiente registro o {@code null} al final; omite lineas vacias. Un registro
+     * invalido se consume entero antes de lanzar {@link RegistroInvalidoException}, asi que se
+     * puede seguir leyendo.
+     */
+    List<String> leer() throws IOException {
+        int c = leerCaracter();
+        while (c == '\r' || c == '\n') {
+            saltarFinDeLinea(c);
+            c = leerCaracter();
+        }
+        if (c == -1) {
+            return null;
+        }
+        lineaRegistro = linea;
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        largo = 0;
+        numeroCampo = 0;
+        excedido = null;
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new RegistroInvalidoException(lineaRegistro, "Comillas sin cerrar desde la linea " + lineaRegistro);
+                }
+                if (c == '"') {
+                    int despues = leerCaracter();
+                    if (despues == '"') {
+                        agregar('"');
+                    } else {
+                        entreComillas = false;
+                        c = despues;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linea++;
+                    }
+                    agregar((char) c);
+                }
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else if (c == ',') {
+                terminarCampo(campos);
+                contar();
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                terminarCampo(campos);
+                if (c != -1) {
+                    saltarFinDeLinea(c);
+                }
+                if (excedido != null) {
+                    throw new RegistroInvalidoException(lineaRegistro, excedido);
+                }
+                return campos;
+            } else {
+                agregar((char) c);
+            }
+            c = leerCaracter();
+        }
+    }
+
+    // Pasado un tope se sigue leyendo hasta el fin del registro, pero ya sin guardar nada
+    private void agregar(char c) {
+        contar();
+        if (excedido == null && campo.length() == MAXIMO_CAMPO) {
+            excedido = "El campo " + (numeroCampo + 1) + " supera " + MAXIMO_CAMPO + " caracteres";
+        }
+        if (excedido == null) {
+            campo.append(c);
+        }
+    }
+
+    private void contar() {
+        largo++;
+        if (excedido == null && largo > MAXIMO_REGISTRO) {
+            excedido = "El registro supera " + MAXIMO_REGISTRO + " caracteres";
+        }
+    }
+
+    private void terminarCampo(List<String> campos) {
+        if (excedido == null) {
+            campos.add(campo.toString());
+        }
+        campo.setLength(0);
+        numeroCampo++;
+    }
+
+    // Consume \n, \r o \r\n
+    private void saltarFinDeLinea(int c) throws IOException {
+        linea++;
+        if (c == '\r') {
+            int despues = leerCaracter();
+            if (despues != '\n') {
+                devuelto = despues;
+            }
+        }
+    }
+
+    private int leerCaracter() throws IOException {
+        if (devuelto != -2) {
+            int c = devuelto;
+            devuelto = -2;
+            return c;
+        }
+        return entrada.read();
+    }
+}
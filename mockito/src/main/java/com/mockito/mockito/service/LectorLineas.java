@@ -0,0 +1,59 @@
+package com.mockito.mockito.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lee lineas de un {@link Reader} como {@code BufferedReader#readLine}, pero sin pasar de
+ * {@link #MAXIMO_LINEA} caracteres: una linea mas larga se descarta hasta su fin y se reporta
+ * como {@link RegistroInvalidoException}.
+ */
+final class LectorLineas {
+
+    static final int MAXIMO_LINEA = 8192;
+
+    private final Reader entrada;
+
+    private final StringBuilder linea = new StringBuilder();
+
+    private long numero;
+
+    private boolean despuesDeCr;
+
+    LectorLineas(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    /** Numero (desde 1) de la ultima linea leida. */
+    long numero() {
+        return numero;
+    }
+
+    /** Devuelve la siguiente linea sin el fin de linea, o {@code null} al final. */
+    String leer() throws IOException {
+        linea.setLength(0);
+        boolean larga = false;
+        int c = entrada.read();
+        if (despuesDeCr && c == '\n') {
+            c = entrada.read();
+        }
+        despuesDeCr = false;
+        if (c == -1) {
+            return null;
+        }
+        numero++;
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (linea.length() < MAXIMO_LINEA) {
+                linea.append((char) c);
+            } else {
+                larga = true;
+            }
+            c = entrada.read();
+        }
+        despuesDeCr = c == '\r';
+        if (larga) {
+            throw new RegistroInvalidoException(numero, "La linea supera " + MAXIMO_LINEA + " caracteres");
+        }
+        return linea.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.mockito.mockito.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mockito.mockito.entities.CambioEmpleado;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+import com.mockito.mockito.repository.CambioEmpleadoRepository;
+import com.mockito.mockito.repository.RevisionTablaRepository;
+
+/**
+ * Escribe el outbox en la misma transaccion que la escritura (BEFORE_COMMIT). Los offsets salen de un
+ * contador en revisiones_tabla cuya fila queda bloqueada hasta el commit: quien toma el siguiente espera
+ * a que este se confirme, asi los offsets siguen el orden de commit entre todas las instancias y quien
+ * lee "id > since" no salta un cambio que se confirma mas tarde. Una secuencia no sirve: cada instancia
+ * reserva su propio bloque de valores.
+ */
+@Component
+@ConditionalOnProperty(prefix = "empleados.cambios", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RegistroCambios {
+
+    @Autowired
+    private CambioEmpleadoRepository cambioEmpleadoRepository;
+
+    @Autowired
+    private RevisionTablaRepository revisionTablaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void guardados(EmpleadosGuardadosEvent evento) {
+        Instant ahora = Instant.now();
+        List<CambioEmpleado> cambios = new ArrayList<>(evento.empleados().size());
+        for (Empleado empleado : evento.empleados()) {
+            cambios.add(new CambioEmpleado(null, CambioEmpleado.Tipo.GUARDADO, empleado.getId(), json(empleado), ahora));
+        }
+        registrar(cambios);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void modificado(EmpleadoModificadoEvent evento) {
+        registrar(List.of(new CambioEmpleado(null, CambioEmpleado.Tipo.MODIFICADO, evento.id(),
+                jsonSinNulos(evento.id(), evento.cambios()), Instant.now())));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void eliminados(EmpleadosEliminadosEvent evento) {
+        Instant ahora = Instant.now();
+        List<CambioEmpleado> cambios = new ArrayList<>(evento.ids().size());
+        for (Long id : evento.ids()) {
+            cambios.add(new CambioEmpleado(null, CambioEmpleado.Tipo.ELIMINADO, id, null, ahora));
+        }
+        registrar(cambios);
+    }
+
+    // Se une a la transaccion de la escritura; sin ella (fallbackExecution) la reserva y los INSERT van
+    // juntos en una propia, para que nadie confirme un offset mayor antes que estos
+    private void registrar(List<CambioEmpleado> cambios) {
+        if (cambios.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            revisionTablaRepository.sumar(RevisionTabla.CAMBIOS_EMPLEADOS, cambios.size(), Instant.now());
+            long offset = revisionTablaRepository.revisionDe(RevisionTabla.CAMBIOS_EMPLEADOS) - cambios.size();
+            for (CambioEmpleado cambio : cambios) {
+                cambio.setId(++offset);
+            }
+            cambioEmpleadoRepository.saveAll(cambios);
+        });
+    }
+
+    private String json(Empleado empleado) {
+        try {
+            return objectMapper.writeValueAsString(empleado);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el empleado " + empleado.getId(), e);
+        }
+    }
+
+    // Un campo nulo en el PATCH significa "sin cambio", no "se borro"
+    private String jsonSinNulos(long id, Empleado cambios) {
+        ObjectNode campos = objectMapper.valueToTree(cambios);
+        for (Iterator<Map.Entry<String, JsonNode>> it = campos.fields(); it.hasNext();) {
+            if (it.next().getValue().isNull()) {
+                it.remove();
+            }
+        }
+        campos.put("id", id);
+        return campos.toString();
+    }
+}
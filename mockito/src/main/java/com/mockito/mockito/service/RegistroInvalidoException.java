@@ -0,0 +1,24 @@
+package com.mockito.mockito.service;
+
+import java.io.IOException;
+
+/**
+ * Un registro del archivo que no se puede leer (comillas sin cerrar, campo o linea demasiado
+ * largos). El lector ya lo consumio entero, asi que la importacion lo reporta como INVALIDO y
+ * sigue con el siguiente.
+ */
+final class RegistroInvalidoException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long linea;
+
+    RegistroInvalidoException(long linea, String mensaje) {
+        super(mensaje);
+        this.linea = linea;
+    }
+
+    long linea() {
+        return linea;
+    }
+}
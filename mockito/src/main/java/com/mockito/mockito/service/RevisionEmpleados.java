@@ -0,0 +1,93 @@
+package com.mockito.mockito.service;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+import com.mockito.mockito.repository.CambioEmpleadoRepository;
+import com.mockito.mockito.repository.RevisionTablaRepository;
+
+/**
+ * Incrementa la revision de la tabla empleados dentro de la misma transaccion que la
+ * escritura (BEFORE_COMMIT), asi ningun lector ve filas nuevas con la revision vieja.
+ * Las escrituras sin transaccion propia la incrementan en una transaccion aparte.
+ * Tambien siembra el contador de offsets de {@link RegistroCambios}.
+ * No es lazy: con el perfil lazy tambien siembra la fila al arrancar.
+ */
+@Lazy(false)
+@Component
+public class RevisionEmpleados implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RevisionEmpleados.class);
+
+    @Autowired
+    private RevisionTablaRepository revisionTablaRepository;
+
+    @Autowired
+    private CambioEmpleadoRepository cambioEmpleadoRepository;
+
+    // Antes de que el servidor web acepte peticiones
+    @Override
+    public void afterSingletonsInstantiated() {
+        sembrar();
+    }
+
+    // Con sharding tambien se llama por cada shard
+    public void sembrar() {
+        sembrar(RevisionTabla.EMPLEADOS, () -> 0);
+        sembrar(RevisionTabla.CAMBIOS_EMPLEADOS, cambioEmpleadoRepository::ultimoOffset);
+    }
+
+    // Varias instancias pueden arrancar a la vez contra la misma base: la primera siembra, el resto la usa
+    private void sembrar(String tabla, LongSupplier revision) {
+        if (revisionTablaRepository.existsById(tabla)) {
+            return;
+        }
+        try {
+            revisionTablaRepository.insertar(tabla, revision.getAsLong(), Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            if (!revisionTablaRepository.existsById(tabla)) {
+                throw e;
+            }
+            log.debug("La fila de revision {} la sembro otra instancia", tabla);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void guardados(EmpleadosGuardadosEvent evento) {
+        incrementar();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void modificado(EmpleadoModificadoEvent evento) {
+        incrementar();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void eliminados(EmpleadosEliminadosEvent evento) {
+        incrementar();
+    }
+
+    private void incrementar() {
+        revisionTablaRepository.incrementar(RevisionTabla.EMPLEADOS, Instant.now());
+    }
+}
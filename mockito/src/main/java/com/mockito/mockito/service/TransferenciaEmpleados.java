@@ -0,0 +1,259 @@
+package com.mockito.mockito.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.dto.ResultadoImportacion;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.ArchivoInvalidoException;
+
+/**
+ * Importacion y exportacion masiva en CSV y NDJSON. La entrada se lee registro por
+ * registro y se guarda en lotes de {@link EmpleadoServiceImpl#TAMANIO_LOTE}, una
+ * transaccion por lote; la salida se escribe desde el cursor de
+ * {@link EmpleadoService#streamEmpleados}. En ningun caso se retiene el archivo completo.
+ * Un lote que falla no detiene la importacion: los anteriores ya se confirmaron, asi que sus
+ * filas se reportan como ERROR y se sigue con el resto del archivo. Por lo mismo un registro
+ * ilegible (comillas sin cerrar, campo o linea por encima del tope) es una fila INVALIDO y no
+ * un error de toda la peticion.
+ */
+@Service
+public class TransferenciaEmpleados {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferenciaEmpleados.class);
+
+    static final int MAXIMO_ERRORES = 1000;
+
+    static final String ENCABEZADO_CSV = "id,nombre,apellido,email";
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public ResultadoImportacion importarCsv(Reader entrada) throws IOException {
+        LectorCsv lector = new LectorCsv(entrada);
+        List<String> encabezado;
+        try {
+            encabezado = lector.leer();
+        } catch (RegistroInvalidoException e) {
+            throw new ArchivoInvalidoException("Encabezado invalido: " + e.getMessage());
+        }
+        Importacion importacion = new Importacion();
+        if (encabezado == null) {
+            return importacion.terminar();
+        }
+        int nombre = columna(encabezado, "nombre");
+        int apellido = columna(encabezado, "apellido");
+        int email = columna(encabezado, "email");
+
+        while (true) {
+            List<String> registro;
+            try {
+                registro = lector.leer();
+            } catch (RegistroInvalidoException e) {
+                importacion.rechazar(ResultadoCarga.invalido(Math.toIntExact(e.linea()), null, e.getMessage()));
+                continue;
+            }
+            if (registro == null) {
+                break;
+            }
+            int linea = Math.toIntExact(lector.linea());
+            if (registro.size() != encabezado.size()) {
+                importacion.rechazar(ResultadoCarga.invalido(linea, null,
+                        "Se esperaban " + encabezado.size() + " columnas y llegaron " + registro.size()));
+                continue;
+            }
+            importacion.agregar(linea, Empleado.builder()
+                    .nombre(registro.get(nombre))
+                    .apellido(registro.get(apellido))
+                    .email(registro.get(email))
+                    .build());
+        }
+        return importacion.terminar();
+    }
+
+    public ResultadoImportacion importarNdjson(Reader entrada) throws IOException {
+        LectorLineas lineas = new LectorLineas(entrada instanceof BufferedReader ? entrada : new BufferedReader(entrada));
+        ObjectReader lectorJson = objectMapper.readerFor(Empleado.class);
+        Importacion importacion = new Importacion();
+        while (true) {
+            String texto;
+            try {
+                texto = lineas.leer();
+            } catch (RegistroInvalidoException e) {
+                importacion.rechazar(ResultadoCarga.invalido(Math.toIntExact(e.linea()), null, e.getMessage()));
+                continue;
+            }
+            if (texto == null) {
+                break;
+            }
+            int linea = Math.toIntExact(lineas.numero());
+            if (texto.isBlank()) {
+                continue;
+            }
+            try {
+                Empleado empleado = lectorJson.readValue(texto);
+                importacion.agregar(linea, empleado);
+            } catch (JsonProcessingException e) {
+                importacion.rechazar(ResultadoCarga.invalido(linea, null, "JSON invalido: " + e.getOriginalMessage()));
+            }
+        }
+        return importacion.terminar();
+    }
+
+    public void exportarCsv(Writer salida) throws IOException {
+        salida.write(ENCABEZADO_CSV);
+        salida.write("\r\n");
+        StringBuilder linea = new StringBuilder(128);
+        empleadoService.streamEmpleados(empleado -> {
+            linea.setLength(0);
+            linea.append(empleado.getId()).append(',');
+            campoCsv(linea, empleado.getNombre()).append(',');
+            campoCsv(linea, empleado.getApellido()).append(',');
+            campoCsv(linea, empleado.getEmail()).append("\r\n");
+            try {
+                salida.append(linea);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        salida.flush();
+    }
+
+    public void exportarNdjson(OutputStream salida) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Empleado.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        empleadoService.streamEmpleados(empleado -> {
+            try {
+                writer.writeValue(generador, empleado);
+                generador.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generador.flush();
+    }
+
+    private static int columna(List<String> encabezado, String nombre) {
+        for (int i = 0; i < encabezado.size(); i++) {
+            if (encabezado.get(i).trim().equalsIgnoreCase(nombre)) {
+                return i;
+            }
+        }
+        throw new ArchivoInvalidoException("Falta la columna " + nombre + " en el encabezado");
+    }
+
+    private static StringBuilder campoCsv(StringBuilder linea, String valor) {
+        if (valor == null) {
+            return linea;
+        }
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            return linea.append(valor);
+        }
+        linea.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                linea.append('"');
+            }
+            linea.append(c);
+        }
+        return linea.append('"');
+    }
+
+    // Acumula un lote con el numero de linea de cada fila y lleva los totales del archivo
+    private final class Importacion {
+
+        private List<Empleado> lote = new ArrayList<>(EmpleadoServiceImpl.TAMANIO_LOTE);
+
+        private final int[] lineas = new int[EmpleadoServiceImpl.TAMANIO_LOTE];
+
+        private final List<ResultadoCarga> errores = new ArrayList<>();
+
+        private long filas;
+
+        private long creados;
+
+        private long rechazados;
+
+        void agregar(int linea, Empleado empleado) {
+            empleado.setId(null);
+            lineas[lote.size()] = linea;
+            lote.add(empleado);
+            filas++;
+            if (lote.size() == EmpleadoServiceImpl.TAMANIO_LOTE) {
+                guardar();
+            }
+        }
+
+        void rechazar(ResultadoCarga error) {
+            filas++;
+            registrarError(error);
+        }
+
+        private void registrarError(ResultadoCarga error) {
+            rechazados++;
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add(error);
+            }
+        }
+
+        private void guardar() {
+            List<ResultadoCarga> resultados;
+            try {
+                resultados = empleadoService.saveEmpleados(lote);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo guardar el lote de las lineas {} a {}", lineas[0], lineas[lote.size() - 1], e);
+                for (int i = 0; i < lote.size(); i++) {
+                    registrarError(ResultadoCarga.error(lineas[i], lote.get(i).getEmail(),
+                            "No se pudo guardar el lote: " + e.getMessage()));
+                }
+                lote = new ArrayList<>(EmpleadoServiceImpl.TAMANIO_LOTE);
+                return;
+            }
+            for (int i = 0; i < resultados.size(); i++) {
+                ResultadoCarga resultado = resultados.get(i);
+                if (resultado.estado() == ResultadoCarga.Estado.CREADO) {
+                    creados++;
+                } else {
+                    registrarError(new ResultadoCarga(lineas[i], resultado.id(), resultado.email(), resultado.estado(), resultado.mensaje()));
+                }
+            }
+            lote = new ArrayList<>(EmpleadoServiceImpl.TAMANIO_LOTE);
+        }
+
+        ResultadoImportacion terminar() {
+            if (!lote.isEmpty()) {
+                guardar();
+            }
+            return new ResultadoImportacion(filas, creados, rechazados, errores, rechazados - errores.size());
+        }
+    }
+}
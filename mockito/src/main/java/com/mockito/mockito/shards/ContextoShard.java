@@ -0,0 +1,40 @@
+package com.mockito.mockito.shards;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Shard del hilo actual para {@link DataSourceShards} y {@link GeneradorIdEmpleado}. Se fija antes de abrir
+ * la transaccion: una transaccion ya abierta tiene su conexion y no cambiaria de base.
+ */
+public final class ContextoShard {
+
+    private static final ThreadLocal<Integer> ACTUAL = new ThreadLocal<>();
+
+    private ContextoShard() {
+    }
+
+    /** El shard fijado o {@code null}, que corresponde a la base global. */
+    public static Integer actual() {
+        return ACTUAL.get();
+    }
+
+    public static <T> T en(int shard, Supplier<T> tarea) {
+        Integer anterior = ACTUAL.get();
+        if (!Objects.equals(anterior, shard) && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("No se puede cambiar al shard " + shard + " dentro de una transaccion abierta");
+        }
+        ACTUAL.set(shard);
+        try {
+            return tarea.get();
+        } finally {
+            if (anterior == null) {
+                ACTUAL.remove();
+            } else {
+                ACTUAL.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mockito.mockito.shards;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Entrega conexiones del shard fijado en {@link ContextoShard}; sin shard, de la base global
+ * (directorio, particiones, y el outbox y la revision que no pertenecen a ningun shard).
+ */
+public class DataSourceShards extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public DataSourceShards(DataSource global, List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < this.shards.size(); i++) {
+            destinos.put(i, this.shards.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(global);
+        setLenientFallback(false);
+    }
+
+    public int cantidad() {
+        return shards.size();
+    }
+
+    public DataSource shard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoShard.actual();
+    }
+
+    /** Cierra los pools de los shards; la base global es su propio bean. */
+    @Override
+    public void close() {
+        for (DataSource shard : shards) {
+            if (shard instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mockito.mockito.shards;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Email -> shard en la base global: getEmpleadoByEmail consulta un solo shard y la unicidad del
+ * email se cumple entre shards. La reserva se hace antes de escribir en el shard y se libera si la
+ * escritura falla; la clave primaria resuelve dos reservas simultaneas del mismo email.
+ * Las escrituras van en transaccion propia: el pool puede tener auto-commit desactivado.
+ */
+public class DirectorioEmails {
+
+    private static final int LOTE = 500;
+
+    private final JdbcTemplate global;
+
+    private final NamedParameterJdbcTemplate consultas;
+
+    private final TransactionTemplate transacciones;
+
+    public DirectorioEmails(JdbcTemplate global) {
+        this.global = global;
+        this.consultas = new NamedParameterJdbcTemplate(global);
+        this.transacciones = new TransactionTemplate(new DataSourceTransactionManager(global.getDataSource()));
+    }
+
+    void inicializar() {
+        transacciones.executeWithoutResult(estado -> global.execute("create table if not exists directorio_emails (email varchar(255) primary key, shard int not null)"));
+    }
+
+    public Integer shardDe(String email) {
+        List<Integer> shards = global.queryForList("select shard from directorio_emails where email = ?", Integer.class, email);
+        return shards.isEmpty() ? null : shards.get(0);
+    }
+
+    /** {@code false} si el email ya pertenece a un empleado. */
+    public boolean reservar(String email, int shard) {
+        try {
+            transacciones.executeWithoutResult(estado ->
+                    global.update("insert into directorio_emails (email, shard) values (?, ?)", email, shard));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reserva cada email en su shard y devuelve los que ya estaban tomados. Los existentes se descartan
+     * con un "in (...)" por lote; si otro proceso gana alguno entre la consulta y el insert, ese lote se
+     * reserva de a uno.
+     */
+    public Set<String> reservarTodos(Map<String, Integer> shardPorEmail) {
+        Set<String> tomados = new HashSet<>();
+        List<String> emails = new ArrayList<>(shardPorEmail.keySet());
+        for (int inicio = 0; inicio < emails.size(); inicio += LOTE) {
+            List<String> lote = emails.subList(inicio, Math.min(inicio + LOTE, emails.size()));
+            Set<String> existentes = new HashSet<>(consultas.queryForList(
+                    "select email from directorio_emails where email in (:emails)",
+                    new MapSqlParameterSource("emails", lote), String.class));
+            tomados.addAll(existentes);
+            List<Object[]> filas = new ArrayList<>(lote.size());
+            for (String email : lote) {
+                if (!existentes.contains(email)) {
+                    filas.add(new Object[] { email, shardPorEmail.get(email) });
+                }
+            }
+            try {
+                transacciones.executeWithoutResult(estado ->
+                        global.batchUpdate("insert into directorio_emails (email, shard) values (?, ?)", filas));
+            } catch (DuplicateKeyException e) {
+                for (Object[] fila : filas) {
+                    if (!reservar((String) fila[0], (Integer) fila[1])) {
+                        tomados.add((String) fila[0]);
+                    }
+                }
+            }
+        }
+        return tomados;
+    }
+
+    public void liberar(String email, int shard) {
+        transacciones.executeWithoutResult(estado ->
+                global.update("delete from directorio_emails where email = ? and shard = ?", email, shard));
+    }
+
+    public void liberarTodos(Collection<String> emails, int shard) {
+        List<Object[]> filas = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            filas.add(new Object[] { email, shard });
+        }
+        transacciones.executeWithoutResult(estado ->
+                global.batchUpdate("delete from directorio_emails where email = ? and shard = ?", filas));
+    }
+
+    void mover(Collection<String> emails, int destino) {
+        List<Object[]> filas = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            filas.add(new Object[] { destino, email });
+        }
+        transacciones.executeWithoutResult(estado ->
+                global.batchUpdate("update directorio_emails set shard = ? where email = ?", filas));
+    }
+}
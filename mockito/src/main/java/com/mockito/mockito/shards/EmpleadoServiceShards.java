@@ -0,0 +1,408 @@
+package com.mockito.mockito.shards;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.service.EmpleadoService;
+
+/**
+ * EmpleadoService sobre varios shards. Cada operacion corre el servicio de siempre ({@code delegado})
+ * con el shard fijado en {@link ContextoShard}:
+ * <ul>
+ * <li>por id: el shard sale de la particion del id ({@link MapaShards});</li>
+ * <li>por email: el shard sale de {@link DirectorioEmails}, que tambien hace cumplir el email unico entre shards;</li>
+ * <li>listados y busquedas: la misma consulta en todos los shards en paralelo, mezclando por el orden pedido.</li>
+ * </ul>
+ * Las cargas por lote y los borrados multiples se reparten por shard y no son atomicos entre shards.
+ */
+public class EmpleadoServiceShards implements EmpleadoService, AutoCloseable {
+
+    private final EmpleadoService delegado;
+
+    private final MapaShards mapa;
+
+    private final DirectorioEmails directorio;
+
+    private final ExecutorService consultas;
+
+    public EmpleadoServiceShards(EmpleadoService delegado, MapaShards mapa, DirectorioEmails directorio) {
+        this.delegado = delegado;
+        this.mapa = mapa;
+        this.directorio = directorio;
+        AtomicInteger hilos = new AtomicInteger();
+        this.consultas = Executors.newFixedThreadPool(mapa.shards() * 2, tarea -> {
+            Thread hilo = new Thread(tarea, "shards-consulta-" + hilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @Override
+    public Empleado saveEmpleado(Empleado empleado) {
+        int shard = mapa.shardParaNuevo();
+        String email = empleado.getEmail();
+        if (email != null && !directorio.reservar(email, shard)) {
+            throw new EmpleadoDuplicadoException(email);
+        }
+        try {
+            return ContextoShard.en(shard, () -> delegado.saveEmpleado(empleado));
+        } catch (RuntimeException e) {
+            if (email != null) {
+                directorio.liberar(email, shard);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ResultadoCarga> saveEmpleados(List<Empleado> empleados) {
+        ResultadoCarga[] resultados = new ResultadoCarga[empleados.size()];
+        Map<String, Integer> shardPorEmail = new HashMap<>();
+        int[] shardDeFila = new int[empleados.size()];
+        for (int fila = 0; fila < empleados.size(); fila++) {
+            shardDeFila[fila] = mapa.shardParaNuevo();
+            String email = empleados.get(fila).getEmail();
+            if (email != null && !email.isBlank()) {
+                shardPorEmail.putIfAbsent(email, shardDeFila[fila]);
+            }
+        }
+        Set<String> tomados = directorio.reservarTodos(shardPorEmail);
+
+        // Filas por shard; la primera aparicion de un email va a su shard reservado, las repetidas se rechazan
+        Map<Integer, List<Integer>> filasPorShard = new TreeMap<>();
+        Set<String> vistos = new HashSet<>();
+        for (int fila = 0; fila < empleados.size(); fila++) {
+            String email = empleados.get(fila).getEmail();
+            int shard = shardDeFila[fila];
+            if (email != null && shardPorEmail.containsKey(email)) {
+                if (tomados.contains(email) || !vistos.add(email)) {
+                    resultados[fila] = ResultadoCarga.duplicado(fila, email);
+                    continue;
+                }
+                shard = shardPorEmail.get(email);
+            }
+            filasPorShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(fila);
+        }
+
+        Map<Integer, List<ResultadoCarga>> porShard = porShard(filasPorShard, (shard, filas) -> {
+            List<Empleado> lote = new ArrayList<>(filas.size());
+            filas.forEach(fila -> lote.add(empleados.get(fila)));
+            try {
+                return delegado.saveEmpleados(lote);
+            } catch (RuntimeException e) {
+                directorio.liberarTodos(emailsReservados(lote, shardPorEmail, shard), shard);
+                throw e;
+            }
+        });
+        porShard.forEach((shard, resultadosShard) -> {
+            List<Integer> filas = filasPorShard.get(shard);
+            List<String> sinCrear = new ArrayList<>();
+            for (ResultadoCarga resultado : resultadosShard) {
+                int fila = filas.get(resultado.fila());
+                resultados[fila] = new ResultadoCarga(fila, resultado.id(), resultado.email(), resultado.estado(), resultado.mensaje());
+                if (resultado.estado() != ResultadoCarga.Estado.CREADO && resultado.email() != null
+                        && Integer.valueOf(shard).equals(shardPorEmail.get(resultado.email()))
+                        && !tomados.contains(resultado.email())) {
+                    sinCrear.add(resultado.email());
+                }
+            }
+            if (!sinCrear.isEmpty()) {
+                directorio.liberarTodos(sinCrear, shard);
+            }
+        });
+        return List.of(resultados);
+    }
+
+    private static List<String> emailsReservados(List<Empleado> lote, Map<String, Integer> shardPorEmail, int shard) {
+        List<String> emails = new ArrayList<>();
+        for (Empleado empleado : lote) {
+            if (empleado.getEmail() != null && Integer.valueOf(shard).equals(shardPorEmail.get(empleado.getEmail()))) {
+                emails.add(empleado.getEmail());
+            }
+        }
+        return emails;
+    }
+
+    @Override
+    public List<Empleado> getAllEmpleados() {
+        return mezclar(enCadaShard(shard -> delegado.getAllEmpleados()), Comparator.comparing(Empleado::getId),
+                Empleado::getId, Integer.MAX_VALUE);
+    }
+
+    // Cada shard devuelve sus primeras "limit" filas despues de afterId; entre todas estan las primeras globales
+    @Override
+    public List<Empleado> getEmpleadosAfter(long afterId, int limit) {
+        return mezclar(enCadaShard(shard -> delegado.getEmpleadosAfter(afterId, limit)),
+                Comparator.comparing(Empleado::getId), Empleado::getId, limit);
+    }
+
+    @Override
+    public List<EmpleadoResumen> getResumenEmpleadosAfter(long afterId, int limit, Set<String> campos) {
+        return mezclar(enCadaShard(shard -> delegado.getResumenEmpleadosAfter(afterId, limit, campos)),
+                Comparator.comparing(EmpleadoResumen::id), EmpleadoResumen::id, limit);
+    }
+
+    // Shard por shard: el consumidor recibe las filas de cada uno en orden de id, no en orden global
+    @Override
+    public void streamEmpleados(Consumer<Empleado> consumidor) {
+        for (int shard = 0; shard < mapa.shards(); shard++) {
+            ContextoShard.en(shard, () -> {
+                delegado.streamEmpleados(consumidor);
+                return null;
+            });
+        }
+    }
+
+    // Cada shard aporta sus primeras tamanio + 1 filas despues del cursor; entre todas estan las primeras globales
+    @Override
+    public Slice<Empleado> searchEmpleados(FiltroEmpleado filtro, CursorBusqueda despuesDe, Pageable pageable) {
+        Sort orden = pageable.getSortOr(Sort.by("id"));
+        int tamanio = pageable.getPageSize();
+        List<Empleado> filas = mezclar(
+                enCadaShard(shard -> delegado.searchEmpleados(filtro, despuesDe, PageRequest.of(0, tamanio + 1, orden)).getContent()),
+                comparador(orden), Empleado::getId, tamanio + 1);
+        boolean haySiguiente = filas.size() > tamanio;
+        List<Empleado> contenido = filas.subList(0, Math.min(tamanio, filas.size()));
+        return new SliceImpl<>(new ArrayList<>(contenido), pageable, haySiguiente);
+    }
+
+    @Override
+    public Optional<Empleado> getEmpleadoById(long id) {
+        return ContextoShard.en(mapa.shardDe(id), () -> delegado.getEmpleadoById(id));
+    }
+
+    @Override
+    public List<Empleado> getEmpleadosByIds(Collection<Long> ids) {
+        List<Long> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Empleado> encontrados = new HashMap<>();
+        porShard(agruparPorShard(unicos), (shard, idsShard) -> delegado.getEmpleadosByIds(idsShard))
+                .values().forEach(empleados -> empleados.forEach(empleado -> encontrados.put(empleado.getId(), empleado)));
+        List<Empleado> empleados = new ArrayList<>(encontrados.size());
+        for (Long id : unicos) {
+            Empleado empleado = encontrados.get(id);
+            if (empleado != null) {
+                empleados.add(empleado);
+            }
+        }
+        return empleados;
+    }
+
+    @Override
+    public Optional<Empleado> getEmpleadoByEmail(String email) {
+        Integer shard = directorio.shardDe(email);
+        return shard == null ? Optional.empty() : ContextoShard.en(shard, () -> delegado.getEmpleadoByEmail(email));
+    }
+
+    @Override
+    public Empleado updateEmpleado(Empleado empleadoActualizado) {
+        if (empleadoActualizado.getId() == null) {
+            return saveEmpleado(empleadoActualizado);
+        }
+        long id = empleadoActualizado.getId();
+        mapa.verificarEscritura(id);
+        int shard = mapa.shardDe(id);
+        String anterior = ContextoShard.en(shard, () -> delegado.getEmpleadoById(id)).map(Empleado::getEmail).orElse(null);
+        return cambiarEmail(shard, anterior, empleadoActualizado.getEmail(),
+                () -> ContextoShard.en(shard, () -> delegado.updateEmpleado(empleadoActualizado)), guardado -> true);
+    }
+
+    @Override
+    public Optional<Long> patchEmpleado(long id, Empleado cambios, Long versionEsperada) {
+        mapa.verificarEscritura(id);
+        int shard = mapa.shardDe(id);
+        String anterior = cambios.getEmail() == null ? null
+                : ContextoShard.en(shard, () -> delegado.getEmpleadoById(id)).map(Empleado::getEmail).orElse(null);
+        return cambiarEmail(shard, anterior, cambios.getEmail(),
+                () -> ContextoShard.en(shard, () -> delegado.patchEmpleado(id, cambios, versionEsperada)), Optional::isPresent);
+    }
+
+    // Reserva el email nuevo antes de escribir; al confirmar libera el anterior, si falla libera el nuevo
+    private <T> T cambiarEmail(int shard, String anterior, String nuevo, Supplier<T> escritura, Predicate<T> aplicado) {
+        boolean cambia = nuevo != null && anterior != null && !nuevo.equals(anterior);
+        if (cambia && !directorio.reservar(nuevo, shard)) {
+            throw new EmpleadoDuplicadoException(nuevo);
+        }
+        T resultado;
+        try {
+            resultado = escritura.get();
+        } catch (RuntimeException e) {
+            if (cambia) {
+                directorio.liberar(nuevo, shard);
+            }
+            throw e;
+        }
+        if (cambia) {
+            directorio.liberar(aplicado.test(resultado) ? anterior : nuevo, shard);
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean deleteEmpleado(long id) {
+        mapa.verificarEscritura(id);
+        int shard = mapa.shardDe(id);
+        return ContextoShard.en(shard, () -> {
+            Optional<Empleado> actual = delegado.getEmpleadoById(id);
+            boolean eliminado = delegado.deleteEmpleado(id);
+            if (eliminado) {
+                actual.ifPresent(empleado -> directorio.liberar(empleado.getEmail(), shard));
+            }
+            return eliminado;
+        });
+    }
+
+    @Override
+    public int deleteEmpleados(Collection<Long> ids) {
+        List<Long> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        unicos.forEach(mapa::verificarEscritura);
+        return porShard(agruparPorShard(unicos), (shard, idsShard) -> {
+            List<String> emails = delegado.getEmpleadosByIds(idsShard).stream().map(Empleado::getEmail).toList();
+            int eliminados = delegado.deleteEmpleados(idsShard);
+            directorio.liberarTodos(emails, shard);
+            return eliminados;
+        }).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    // Cada shard lleva su propia revision; la suma cambia con cualquier escritura en cualquiera
+    @Override
+    public RevisionTabla getRevisionEmpleados() {
+        long revision = 0;
+        Instant modificado = Instant.EPOCH;
+        for (RevisionTabla shard : enCadaShard(shard -> delegado.getRevisionEmpleados())) {
+            revision += shard.getRevision();
+            if (shard.getModificado().isAfter(modificado)) {
+                modificado = shard.getModificado();
+            }
+        }
+        return new RevisionTabla(RevisionTabla.EMPLEADOS, revision, modificado);
+    }
+
+    private Map<Integer, List<Long>> agruparPorShard(List<Long> ids) {
+        Map<Integer, List<Long>> porShard = new TreeMap<>();
+        for (Long id : ids) {
+            porShard.computeIfAbsent(mapa.shardDe(id), shard -> new ArrayList<>()).add(id);
+        }
+        return porShard;
+    }
+
+    private <T> List<T> enCadaShard(IntFunction<T> consulta) {
+        List<CompletableFuture<T>> futuros = new ArrayList<>(mapa.shards());
+        for (int shard = 0; shard < mapa.shards(); shard++) {
+            int actual = shard;
+            futuros.add(CompletableFuture.supplyAsync(() -> ContextoShard.en(actual, () -> consulta.apply(actual)), consultas));
+        }
+        List<T> resultados = new ArrayList<>(futuros.size());
+        for (CompletableFuture<T> futuro : futuros) {
+            resultados.add(esperar(futuro));
+        }
+        return resultados;
+    }
+
+    private <K, T> Map<Integer, T> porShard(Map<Integer, List<K>> grupos, BiFunction<Integer, List<K>, T> tarea) {
+        Map<Integer, CompletableFuture<T>> futuros = new TreeMap<>();
+        grupos.forEach((shard, grupo) -> futuros.put(shard,
+                CompletableFuture.supplyAsync(() -> ContextoShard.en(shard, () -> tarea.apply(shard, grupo)), consultas)));
+        Map<Integer, T> resultados = new TreeMap<>();
+        // Se espera a todos antes de propagar un error: ningun shard queda escribiendo detras de la respuesta
+        RuntimeException error = null;
+        for (Map.Entry<Integer, CompletableFuture<T>> futuro : futuros.entrySet()) {
+            try {
+                resultados.put(futuro.getKey(), esperar(futuro.getValue()));
+            } catch (RuntimeException e) {
+                error = error == null ? e : error;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return resultados;
+    }
+
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Tras una migracion interrumpida una fila puede quedar en dos shards: se conserva una
+    private static <T> List<T> mezclar(List<List<T>> porShard, Comparator<T> orden, ToLongFunction<T> id, int limite) {
+        List<T> todas = new ArrayList<>();
+        porShard.forEach(todas::addAll);
+        todas.sort(orden);
+        List<T> mezcla = new ArrayList<>(Math.min(todas.size(), limite));
+        Set<Long> vistos = new HashSet<>();
+        for (T fila : todas) {
+            if (mezcla.size() == limite) {
+                break;
+            }
+            if (vistos.add(id.applyAsLong(fila))) {
+                mezcla.add(fila);
+            }
+        }
+        return mezcla;
+    }
+
+    // El mismo orden que la consulta de cada shard, con el id como desempate
+    private static Comparator<Empleado> comparador(Sort orden) {
+        Comparator<Empleado> comparador = (a, b) -> 0;
+        for (Sort.Order campo : orden) {
+            Comparator<Empleado> porCampo = Comparator.comparing(empleado -> valor(empleado, campo.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparador = comparador.thenComparing(campo.isAscending() ? porCampo : porCampo.reversed());
+        }
+        if (orden.getOrderFor("id") == null) {
+            comparador = comparador.thenComparing(Empleado::getId);
+        }
+        return comparador;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> valor(Empleado empleado, String propiedad) {
+        return (Comparable<Object>) new BeanWrapperImpl(empleado).getPropertyValue(propiedad);
+    }
+
+    @Override
+    public void close() {
+        consultas.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package com.mockito.mockito.shards;
+
+import java.util.function.IntToLongFunction;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Generador del id de {@code Empleado}: la secuencia de siempre, salvo que haya sharding y un shard fijado
+ * en {@link ContextoShard}; ahi el id viene de {@link GeneradorIds} con una particion de ese shard.
+ * Hibernate crea la instancia, por eso el generador de ids se instala de forma estatica al arrancar.
+ */
+public class GeneradorIdEmpleado extends GeneradorSecuenciaShards {
+
+    private static volatile IntToLongFunction idsPorShard;
+
+    public static void instalar(IntToLongFunction generador) {
+        idsPorShard = generador;
+    }
+
+    public static void desinstalar() {
+        idsPorShard = null;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object objeto) {
+        Integer shard = ContextoShard.actual();
+        IntToLongFunction generador = idsPorShard;
+        if (shard == null || generador == null) {
+            return super.generate(session, objeto);
+        }
+        return generador.applyAsLong(shard);
+    }
+}
@@ -0,0 +1,73 @@
+package com.mockito.mockito.shards;
+
+import java.time.Instant;
+
+/**
+ * Ids globales de 63 bits ordenados por tiempo, sin coordinacion entre instancias:
+ * 41 bits de milisegundos desde {@link #EPOCA}, 10 de particion, 5 de nodo y 7 de secuencia.
+ * La particion va en el id, asi el shard de una fila sale del id sin consultar nada.
+ * <p>
+ * El orden es por milisegundo: dentro del mismo, una particion menor da un id menor aunque se genere despues.
+ * Si el reloj retrocede, o se agotan las 128 secuencias de un milisegundo, el generador sigue desde el
+ * ultimo milisegundo usado en lugar de esperar: los ids de un nodo nunca se repiten.
+ */
+public class GeneradorIds {
+
+    public static final Instant EPOCA = Instant.parse("2024-01-01T00:00:00Z");
+
+    public static final int BITS_PARTICION = 10;
+
+    public static final int PARTICIONES = 1 << BITS_PARTICION;
+
+    static final int BITS_NODO = 5;
+
+    static final int BITS_SECUENCIA = 7;
+
+    public static final int NODOS = 1 << BITS_NODO;
+
+    /** Divisor para extraer la particion en SQL: {@code mod(id / DIVISOR_PARTICION, PARTICIONES)}. */
+    public static final long DIVISOR_PARTICION = 1L << (BITS_NODO + BITS_SECUENCIA);
+
+    private static final int MAXIMA_SECUENCIA = (1 << BITS_SECUENCIA) - 1;
+
+    private final int nodo;
+
+    private long ultimoMilisegundo = -1;
+
+    private int secuencia;
+
+    public GeneradorIds(int nodo) {
+        if (nodo < 0 || nodo >= NODOS) {
+            throw new IllegalArgumentException("El nodo debe estar entre 0 y " + (NODOS - 1) + ": " + nodo);
+        }
+        this.nodo = nodo;
+    }
+
+    public long siguiente(int particion) {
+        long milisegundo;
+        int valor;
+        synchronized (this) {
+            milisegundo = Math.max(System.currentTimeMillis() - EPOCA.toEpochMilli(), ultimoMilisegundo);
+            if (milisegundo == ultimoMilisegundo) {
+                if (secuencia == MAXIMA_SECUENCIA) {
+                    milisegundo++;
+                    secuencia = 0;
+                } else {
+                    secuencia++;
+                }
+            } else {
+                secuencia = 0;
+            }
+            ultimoMilisegundo = milisegundo;
+            valor = secuencia;
+        }
+        return milisegundo << (BITS_PARTICION + BITS_NODO + BITS_SECUENCIA)
+                | (long) particion << (BITS_NODO + BITS_SECUENCIA)
+                | (long) nodo << BITS_SECUENCIA
+                | valor;
+    }
+
+    public static int particionDe(long id) {
+        return (int) ((id / DIVISOR_PARTICION) % PARTICIONES);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mockito.mockito.shards;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Secuencia con un optimizador por shard: cada base tiene su propia secuencia y un bloque de valores
+ * pedido a un shard no se puede usar en otro. Sin shard fijado es el generador de siempre.
+ */
+public class GeneradorSecuenciaShards extends SequenceStyleGenerator {
+
+    private final Map<Integer, Optimizer> optimizadores = new ConcurrentHashMap<>();
+
+    private String tipoOptimizador;
+
+    private Class<?> tipoId;
+
+    private long valorInicial;
+
+    @Override
+    public void configure(Type type, Properties parametros, ServiceRegistry serviceRegistry) {
+        super.configure(type, parametros, serviceRegistry);
+        tipoId = type.getReturnedClass();
+        tipoOptimizador = ConfigurationHelper.getString(OPT_PARAM, parametros,
+                OptimizerFactory.determineImplicitOptimizerName(getOptimizer().getIncrementSize(), parametros));
+        valorInicial = ConfigurationHelper.getInt(INITIAL_PARAM, parametros, -1);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object objeto) {
+        Integer shard = ContextoShard.actual();
+        if (shard == null) {
+            return super.generate(session, objeto);
+        }
+        return optimizadores.computeIfAbsent(shard, s -> OptimizerFactory.buildOptimizer(tipoOptimizador, tipoId,
+                getOptimizer().getIncrementSize(), valorInicial)).generate(getDatabaseStructure().buildCallback(session));
+    }
+}
@@ -0,0 +1,168 @@
+package com.mockito.mockito.shards;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mockito.mockito.exceptions.ShardEnMigracionException;
+
+/**
+ * Duenio de cada una de las {@link GeneradorIds#PARTICIONES} particiones, guardado en la tabla
+ * {@code particiones_shard} de la base global. Al crearla se reparten en orden (particion % shards);
+ * {@link MigradorShards} las mueve. Cada instancia relee la tabla cuando su copia tiene mas de
+ * {@code refresco}, asi ve los movimientos y bloqueos que hizo otra.
+ */
+public class MapaShards {
+
+    private final JdbcTemplate global;
+
+    private final TransactionTemplate transacciones;
+
+    private final int shards;
+
+    private final long refresco;
+
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    private volatile Estado estado;
+
+    private record Estado(int[] duenos, boolean[] bloqueadas, int[][] libresPorShard, int[] libres, long cargado) {
+    }
+
+    public MapaShards(JdbcTemplate global, int shards, Duration refresco) {
+        this.global = global;
+        this.transacciones = new TransactionTemplate(new DataSourceTransactionManager(global.getDataSource()));
+        this.shards = shards;
+        this.refresco = refresco.toNanos();
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public Duration refresco() {
+        return Duration.ofNanos(refresco);
+    }
+
+    void inicializar() {
+        transacciones.executeWithoutResult(estado -> {
+            global.execute("create table if not exists particiones_shard ("
+                    + "particion int primary key, shard int not null, bloqueada boolean default false not null)");
+            Integer existentes = global.queryForObject("select count(*) from particiones_shard", Integer.class);
+            if (existentes == null || existentes == 0) {
+                List<Object[]> filas = new ArrayList<>(GeneradorIds.PARTICIONES);
+                for (int particion = 0; particion < GeneradorIds.PARTICIONES; particion++) {
+                    filas.add(new Object[] { particion, particion % shards });
+                }
+                global.batchUpdate("insert into particiones_shard (particion, shard) values (?, ?)", filas);
+            }
+        });
+        cargar();
+    }
+
+    public int shardDe(long id) {
+        return vigente().duenos()[GeneradorIds.particionDe(id)];
+    }
+
+    public int duenoDe(int particion) {
+        return vigente().duenos()[particion];
+    }
+
+    /** Rechaza escrituras sobre filas existentes de una particion que se esta moviendo. */
+    public void verificarEscritura(long id) {
+        if (vigente().bloqueadas()[GeneradorIds.particionDe(id)]) {
+            throw new ShardEnMigracionException("El empleado " + id + " esta en una particion que se esta moviendo de shard");
+        }
+    }
+
+    /** Shard para una fila nueva: el duenio de una particion al azar, en proporcion a cuantas tiene cada uno. */
+    public int shardParaNuevo() {
+        Estado actual = vigente();
+        if (actual.libres().length == 0) {
+            throw new ShardEnMigracionException("Todas las particiones se estan moviendo de shard");
+        }
+        return actual.duenos()[actual.libres()[ThreadLocalRandom.current().nextInt(actual.libres().length)]];
+    }
+
+    /** Particion al azar de {@code shard} que no se este moviendo, para el id de una fila nueva. */
+    public int particionPara(int shard) {
+        int[] libres = vigente().libresPorShard()[shard];
+        if (libres.length == 0) {
+            throw new IllegalStateException("El shard " + shard + " no tiene particiones disponibles");
+        }
+        return libres[ThreadLocalRandom.current().nextInt(libres.length)];
+    }
+
+    public int[] particionesPorShard() {
+        int[] cantidades = new int[shards];
+        for (int dueno : vigente().duenos()) {
+            cantidades[dueno]++;
+        }
+        return cantidades;
+    }
+
+    void bloquear(int desde, int hasta, boolean bloqueada) {
+        transacciones.executeWithoutResult(estado -> global.update(
+                "update particiones_shard set bloqueada = ? where particion >= ? and particion < ?", bloqueada, desde, hasta));
+        cargar();
+    }
+
+    void asignar(List<Integer> particiones, int destino) {
+        List<Object[]> filas = new ArrayList<>(particiones.size());
+        for (Integer particion : particiones) {
+            filas.add(new Object[] { destino, particion });
+        }
+        transacciones.executeWithoutResult(estado ->
+                global.batchUpdate("update particiones_shard set shard = ? where particion = ?", filas));
+        cargar();
+    }
+
+    private Estado vigente() {
+        Estado actual = estado;
+        if (System.nanoTime() - actual.cargado() > refresco && recarga.tryLock()) {
+            try {
+                cargar();
+            } finally {
+                recarga.unlock();
+            }
+            actual = estado;
+        }
+        return actual;
+    }
+
+    private void cargar() {
+        int[] duenos = new int[GeneradorIds.PARTICIONES];
+        boolean[] bloqueadas = new boolean[GeneradorIds.PARTICIONES];
+        global.query("select particion, shard, bloqueada from particiones_shard", fila -> {
+            duenos[fila.getInt(1)] = fila.getInt(2);
+            bloqueadas[fila.getInt(1)] = fila.getBoolean(3);
+        });
+        List<List<Integer>> porShard = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            porShard.add(new ArrayList<>());
+        }
+        List<Integer> libres = new ArrayList<>();
+        for (int particion = 0; particion < GeneradorIds.PARTICIONES; particion++) {
+            if (duenos[particion] >= shards) {
+                throw new IllegalStateException("La particion " + particion + " es del shard " + duenos[particion]
+                        + " pero solo hay " + shards + " configurados");
+            }
+            if (!bloqueadas[particion]) {
+                porShard.get(duenos[particion]).add(particion);
+                libres.add(particion);
+            }
+        }
+        int[][] libresPorShard = new int[shards][];
+        for (int shard = 0; shard < shards; shard++) {
+            libresPorShard[shard] = porShard.get(shard).stream().mapToInt(Integer::intValue).toArray();
+        }
+        estado = new Estado(duenos, bloqueadas, libresPorShard, libres.stream().mapToInt(Integer::intValue).toArray(),
+                System.nanoTime());
+    }
+}
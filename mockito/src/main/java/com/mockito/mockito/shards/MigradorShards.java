@@ -0,0 +1,272 @@
+package com.mockito.mockito.shards;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mockito.mockito.dto.EstadoShard;
+import com.mockito.mockito.dto.ResultadoMigracion;
+
+/**
+ * Mueve las particiones [desde, hasta) a otro shard con las filas que contienen:
+ * <ol>
+ * <li>bloquea las particiones y espera un refresco del mapa: ninguna instancia escribe en ellas;</li>
+ * <li>copia las filas al destino en lotes por id, y el directorio de emails;</li>
+ * <li>cambia el duenio de las particiones y espera otro refresco: todas leen del destino;</li>
+ * <li>en una transaccion del origen bloquea sus filas con {@code for update}, lleva al destino lo que
+ * cambio desde la copia, las borra y desbloquea.</li>
+ * </ol>
+ * Los refrescos no alcanzan por si solos: una escritura que paso {@link MapaShards#verificarEscritura}
+ * (o eligio la particion) con el mapa viejo puede confirmarse en el origen despues de la copia. El paso 4
+ * compara por id y version, asi esas escrituras llegan al destino en lugar de borrarse; las que intentan
+ * despues quedan esperando el bloqueo y ya no encuentran la fila. Si aun asi aparecen filas nuevas en el
+ * origen se repite hasta {@link #REPASOS} veces.
+ * Si falla antes del paso 3 se puede repetir: la copia empieza borrando lo que quedo en el destino.
+ * Las lecturas siguen funcionando durante todo el movimiento.
+ */
+public class MigradorShards {
+
+    private static final Logger log = LoggerFactory.getLogger(MigradorShards.class);
+
+    private static final int LOTE = 500;
+
+    static final int REPASOS = 3;
+
+    private static final String COLUMNAS = "id, nombre, apellido, email, version, ultima_modificacion, email_dominio";
+
+    private static final String EN_PARTICIONES = "mod(id / :divisor, :particiones) in (:lista)";
+
+    private final DataSourceShards shards;
+
+    private final MapaShards mapa;
+
+    private final DirectorioEmails directorio;
+
+    private final ReentrantLock enCurso = new ReentrantLock();
+
+    public MigradorShards(DataSourceShards shards, MapaShards mapa, DirectorioEmails directorio) {
+        this.shards = shards;
+        this.mapa = mapa;
+        this.directorio = directorio;
+    }
+
+    public int shards() {
+        return mapa.shards();
+    }
+
+    public List<EstadoShard> estado() {
+        int[] particiones = mapa.particionesPorShard();
+        List<EstadoShard> estado = new ArrayList<>(particiones.length);
+        for (int shard = 0; shard < particiones.length; shard++) {
+            Long filas = new JdbcTemplate(shards.shard(shard)).queryForObject("select count(*) from empleados", Long.class);
+            estado.add(new EstadoShard(shard, particiones[shard], filas != null ? filas : 0));
+        }
+        return estado;
+    }
+
+    public ResultadoMigracion mover(int desde, int hasta, int destino) {
+        if (desde < 0 || hasta > GeneradorIds.PARTICIONES || desde >= hasta) {
+            throw new IllegalArgumentException("El rango de particiones debe estar dentro de [0, "
+                    + GeneradorIds.PARTICIONES + "): [" + desde + ", " + hasta + ")");
+        }
+        if (destino < 0 || destino >= mapa.shards()) {
+            throw new IllegalArgumentException("El shard destino debe estar entre 0 y " + (mapa.shards() - 1) + ": " + destino);
+        }
+        if (!enCurso.tryLock()) {
+            throw new IllegalStateException("Ya hay una migracion en curso");
+        }
+        try {
+            Map<Integer, List<Integer>> porOrigen = new TreeMap<>();
+            for (int particion = desde; particion < hasta; particion++) {
+                int dueno = mapa.duenoDe(particion);
+                if (dueno != destino) {
+                    porOrigen.computeIfAbsent(dueno, shard -> new ArrayList<>()).add(particion);
+                }
+            }
+            if (porOrigen.isEmpty()) {
+                return new ResultadoMigracion(desde, hasta, destino, 0, 0);
+            }
+            return mover(desde, hasta, destino, porOrigen);
+        } finally {
+            enCurso.unlock();
+        }
+    }
+
+    private ResultadoMigracion mover(int desde, int hasta, int destino, Map<Integer, List<Integer>> porOrigen) {
+        mapa.bloquear(desde, hasta, true);
+        try {
+            esperar(mapa.refresco());
+            long filas = 0;
+            List<Integer> movidas = new ArrayList<>();
+            for (Map.Entry<Integer, List<Integer>> origen : porOrigen.entrySet()) {
+                filas += copiar(origen.getKey(), origen.getValue(), destino);
+                movidas.addAll(origen.getValue());
+            }
+            mapa.asignar(movidas, destino);
+            esperar(mapa.refresco());
+            porOrigen.forEach((origen, particiones) -> vaciar(origen, particiones, destino));
+            log.info("Se movieron {} particiones ({} filas) al shard {}", movidas.size(), filas, destino);
+            return new ResultadoMigracion(desde, hasta, destino, movidas.size(), filas);
+        } finally {
+            mapa.bloquear(desde, hasta, false);
+        }
+    }
+
+    private long copiar(int origen, List<Integer> particiones, int destino) {
+        NamedParameterJdbcTemplate lectura = new NamedParameterJdbcTemplate(shards.shard(origen));
+        NamedParameterJdbcTemplate escritura = new NamedParameterJdbcTemplate(shards.shard(destino));
+        TransactionTemplate transacciones = transacciones(shards.shard(destino));
+        MapSqlParameterSource parametros = parametros(particiones);
+        transacciones.executeWithoutResult(estado ->
+                escritura.update("delete from empleados where " + EN_PARTICIONES, parametros));
+        long copiadas = 0;
+        long ultimo = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> lote = lectura.query("select " + COLUMNAS + " from empleados where " + EN_PARTICIONES
+                    + " and id > :ultimo order by id limit " + LOTE, parametros.addValue("ultimo", ultimo), MigradorShards::valores);
+            if (lote.isEmpty()) {
+                return copiadas;
+            }
+            transacciones.executeWithoutResult(estado -> escritura.getJdbcTemplate()
+                    .batchUpdate("insert into empleados (" + COLUMNAS + ") values (?, ?, ?, ?, ?, ?, ?)", lote));
+            directorio.mover(lote.stream().map(fila -> (String) fila[3]).toList(), destino);
+            copiadas += lote.size();
+            ultimo = ((Number) lote.get(lote.size() - 1)[0]).longValue();
+        }
+    }
+
+    // Repasa hasta que el origen no tenga filas de las particiones; devuelve cuantas hubo que llevar de nuevo
+    private long vaciar(int origen, List<Integer> particiones, int destino) {
+        JdbcTemplate lectura = new JdbcTemplate(shards.shard(origen));
+        MapSqlParameterSource parametros = parametros(particiones);
+        long recopiadas = 0;
+        for (int repaso = 1; repaso <= REPASOS; repaso++) {
+            recopiadas += reconciliarYBorrar(origen, particiones, destino, repaso == 1);
+            Long quedan = new NamedParameterJdbcTemplate(lectura)
+                    .queryForObject("select count(*) from empleados where " + EN_PARTICIONES, parametros, Long.class);
+            if (quedan == null || quedan == 0) {
+                if (recopiadas > 0) {
+                    log.warn("{} filas del shard {} cambiaron durante la copia y se llevaron de nuevo al {}",
+                            recopiadas, origen, destino);
+                }
+                return recopiadas;
+            }
+        }
+        log.error("El shard {} sigue recibiendo filas de las particiones {} despues de {} repasos", origen, particiones, REPASOS);
+        return recopiadas;
+    }
+
+    // En el primer repaso el destino tiene solo la copia; en los siguientes ya tiene lo que se borro del origen
+    private long reconciliarYBorrar(int origen, List<Integer> particiones, int destino, boolean completo) {
+        NamedParameterJdbcTemplate lectura = new NamedParameterJdbcTemplate(shards.shard(origen));
+        NamedParameterJdbcTemplate escritura = new NamedParameterJdbcTemplate(shards.shard(destino));
+        TransactionTemplate transaccionesDestino = transacciones(shards.shard(destino));
+        MapSqlParameterSource parametros = parametros(particiones);
+        Long recopiadas = transacciones(shards.shard(origen)).execute(estado -> {
+            long cambiadas = 0;
+            long ultimo = Long.MIN_VALUE;
+            while (true) {
+                long anterior = ultimo;
+                List<Object[]> lote = lectura.query("select " + COLUMNAS + " from empleados where " + EN_PARTICIONES
+                        + " and id > :ultimo order by id limit " + LOTE + " for update",
+                        parametros.addValue("ultimo", ultimo), MigradorShards::valores);
+                boolean fin = lote.size() < LOTE;
+                ultimo = fin ? Long.MAX_VALUE : ((Number) lote.get(lote.size() - 1)[0]).longValue();
+                cambiadas += igualar(escritura, transaccionesDestino, particiones, anterior, ultimo, lote, destino, completo);
+                if (fin) {
+                    break;
+                }
+            }
+            lectura.update("delete from empleados where " + EN_PARTICIONES, parametros);
+            return cambiadas;
+        });
+        return recopiadas != null ? recopiadas : 0;
+    }
+
+    // Deja el rango (desde, hasta] del destino igual al lote del origen: inserta o reemplaza las filas con otra
+    // version y, si es completo, borra las que ya no estan en el origen
+    private long igualar(NamedParameterJdbcTemplate escritura, TransactionTemplate transacciones, List<Integer> particiones,
+            long desde, long hasta, List<Object[]> lote, int destino, boolean completo) {
+        Map<Long, Object[]> origen = new TreeMap<>();
+        for (Object[] fila : lote) {
+            origen.put(((Number) fila[0]).longValue(), fila);
+        }
+        MapSqlParameterSource rango = parametros(particiones).addValue("desde", desde).addValue("hasta", hasta);
+        Map<Long, Object> versiones = new TreeMap<>();
+        escritura.query("select id, version from empleados where " + EN_PARTICIONES + " and id > :desde and id <= :hasta",
+                rango, fila -> {
+                    versiones.put(fila.getLong(1), fila.getObject(2));
+                });
+        List<Long> borrar = new ArrayList<>();
+        if (completo) {
+            for (Long id : versiones.keySet()) {
+                if (!origen.containsKey(id)) {
+                    borrar.add(id);
+                }
+            }
+        }
+        List<Object[]> distintas = new ArrayList<>();
+        for (Map.Entry<Long, Object[]> fila : origen.entrySet()) {
+            if (!versiones.containsKey(fila.getKey()) || !Objects.equals(versiones.get(fila.getKey()), fila.getValue()[4])) {
+                distintas.add(fila.getValue());
+                borrar.add(fila.getKey());
+            }
+        }
+        if (borrar.isEmpty()) {
+            return 0;
+        }
+        transacciones.executeWithoutResult(estado -> {
+            escritura.update("delete from empleados where id in (:ids)", new MapSqlParameterSource("ids", borrar));
+            if (!distintas.isEmpty()) {
+                escritura.getJdbcTemplate()
+                        .batchUpdate("insert into empleados (" + COLUMNAS + ") values (?, ?, ?, ?, ?, ?, ?)", distintas);
+            }
+        });
+        directorio.mover(distintas.stream().map(fila -> (String) fila[3]).toList(), destino);
+        return borrar.size();
+    }
+
+    private static Object[] valores(ResultSet fila, int numero) throws SQLException {
+        Object[] valores = new Object[7];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = fila.getObject(i + 1);
+        }
+        return valores;
+    }
+
+    private static MapSqlParameterSource parametros(List<Integer> particiones) {
+        return new MapSqlParameterSource("lista", particiones)
+                .addValue("divisor", GeneradorIds.DIVISOR_PARTICION)
+                .addValue("particiones", GeneradorIds.PARTICIONES);
+    }
+
+    // El pool puede tener auto-commit desactivado
+    private static TransactionTemplate transacciones(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static void esperar(Duration duracion) {
+        try {
+            Thread.sleep(duracion.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Migracion interrumpida", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mockito.mockito.shards;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import com.mockito.mockito.service.RevisionEmpleados;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Al arrancar crea las tablas del mapa y del directorio en la base global, el esquema de cada shard
+ * cuando Hibernate genera el esquema (create / create-drop; si no, cada base se migra por fuera),
+ * la fila de revision de cada shard, e instala el generador de ids por shard.
+ */
+public class PreparacionShards implements SmartInitializingSingleton, DisposableBean {
+
+    private final MapaShards mapa;
+
+    private final DirectorioEmails directorio;
+
+    private final GeneradorIds generadorIds;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final RevisionEmpleados revisionEmpleados;
+
+    public PreparacionShards(MapaShards mapa, DirectorioEmails directorio, GeneradorIds generadorIds,
+            EntityManagerFactory entityManagerFactory, RevisionEmpleados revisionEmpleados) {
+        this.mapa = mapa;
+        this.directorio = directorio;
+        this.generadorIds = generadorIds;
+        this.entityManagerFactory = entityManagerFactory;
+        this.revisionEmpleados = revisionEmpleados;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        mapa.inicializar();
+        directorio.inicializar();
+        boolean crearEsquema = generaEsquema();
+        for (int shard = 0; shard < mapa.shards(); shard++) {
+            ContextoShard.en(shard, () -> {
+                if (crearEsquema) {
+                    entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+                }
+                revisionEmpleados.sembrar();
+                return null;
+            });
+        }
+        GeneradorIdEmpleado.instalar(shard -> generadorIds.siguiente(mapa.particionPara(shard)));
+    }
+
+    private boolean generaEsquema() {
+        Object accion = entityManagerFactory.getProperties().get(AvailableSettings.HBM2DDL_AUTO);
+        return accion != null && ("create".equals(accion.toString()) || "create-drop".equals(accion.toString()));
+    }
+
+    @Override
+    public void destroy() {
+        GeneradorIdEmpleado.desinstalar();
+    }
+}
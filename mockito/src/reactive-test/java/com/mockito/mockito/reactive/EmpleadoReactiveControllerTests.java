@@ -0,0 +1,191 @@
+package com.mockito.mockito.reactive;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(controllers = EmpleadoReactiveController.class)
+public class EmpleadoReactiveControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private EmpleadoReactiveService empleadoService;
+
+    @Test
+    void testGuardarEmpleado() {
+        // given
+        Empleado empleado = Empleado.builder()
+                .id(1L)
+                .nombre("James")
+                .apellido("Clark")
+                .email("jamesclark@mail.com")
+                .build();
+
+        given(empleadoService.saveEmpleado(any(Empleado.class)))
+                .willAnswer((invocation) -> Mono.just(invocation.getArgument(0)));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/empleados")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(empleado)
+                .exchange();
+
+        // then
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.nombre").isEqualTo(empleado.getNombre())
+                .jsonPath("$.apellido").isEqualTo(empleado.getApellido())
+                .jsonPath("$.email").isEqualTo(empleado.getEmail());
+    }
+
+    @Test
+    void testGuardarEmpleadoDuplicado() {
+        // given
+        Empleado empleado = Empleado.builder()
+                .nombre("James")
+                .apellido("Clark")
+                .email("jamesclark@mail.com")
+                .build();
+
+        given(empleadoService.saveEmpleado(any(Empleado.class)))
+                .willReturn(Mono.error(new EmpleadoDuplicadoException(empleado.getEmail())));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/empleados")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(empleado)
+                .exchange();
+
+        // then
+        response.expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testListarEmpleados() {
+        // given
+        given(empleadoService.getAllEmpleados()).willReturn(Flux.just(
+                Empleado.builder().nombre("Daniel").apellido("Carter").email("danycarter@mail.com").build(),
+                Empleado.builder().nombre("Kimberly").apellido("Allen").email("kimallen@mail.com").build(),
+                Empleado.builder().nombre("Ryan").apellido("Davis").email("ryandavis@mail.com").build()));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/empleados")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Empleado.class).hasSize(3);
+    }
+
+    @Test
+    void testObtenerEmpleadoPorId() {
+        // given
+        long empleadoId = 1L;
+        Empleado empleado = Empleado.builder()
+                .id(1L)
+                .nombre("Samantha")
+                .apellido("Scott")
+                .email("samscott@mail.com")
+                .build();
+        given(empleadoService.getEmpleadoById(empleadoId)).willReturn(Mono.just(empleado));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/empleados/{id}", empleadoId).exchange();
+
+        // then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nombre").isEqualTo(empleado.getNombre())
+                .jsonPath("$.email").isEqualTo(empleado.getEmail());
+    }
+
+    @Test
+    void testObtenerEmpleadoNoEncontrado() {
+        // given
+        long empleadoId = 1L;
+        given(empleadoService.getEmpleadoById(empleadoId)).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/empleados/{id}", empleadoId).exchange();
+
+        // then
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    void testActualizarEmpleado() {
+        // given
+        long empleadoId = 1L;
+        Empleado empleadoActualizado = Empleado.builder()
+                .nombre("Juan")
+                .apellido("Sanchez")
+                .email("js@mail.com")
+                .build();
+
+        given(empleadoService.updateEmpleado(any(Empleado.class)))
+                .willAnswer((invocation) -> Mono.just(invocation.getArgument(0)));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/empleados/{id}", empleadoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(empleadoActualizado)
+                .exchange();
+
+        // then
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.nombre").isEqualTo(empleadoActualizado.getNombre());
+    }
+
+    @Test
+    void testActualizarEmpleadoNoEncontrado() {
+        // given
+        long empleadoId = 1L;
+        Empleado empleadoActualizado = Empleado.builder()
+                .nombre("Amanda")
+                .apellido("Baker")
+                .email("amandabaker@mail.com")
+                .build();
+
+        given(empleadoService.updateEmpleado(any(Empleado.class))).willReturn(Mono.empty());
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/empleados/{id}", empleadoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(empleadoActualizado)
+                .exchange();
+
+        // then
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    void testEliminarEmpleado() {
+        // given
+        long empleadoId = 1L;
+        given(empleadoService.deleteEmpleado(empleadoId)).willReturn(Mono.just(true));
+
+        // when
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/empleados/{id}", empleadoId).exchange();
+
+        // then
+        response.expectStatus().isOk();
+    }
+}
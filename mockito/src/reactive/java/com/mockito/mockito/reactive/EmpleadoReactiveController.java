@@ -0,0 +1,65 @@
+package com.mockito.mockito.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mockito.mockito.entities.Empleado;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/empleados")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class EmpleadoReactiveController {
+
+    @Autowired
+    private EmpleadoReactiveService empleadoService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Empleado> guardarEmpleado(@RequestBody Empleado empleado){
+        return empleadoService.saveEmpleado(empleado);
+    }
+
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Empleado> listarEmpleados(){
+        return empleadoService.getAllEmpleados();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Empleado>> obtenerEmpleadoPorId(@PathVariable("id") long empleadoId){
+        return empleadoService.getEmpleadoById(empleadoId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Empleado>> actualizarEmpleado(@PathVariable("id") long empleadoId, @RequestBody Empleado empleado){
+        empleado.setId(empleadoId);
+        return empleadoService.updateEmpleado(empleado)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> eliminarEmpleado(@PathVariable("id") long empleadoId){
+        return empleadoService.deleteEmpleado(empleadoId)
+                .map(eliminado -> eliminado
+                        ? new ResponseEntity<>("Empleado elimnado exitosamente", HttpStatus.OK)
+                        : ResponseEntity.notFound().<String>build());
+    }
+}
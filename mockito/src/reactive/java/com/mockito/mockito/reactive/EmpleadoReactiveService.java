@@ -0,0 +1,19 @@
+package com.mockito.mockito.reactive;
+
+import com.mockito.mockito.entities.Empleado;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmpleadoReactiveService {
+
+    Mono<Empleado> saveEmpleado(Empleado empleado);
+
+    Flux<Empleado> getAllEmpleados();
+
+    Mono<Empleado> getEmpleadoById(long id);
+
+    Mono<Empleado> updateEmpleado(Empleado empleadoActualizado);
+
+    Mono<Boolean> deleteEmpleado(long id);
+}
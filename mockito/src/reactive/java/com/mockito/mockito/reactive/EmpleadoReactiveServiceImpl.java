@@ -0,0 +1,107 @@
+package com.mockito.mockito.reactive;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Service;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class EmpleadoReactiveServiceImpl implements EmpleadoReactiveService{
+
+    private static final String COLUMNAS = "id, nombre, apellido, email";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Empleado> saveEmpleado(Empleado empleado) {
+        GenericExecuteSpec insert = databaseClient
+                .sql("insert into empleados (nombre, apellido, email) values (:nombre, :apellido, :email)");
+        return vincularCampos(insert, empleado)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    empleado.setId(id);
+                    return empleado;
+                })
+                .onErrorMap(EmpleadoReactiveServiceImpl::esEmailDuplicado,
+                        e -> new EmpleadoDuplicadoException(empleado.getEmail()));
+    }
+
+    @Override
+    public Flux<Empleado> getAllEmpleados() {
+        // Las filas se emiten segun la demanda del suscriptor (backpressure del driver R2DBC)
+        return databaseClient.sql("select " + COLUMNAS + " from empleados order by id")
+                .map(EmpleadoReactiveServiceImpl::mapear)
+                .all();
+    }
+
+    @Override
+    public Mono<Empleado> getEmpleadoById(long id) {
+        return databaseClient.sql("select " + COLUMNAS + " from empleados where id = :id")
+                .bind("id", id)
+                .map(EmpleadoReactiveServiceImpl::mapear)
+                .one();
+    }
+
+    @Override
+    public Mono<Empleado> updateEmpleado(Empleado empleadoActualizado) {
+        GenericExecuteSpec update = databaseClient
+                .sql("update empleados set nombre = :nombre, apellido = :apellido, email = :email where id = :id")
+                .bind("id", empleadoActualizado.getId());
+        return vincularCampos(update, empleadoActualizado)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(filas -> filas > 0 ? Mono.just(empleadoActualizado) : Mono.empty())
+                .onErrorMap(EmpleadoReactiveServiceImpl::esEmailDuplicado,
+                        e -> new EmpleadoDuplicadoException(empleadoActualizado.getEmail()));
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmpleado(long id) {
+        return databaseClient.sql("delete from empleados where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(filas -> filas > 0);
+    }
+
+    private static GenericExecuteSpec vincularCampos(GenericExecuteSpec spec, Empleado empleado) {
+        spec = vincular(spec, "nombre", empleado.getNombre());
+        spec = vincular(spec, "apellido", empleado.getApellido());
+        return vincular(spec, "email", empleado.getEmail());
+    }
+
+    private static GenericExecuteSpec vincular(GenericExecuteSpec spec, String nombre, String valor) {
+        return valor == null ? spec.bindNull(nombre, String.class) : spec.bind(nombre, valor);
+    }
+
+    private static Empleado mapear(Readable row) {
+        return Empleado.builder()
+                .id(row.get("id", Long.class))
+                .nombre(row.get("nombre", String.class))
+                .apellido(row.get("apellido", String.class))
+                .email(row.get("email", String.class))
+                .build();
+    }
+
+    private static boolean esEmailDuplicado(Throwable e) {
+        return e instanceof DataIntegrityViolationException
+                && e.getMessage() != null
+                && e.getMessage().toLowerCase(Locale.ROOT).contains(Empleado.UK_EMAIL);
+    }
+}
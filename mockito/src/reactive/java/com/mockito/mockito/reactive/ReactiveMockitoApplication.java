@@ -0,0 +1,32 @@
+package com.mockito.mockito.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Variante reactiva (WebFlux + R2DBC) de la API de empleados. Solo se compila con el
+ * perfil Maven {@code reactive}; la condicion evita que MockitoApplication la registre
+ * al escanear este paquete.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveMockitoApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveMockitoApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.profiles("reactive")
+				.run(args);
+	}
+
+}
@@ -0,0 +1,7 @@
+create table if not exists empleados (
+    id bigint generated by default as identity primary key,
+    nombre varchar(255) not null,
+    apellido varchar(255) not null,
+    email varchar(255) not null,
+    constraint uk_empleados_email unique (email)
+);
@@ -0,0 +1,46 @@
+package com.mockito.mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.repository.RevisionTablaRepository;
+import com.mockito.mockito.service.EmpleadoService;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:perfil-lazy;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("lazy")
+class PerfilLazyTests {
+
+    @Autowired
+    private RevisionTablaRepository revisionTablaRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @DisplayName("Test para sembrar la revision al arrancar con el perfil lazy")
+    @Test
+    void testRevisionSembradaConPerfilLazy() {
+        // when
+        boolean sembrada = revisionTablaRepository.existsById(RevisionTabla.EMPLEADOS);
+
+        // then
+        assertThat(sembrada).isTrue();
+    }
+
+    @DisplayName("Test para guardar y leer un empleado con beans y repositorios diferidos")
+    @Test
+    void testGuardarConPerfilLazy() {
+        // given
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Lucia").apellido("Vega").email("luciavega@mail.com").build());
+
+        // when / then
+        assertThat(empleadoService.getEmpleadoById(guardado.getId())).isPresent();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mockito.mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.service.EmpleadoService;
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest(properties = {
+        "EMPLEADOS_DB_URL=jdbc:h2:mem:perfil-prod;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64",
+        "EMPLEADOS_DB_USER=root",
+        "EMPLEADOS_DB_PASSWORD=root" })
+@ActiveProfiles("prod")
+class PerfilProdTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @DisplayName("Test para configurar el pool de conexiones del perfil prod")
+    @Test
+    void testPoolConfigurado() {
+        // when
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+
+        // then
+        assertThat(hikari.getPoolName()).isEqualTo("empleados");
+        assertThat(hikari.getMinimumIdle()).isEqualTo(hikari.getMaximumPoolSize());
+        assertThat(hikari.isAutoCommit()).isFalse();
+        assertThat(contexto.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @DisplayName("Test para confirmar escrituras con auto-commit desactivado en el pool")
+    @Test
+    void testEscrituraConfirmadaSinAutoCommit() {
+        // given
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Marta").apellido("Gil").email("martagil@mail.com").build());
+
+        // when
+        empleadoService.patchEmpleado(guardado.getId(), Empleado.builder().nombre("Marina").build(), null);
+
+        // then
+        assertThat(empleadoService.getEmpleadoById(guardado.getId()))
+                .hasValueSatisfying(empleado -> assertThat(empleado.getNombre()).isEqualTo("Marina"));
+    }
+
+    @DisplayName("Test para no arrancar el perfil prod sin la URL de la base")
+    @Test
+    void testSinUrlDeLaBaseNoArranca() {
+        // given
+        SpringApplicationBuilder aplicacion = new SpringApplicationBuilder(MockitoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .properties("EMPLEADOS_DB_USER=root", "EMPLEADOS_DB_PASSWORD=root");
+
+        // when / then
+        assertThatThrownBy(aplicacion::run).hasStackTraceContaining("EMPLEADOS_DB_URL");
+    }
+}
@@ -0,0 +1,121 @@
+package com.mockito.mockito.admision;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mockito.mockito.config.AdmisionProperties;
+
+public class LimitadorAdaptativoTest {
+
+    private static final long MILISEGUNDO = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LimitadorAdaptativo limitador = new LimitadorAdaptativo(
+            new AdmisionProperties(true, 10, 2, 40, 0, 0, 0, 0));
+
+    @DisplayName("Test para rechazar primero las prioridades bajas segun su cuota del limite")
+    @Test
+    void testCuotasPorPrioridad() {
+        // given
+        List<LimitadorAdaptativo.Permiso> permisos = new ArrayList<>();
+
+        // when
+        while (true) {
+            LimitadorAdaptativo.Permiso permiso = limitador.intentar("listar", Prioridad.BAJA);
+            if (permiso == null) {
+                break;
+            }
+            permisos.add(permiso);
+        }
+        LimitadorAdaptativo.Permiso normal = limitador.intentar("guardar", Prioridad.NORMAL);
+        LimitadorAdaptativo.Permiso alta = limitador.intentar("porId", Prioridad.ALTA);
+
+        // then
+        assertThat(permisos).hasSize(5);
+        assertThat(normal).isNotNull();
+        assertThat(alta).isNotNull();
+        assertThat(limitador.enCurso()).isEqualTo(7);
+        assertThat(limitador.endpoints()).filteredOn(e -> e.clave().equals("listar"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.enCurso()).isEqualTo(5);
+                    assertThat(e.rechazos()).isEqualTo(1);
+                });
+    }
+
+    @DisplayName("Test para liberar el permiso una sola vez")
+    @Test
+    void testLiberarUnaVez() {
+        // given
+        LimitadorAdaptativo.Permiso permiso = limitador.intentar("porId", Prioridad.ALTA);
+
+        // when
+        permiso.completar(false);
+        permiso.descartar();
+
+        // then
+        assertThat(limitador.enCurso()).isZero();
+    }
+
+    @DisplayName("Test para subir el limite con carga y latencia estable, hasta el maximo")
+    @Test
+    void testSubirConLatenciaEstable() {
+        // when
+        for (int i = 0; i < 200; i++) {
+            ronda(limitador.limite(), MILISEGUNDO, false);
+        }
+
+        // then
+        assertThat(limitador.limite()).isEqualTo(40);
+    }
+
+    @DisplayName("Test para no subir el limite si menos de la mitad esta en uso")
+    @Test
+    void testSinCargaNoSube() {
+        // when
+        for (int i = 0; i < 100; i++) {
+            ronda(2, MILISEGUNDO, false);
+        }
+
+        // then
+        assertThat(limitador.limite()).isEqualTo(10);
+    }
+
+    @DisplayName("Test para bajar el limite cuando la latencia crece o hay 503, sin pasar del minimo")
+    @Test
+    void testBajarConLatenciaOSobrecarga() {
+        // given
+        for (int i = 0; i < 50; i++) {
+            ronda(limitador.limite(), MILISEGUNDO, false);
+        }
+        int antes = limitador.limite();
+
+        // when
+        ronda(limitador.limite(), 10 * MILISEGUNDO, false);
+        int conLatencia = limitador.limite();
+        ronda(limitador.limite(), MILISEGUNDO, true);
+        int conSobrecarga = limitador.limite();
+        for (int i = 0; i < 100; i++) {
+            ronda(limitador.limite(), MILISEGUNDO, true);
+        }
+
+        // then
+        assertThat(conLatencia).isLessThan(antes);
+        assertThat(conSobrecarga).isLessThan(conLatencia);
+        assertThat(limitador.limite()).isEqualTo(2);
+    }
+
+    private void ronda(int concurrentes, long latencia, boolean sobrecarga) {
+        List<LimitadorAdaptativo.Permiso> permisos = new ArrayList<>();
+        for (int i = 0; i < concurrentes; i++) {
+            permisos.add(limitador.intentar("porId", Prioridad.ALTA));
+        }
+        assertThat(permisos).doesNotContainNull();
+        permisos.forEach(permiso -> permiso.completar(latencia, sobrecarga));
+    }
+}
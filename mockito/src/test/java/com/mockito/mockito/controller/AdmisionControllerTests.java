@@ -0,0 +1,119 @@
+package com.mockito.mockito.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.mockito.mockito.admision.LimitadorAdaptativo;
+import com.mockito.mockito.admision.Prioridad;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.service.EmpleadoService;
+import com.mockito.mockito.service.TransferenciaEmpleados;
+
+@WebMvcTest(controllers = EmpleadoController.class, properties = {
+        "empleados.admision.enabled=true",
+        "empleados.admision.limite-inicial=4",
+        "empleados.admision.limite-minimo=4",
+        "empleados.admision.limite-maximo=4" })
+@Import(TransferenciaEmpleados.class)
+public class AdmisionControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LimitadorAdaptativo limitador;
+
+    @MockBean
+    private EmpleadoService empleadoService;
+
+    private final List<LimitadorAdaptativo.Permiso> ocupados = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        given(empleadoService.getRevisionEmpleados())
+                .willReturn(new RevisionTabla(RevisionTabla.EMPLEADOS, 7, Instant.parse("2024-03-01T10:00:00Z")));
+        given(empleadoService.getEmpleadoById(1L)).willReturn(Optional.of(
+                Empleado.builder().id(1L).nombre("James").apellido("Clark").email("jamesclark@mail.com").build()));
+    }
+
+    @AfterEach
+    void liberar() {
+        ocupados.forEach(LimitadorAdaptativo.Permiso::descartar);
+    }
+
+    private void ocupar(int permisos) {
+        for (int i = 0; i < permisos; i++) {
+            ocupados.add(limitador.intentar("otraPeticion", Prioridad.ALTA));
+        }
+    }
+
+    @DisplayName("Test para responder 503 con Retry-After sin llegar al servicio cuando el limite esta ocupado")
+    @Test
+    void testRechazarConLimiteOcupado() throws Exception {
+        // given
+        ocupar(4);
+
+        // when / then
+        mockMvc.perform(get("/api/empleados/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, ManejadorErrores.REINTENTAR_EN_SEGUNDOS));
+        verify(empleadoService, never()).getEmpleadoById(anyLong());
+    }
+
+    @DisplayName("Test para atender lecturas por id y rechazar listados con la mitad del limite ocupada")
+    @Test
+    void testPrioridadLecturaPorId() throws Exception {
+        // given
+        ocupar(2);
+
+        // when / then
+        mockMvc.perform(get("/api/empleados"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/empleados/1"))
+                .andExpect(status().isOk());
+        verify(empleadoService, never()).getEmpleadosAfter(anyLong(), anyInt());
+        assertThat(limitador.enCurso()).isEqualTo(2);
+    }
+
+    @DisplayName("Test para retener el permiso de una respuesta en streaming hasta que termina")
+    @Test
+    void testPermisoDeRespuestaAsincrona() throws Exception {
+        // when
+        MvcResult resultado = mockMvc.perform(get("/api/empleados").accept(EmpleadoController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        int durante = limitador.enCurso();
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType(EmpleadoController.APPLICATION_NDJSON_VALUE)));
+
+        // then
+        assertThat(durante).isEqualTo(1);
+        assertThat(limitador.enCurso()).isZero();
+    }
+}
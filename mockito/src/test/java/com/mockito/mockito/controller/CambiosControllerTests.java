@@ -0,0 +1,100 @@
+package com.mockito.mockito.controller;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.mockito.mockito.dto.LoteCambios;
+import com.mockito.mockito.entities.CambioEmpleado;
+import com.mockito.mockito.exceptions.OffsetVencidoException;
+import com.mockito.mockito.service.FeedCambios;
+
+@WebMvcTest(CambiosController.class)
+public class CambiosControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FeedCambios feedCambios;
+
+    @Test
+    void testLeerCambiosConEspera() throws Exception {
+        // given
+        CambioEmpleado cambio = new CambioEmpleado(43L, CambioEmpleado.Tipo.MODIFICADO, 7L,
+                "{\"id\":7,\"nombre\":\"Matthew\"}", Instant.parse("2024-03-01T10:00:00Z"));
+        DeferredResult<LoteCambios> resultado = new DeferredResult<>();
+        given(feedCambios.esperar(42L, 100, Duration.ofSeconds(20))).willReturn(resultado);
+
+        // when
+        MvcResult iniciada = mockMvc.perform(get("/api/empleados/changes?since=42&wait=20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        resultado.setResult(new LoteCambios(List.of(cambio), 43L));
+
+        // then
+        mockMvc.perform(asyncDispatch(iniciada))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.siguiente", is(43)))
+                .andExpect(jsonPath("$.cambios[0].tipo", is("MODIFICADO")))
+                .andExpect(jsonPath("$.cambios[0].empleadoId", is(7)))
+                .andExpect(jsonPath("$.cambios[0].datos.nombre", is("Matthew")));
+    }
+
+    @Test
+    void testLeerCambiosLimitaElTamanioDelLote() throws Exception {
+        // given
+        DeferredResult<LoteCambios> resultado = new DeferredResult<>();
+        resultado.setResult(new LoteCambios(List.of(), 0L));
+        given(feedCambios.esperar(eq(0L), eq(EmpleadoController.LIMIT_MAXIMO), any(Duration.class))).willReturn(resultado);
+
+        // when
+        MvcResult iniciada = mockMvc.perform(get("/api/empleados/changes?limit=50000")).andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(iniciada))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cambios.length()", is(0)));
+    }
+
+    @Test
+    void testLeerCambiosDepurados() throws Exception {
+        // given
+        given(feedCambios.esperar(anyLong(), anyInt(), any(Duration.class)))
+                .willThrow(new OffsetVencidoException(3L, 500L));
+
+        // when / then
+        mockMvc.perform(get("/api/empleados/changes?since=3"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testObtenerOffset() throws Exception {
+        // given
+        given(feedCambios.ultimoOffset()).willReturn(1234L);
+
+        // when / then
+        mockMvc.perform(get("/api/empleados/changes/offset"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1234"));
+    }
+}
@@ -1,31 +1,65 @@
 package com.mockito.mockito.controller;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.dto.ResultadoCarga;
 import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.exceptions.ConflictoVersionException;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.formatos.ConversorColumnas;
 import com.mockito.mockito.service.EmpleadoService;
+import com.mockito.mockito.service.FeedCambios;
+import com.mockito.mockito.service.TransferenciaEmpleados;
 
 @WebMvcTest
+@Import(TransferenciaEmpleados.class)
 public class EmpleadoControllerTests {
 
     @Autowired
@@ -34,9 +68,19 @@ public class EmpleadoControllerTests {
     @MockBean
     private EmpleadoService empleadoService;
 
+    // CambiosController tambien se carga en este slice
+    @MockBean
+    private FeedCambios feedCambios;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setup() {
+        given(empleadoService.getRevisionEmpleados())
+                .willReturn(new RevisionTabla(RevisionTabla.EMPLEADOS, 7, Instant.parse("2024-03-01T10:00:00Z")));
+    }
+
     @Test
     void testGuardarEmpleado() throws Exception {
         // given
@@ -63,6 +107,52 @@ public class EmpleadoControllerTests {
                 .andExpect(jsonPath("$.email", is(empleado.getEmail())));
     }
 
+    @Test
+    void testGuardarEmpleadoDuplicado() throws Exception {
+        // given
+        Empleado empleado = Empleado.builder()
+                .nombre("James")
+                .apellido("Clark")
+                .email("jamesclark@mail.com")
+                .build();
+
+        given(empleadoService.saveEmpleado(any(Empleado.class)))
+                .willThrow(new EmpleadoDuplicadoException(empleado.getEmail()));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleado)));
+
+        // then
+        response.andExpect(status().isConflict())
+                .andDo(print());
+    }
+
+    @Test
+    void testGuardarEmpleadosEnLote() throws Exception {
+        // given
+        List<Empleado> empleados = List.of(
+                Empleado.builder().nombre("James").apellido("Clark").email("jamesclark@mail.com").build(),
+                Empleado.builder().nombre("Laura").apellido("Hill").email("jamesclark@mail.com").build());
+        given(empleadoService.saveEmpleados(any()))
+                .willReturn(List.of(
+                        ResultadoCarga.creado(0, 1L, "jamesclark@mail.com"),
+                        ResultadoCarga.duplicado(1, "jamesclark@mail.com")));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleados)));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].estado", is("CREADO")))
+                .andExpect(jsonPath("$[1].estado", is("DUPLICADO")));
+    }
+
     @Test
     void testListarEmpleados() throws Exception {
         // given
@@ -72,7 +162,7 @@ public class EmpleadoControllerTests {
         listaEmpleados.add(Empleado.builder().nombre("Ryan").apellido("Davis").email("ryandavis@mail.com").build());
         listaEmpleados.add(Empleado.builder().nombre("Fernando").apellido("Gutierrez").email("fergtz@mail.com").build());
         listaEmpleados.add(Empleado.builder().nombre("Michelle").apellido("Wilson").email("michwilson@mail.com").build());
-        given(empleadoService.getAllEmpleados()).willReturn(listaEmpleados);
+        given(empleadoService.getEmpleadosAfter(0L, 100)).willReturn(listaEmpleados);
 
         // when
         ResultActions response = mockMvc.perform(get("/api/empleados"));
@@ -80,7 +170,314 @@ public class EmpleadoControllerTests {
         // then
         response.andExpect(status().isOk())
                 .andDo(print())
-                .andExpect(jsonPath("$.size()", is(listaEmpleados.size())));
+                .andExpect(jsonPath("$.size()", is(listaEmpleados.size())))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testListarEmpleadosPaginaSiguiente() throws Exception {
+        // given
+        List<Empleado> listaEmpleados = List.of(
+                Empleado.builder().id(11L).nombre("Laura").apellido("Hill").email("laurahill@mail.com").build(),
+                Empleado.builder().id(12L).nombre("Oscar").apellido("Reyes").email("oreyes@mail.com").build());
+        given(empleadoService.getEmpleadosAfter(10L, 2)).willReturn(listaEmpleados);
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .param("after", "10")
+                .param("limit", "2"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(header().string("Link", containsString("after=12")));
+    }
+
+    @Test
+    void testListarEmpleadosSinCambios() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .header("If-None-Match", "\"empleados-7\""));
+
+        // then
+        response.andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"empleados-7\""))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Accept-Encoding"))))
+                .andExpect(content().string(""));
+        verify(empleadoService, never()).getEmpleadosAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void testListarEmpleadosConRevisionNueva() throws Exception {
+        // given
+        given(empleadoService.getEmpleadosAfter(0L, 100)).willReturn(List.of());
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .header("If-None-Match", "\"empleados-6\""));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"empleados-7\""))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void testListarResumenEmpleados() throws Exception {
+        // given
+        given(empleadoService.getResumenEmpleadosAfter(0L, 2, Set.of("id", "nombre", "apellido"))).willReturn(List.of(
+                new EmpleadoResumen(4L, "Laura", "Hill", null),
+                new EmpleadoResumen(9L, "Oscar", "Reyes", null)));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .param("limit", "2")
+                .param("fields", "id,nombre,apellido"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[1].apellido", is("Reyes")))
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(header().string("Link", containsString("after=9")));
+        verify(empleadoService, never()).getEmpleadosAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void testListarSoloEmailDeEmpleados() throws Exception {
+        // given
+        given(empleadoService.getResumenEmpleadosAfter(0L, 100, Set.of("email"))).willReturn(List.of(
+                new EmpleadoResumen(4L, null, null, "laurahill@mail.com")));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .param("fields", "email"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(4)))
+                .andExpect(jsonPath("$[0].email", is("laurahill@mail.com")))
+                .andExpect(jsonPath("$[0].nombre").doesNotExist());
+    }
+
+    @Test
+    void testListarEmpleadosConCampoDesconocido() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .param("fields", "id,salario"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListarEmpleadosConCampoDesconocidoYSinCambios() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .param("fields", "id,salario")
+                .header("If-None-Match", "\"empleados-7\""));
+
+        // then
+        response.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListarEmpleadosEnColumnas() throws Exception {
+        // given
+        given(empleadoService.getEmpleadosAfter(0L, 100)).willReturn(List.of(
+                Empleado.builder().id(4L).nombre("Laura").apellido("Hill").email("laurahill@mail.com").build(),
+                Empleado.builder().id(9L).nombre("Oscar").apellido("Reyes").email("oreyes@mail.com").version(2L).build()));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .accept(ConversorColumnas.APPLICATION_COLUMNAS));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().contentTypeCompatibleWith(ConversorColumnas.APPLICATION_COLUMNAS))
+                .andExpect(jsonPath("$.columnas[0]", is("id")))
+                .andExpect(jsonPath("$.columnas[1]", is("nombre")))
+                .andExpect(jsonPath("$.filas.size()", is(2)))
+                .andExpect(jsonPath("$.filas[1][0]", is(9)))
+                .andExpect(jsonPath("$.filas[1][1]", is("Oscar")))
+                .andExpect(jsonPath("$.filas[0].size()", is(6)));
+    }
+
+    @Test
+    void testListarEmpleadosJsonPorDefecto() throws Exception {
+        // given
+        given(empleadoService.getEmpleadosAfter(0L, 100)).willReturn(List.of(
+                Empleado.builder().id(4L).nombre("Laura").apellido("Hill").email("laurahill@mail.com").build()));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .accept(MediaType.ALL));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].nombre", is("Laura")));
+    }
+
+    @Test
+    void testListarEmpleadosEnCbor() throws Exception {
+        // given
+        given(empleadoService.getEmpleadosAfter(0L, 100)).willReturn(List.of(
+                Empleado.builder().id(4L).nombre("Laura").apellido("Hill").email("laurahill@mail.com").build(),
+                Empleado.builder().id(9L).nombre("Oscar").apellido("Reyes").email("oreyes@mail.com").build()));
+
+        // when
+        MvcResult resultado = mockMvc.perform(get("/api/empleados")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "W/\"empleados-7\""))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Accept"))))
+                .andReturn();
+
+        // then
+        List<Empleado> empleados = new ObjectMapper(new CBORFactory()).readValue(
+                resultado.getResponse().getContentAsByteArray(), new TypeReference<List<Empleado>>() {
+                });
+        assertThat(empleados).extracting(Empleado::getApellido).containsExactly("Hill", "Reyes");
+    }
+
+    @Test
+    void testGuardarEmpleadosEnLoteEnColumnas() throws Exception {
+        // given
+        given(empleadoService.saveEmpleados(any())).willAnswer(invocacion -> {
+            List<Empleado> empleados = invocacion.getArgument(0);
+            List<ResultadoCarga> resultados = new ArrayList<>();
+            for (int i = 0; i < empleados.size(); i++) {
+                resultados.add(ResultadoCarga.creado(i, 20L + i, empleados.get(i).getEmail()));
+            }
+            return resultados;
+        });
+        String cuerpo = """
+                {"columnas": ["nombre", "apellido", "email"],
+                 "filas": [["James", "Clark", "jamesclark@mail.com"], ["Laura", "Hill", "laurahill@mail.com"]]}
+                """;
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/batch")
+                .contentType(ConversorColumnas.APPLICATION_COLUMNAS)
+                .content(cuerpo));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].id", is(21)))
+                .andExpect(jsonPath("$[1].email", is("laurahill@mail.com")));
+    }
+
+    @Test
+    void testGuardarEmpleadosEnColumnasIncompletas() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/batch")
+                .contentType(ConversorColumnas.APPLICATION_COLUMNAS)
+                .content("{\"columnas\": [\"nombre\", \"apellido\"], \"filas\": [[\"James\"]]}"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+        verify(empleadoService, never()).saveEmpleados(any());
+    }
+
+    @Test
+    void testBuscarEmpleados() throws Exception {
+        // given
+        PageRequest pagina = PageRequest.of(0, 2, Sort.by("apellido"));
+        List<Empleado> encontrados = List.of(
+                Empleado.builder().id(3L).nombre("Karen").apellido("Garcia").email("karengarcia@mail.com").build(),
+                Empleado.builder().id(7L).nombre("Ana").apellido("Garza").email("agarza@mail.com").build());
+        given(empleadoService.searchEmpleados(new FiltroEmpleado(null, "Gar*", null, "mail.com"), null, pagina))
+                .willReturn(new SliceImpl<>(encontrados, pagina, true));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados/search")
+                .param("apellido", "Gar*")
+                .param("dominio", "mail.com")
+                .param("size", "2")
+                .param("sort", "apellido"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(header().string("Link", containsString("after=" + new CursorBusqueda(7L, "Garza").codificar())));
+    }
+
+    @Test
+    void testBuscarEmpleadosDespuesDelCursor() throws Exception {
+        // given
+        PageRequest pagina = PageRequest.of(0, 2, Sort.by("apellido"));
+        CursorBusqueda cursor = new CursorBusqueda(7L, "Garza");
+        given(empleadoService.searchEmpleados(new FiltroEmpleado(null, "Gar*", null, null), cursor, pagina))
+                .willReturn(new SliceImpl<>(List.of(
+                        Empleado.builder().id(4L).nombre("Luis").apellido("Garzon").email("lgarzon@mail.com").build()),
+                        pagina, false));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados/search")
+                .param("apellido", "Gar*")
+                .param("after", cursor.codificar())
+                .param("size", "2")
+                .param("sort", "apellido"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(4)))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void testBuscarEmpleadosSinFiltroOConOffset() throws Exception {
+        // when
+        ResultActions sinFiltro = mockMvc.perform(get("/api/empleados/search").param("nombre", "*"));
+        ResultActions conPagina = mockMvc.perform(get("/api/empleados/search").param("apellido", "Gar*").param("page", "3"));
+        ResultActions conCursorInvalido = mockMvc.perform(get("/api/empleados/search")
+                .param("apellido", "Gar*").param("sort", "apellido").param("after", "no-es-un-cursor"));
+
+        // then
+        sinFiltro.andExpect(status().isBadRequest());
+        conPagina.andExpect(status().isBadRequest());
+        conCursorInvalido.andExpect(status().isBadRequest());
+        verify(empleadoService, never()).searchEmpleados(any(), any(), any());
+    }
+
+    @Test
+    void testBuscarEmpleadosConOrdenInvalido() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados/search")
+                .param("apellido", "Gar*")
+                .param("sort", "emailDominio"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+        verify(empleadoService, never()).searchEmpleados(any(), any(), any());
+    }
+
+    @Test
+    void testTransmitirEmpleadosNdjson() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            Consumer<Empleado> consumidor = invocation.getArgument(0);
+            consumidor.accept(Empleado.builder().id(1L).nombre("Daniel").apellido("Carter").email("danycarter@mail.com").build());
+            consumidor.accept(Empleado.builder().id(2L).nombre("Kimberly").apellido("Allen").email("kimallen@mail.com").build());
+            return null;
+        }).given(empleadoService).streamEmpleados(any());
+
+        // when
+        MvcResult resultado = mockMvc.perform(get("/api/empleados").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"email\":\"kimallen@mail.com\"}\n")));
     }
 
     @Test
@@ -106,6 +503,65 @@ public class EmpleadoControllerTests {
                 .andExpect(jsonPath("$.email", is(empleado.getEmail())));
     }
 
+    @Test
+    void testObtenerEmpleadosPorIds() throws Exception {
+        // given
+        Empleado empleado1 = Empleado.builder().id(1L).nombre("Samantha").apellido("Scott").email("samscott@mail.com").build();
+        Empleado empleado3 = Empleado.builder().id(3L).nombre("Daniel").apellido("Carter").email("danycarter@mail.com").build();
+        given(empleadoService.getEmpleadosByIds(List.of(3L, 1L, 2L))).willReturn(List.of(empleado3, empleado1));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados").param("ids", "3,1,2"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[1].id", is(1)));
+        verify(empleadoService, never()).getEmpleadoById(anyLong());
+    }
+
+    @Test
+    void testObtenerEmpleadosPorDemasiadosIds() throws Exception {
+        // given
+        String ids = LongStream.rangeClosed(1, EmpleadoController.LIMIT_MAXIMO + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados").param("ids", ids));
+
+        // then
+        response.andExpect(status().isBadRequest());
+        verify(empleadoService, never()).getEmpleadosByIds(any());
+    }
+
+    @Test
+    void testObtenerEmpleadoPorIdSinCambios() throws Exception {
+        // given
+        Empleado empleado = Empleado.builder()
+                .id(1L)
+                .nombre("Samantha")
+                .apellido("Scott")
+                .email("samscott@mail.com")
+                .version(3L)
+                .ultimaModificacion(Instant.parse("2024-03-01T10:00:00Z"))
+                .build();
+        given(empleadoService.getEmpleadoById(1L)).willReturn(Optional.of(empleado));
+
+        // when
+        ResultActions porEtag = mockMvc.perform(get("/api/empleados/{id}", 1L)
+                .header("If-None-Match", "\"3\""));
+        ResultActions porFecha = mockMvc.perform(get("/api/empleados/{id}", 1L)
+                .header("If-Modified-Since", "Fri, 01 Mar 2024 10:00:00 GMT"));
+
+        // then
+        porEtag.andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        porFecha.andExpect(status().isNotModified());
+    }
+
     @Test
     void testObtenerEmpleadoNoEncontrado() throws Exception {
         // given
@@ -121,36 +577,140 @@ public class EmpleadoControllerTests {
     }
 
     @Test
-    void testActualizarEmpleado() throws Exception {
+    void testObtenerEmpleadoSinConexionDisponible() throws Exception {
         // given
         long empleadoId = 1L;
-        Empleado empleadoGuardado = Empleado.builder()
-                .nombre("Steve")
-                .apellido("Adams")
-                .email("steveadams@mail.com")
-                .build();
+        given(empleadoService.getEmpleadoById(empleadoId))
+                .willThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados/{id}", empleadoId));
+
+        // then
+        response.andExpect(status().isServiceUnavailable())
+                .andDo(print())
+                .andExpect(header().exists("Retry-After"));
+    }
 
+    @Test
+    void testActualizarEmpleado() throws Exception {
+        // given
+        long empleadoId = 1L;
         Empleado empleadoActualizado = Empleado.builder()
                 .nombre("Juan")
                 .apellido("Sanchez")
                 .email("js@mail.com")
                 .build();
 
-        given(empleadoService.getEmpleadoById(empleadoId)).willReturn(Optional.of(empleadoGuardado));
-        given(empleadoService.updateEmpleado(any(Empleado.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        given(empleadoService.patchEmpleado(eq(empleadoId), any(Empleado.class), isNull()))
+                .willReturn(Optional.of(5L));
 
         // when
         ResultActions response = mockMvc.perform(put("/api/empleados/{id}", empleadoId)
                 .contentType(MediaType.APPLICATION_JSON)
-                .contentType(objectMapper.writeValueAsString(empleadoActualizado)));
+                .content(objectMapper.writeValueAsString(empleadoActualizado)));
 
         // then
         response.andExpect(status().isOk())
                 .andDo(print())
+                .andExpect(header().string("ETag", "W/\"5\""))
+                .andExpect(jsonPath("$.version", is(5)))
+                .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nombre", is(empleadoActualizado.getNombre())))
                 .andExpect(jsonPath("$.apellido", is(empleadoActualizado.getApellido())))
                 .andExpect(jsonPath("$.email", is(empleadoActualizado.getEmail())));
+        verify(empleadoService, never()).getEmpleadoById(empleadoId);
+    }
+
+    @Test
+    void testActualizarEmpleadoConIfMatch() throws Exception {
+        // given
+        long empleadoId = 1L;
+        Empleado empleadoActualizado = Empleado.builder()
+                .nombre("Juan")
+                .apellido("Sanchez")
+                .email("js@mail.com")
+                .build();
+
+        given(empleadoService.patchEmpleado(eq(empleadoId), any(Empleado.class), eq(3L)))
+                .willReturn(Optional.of(4L));
+
+        // when
+        ResultActions response = mockMvc.perform(put("/api/empleados/{id}", empleadoId)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleadoActualizado)));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string("ETag", "W/\"4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
+    @Test
+    void testActualizarEmpleadoConVersionObsoleta() throws Exception {
+        // given
+        long empleadoId = 1L;
+        Empleado empleadoActualizado = Empleado.builder()
+                .nombre("Juan")
+                .apellido("Sanchez")
+                .email("js@mail.com")
+                .build();
+
+        given(empleadoService.patchEmpleado(eq(empleadoId), any(Empleado.class), eq(2L)))
+                .willThrow(new ConflictoVersionException(empleadoId));
+
+        // when
+        ResultActions response = mockMvc.perform(put("/api/empleados/{id}", empleadoId)
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleadoActualizado)));
+
+        // then
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @Test
+    void testActualizarEmpleadoConIfMatchInvalido() throws Exception {
+        // given
+        long empleadoId = 1L;
+        Empleado empleadoActualizado = Empleado.builder()
+                .nombre("Juan")
+                .apellido("Sanchez")
+                .email("js@mail.com")
+                .build();
+
+        // when
+        ResultActions response = mockMvc.perform(put("/api/empleados/{id}", empleadoId)
+                .header("If-Match", "\"abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleadoActualizado)));
+
+        // then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(empleadoService, never()).patchEmpleado(anyLong(), any(Empleado.class), any());
+    }
+
+    @Test
+    void testActualizarEmpleadoIncompleto() throws Exception {
+        // given
+        long empleadoId = 1L;
+        Empleado empleadoActualizado = Empleado.builder()
+                .nombre("Juan")
+                .build();
+
+        // when
+        ResultActions response = mockMvc.perform(put("/api/empleados/{id}", empleadoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleadoActualizado)));
+
+        // then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(empleadoService, never()).patchEmpleado(anyLong(), any(Empleado.class), any());
     }
 
     @Test
@@ -163,31 +723,81 @@ public class EmpleadoControllerTests {
                 .email("amandabaker@mail.com")
                 .build();
 
-        given(empleadoService.getEmpleadoById(empleadoId)).willReturn(Optional.empty());
-        given(empleadoService.updateEmpleado(any(Empleado.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        given(empleadoService.patchEmpleado(eq(empleadoId), any(Empleado.class), isNull()))
+                .willReturn(Optional.empty());
 
         // when
         ResultActions response = mockMvc.perform(put("/api/empleados/{id}", empleadoId)
                 .contentType(MediaType.APPLICATION_JSON)
-                .contentType(objectMapper.writeValueAsString(empleadoActualizado)));
+                .content(objectMapper.writeValueAsString(empleadoActualizado)));
 
         // then
         response.andExpect(status().isNotFound())
                 .andDo(print());
     }
 
+    @Test
+    void testActualizarEmpleadoParcial() throws Exception {
+        // given
+        long empleadoId = 1L;
+        given(empleadoService.patchEmpleado(eq(empleadoId), any(Empleado.class), eq(7L)))
+                .willReturn(Optional.of(8L));
+
+        // when
+        ResultActions response = mockMvc.perform(patch("/api/empleados/{id}", empleadoId)
+                .header("If-Match", "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nuevo@mail.com\"}"));
+
+        // then
+        response.andExpect(status().isNoContent())
+                .andDo(print())
+                .andExpect(header().string("ETag", "W/\"8\""));
+    }
+
     @Test
     void testEliminarEmpleado() throws Exception {
         // given
         long empleadoId = 1L;
-        willDoNothing().given(empleadoService).deleteEmpleado(empleadoId);
+        given(empleadoService.deleteEmpleado(empleadoId)).willReturn(true);
 
         // when
         ResultActions response = mockMvc.perform(delete("/api/empleados/{id}", empleadoId));
 
         // then
-        response.andExpect(status().isOk())
+        response.andExpect(status().isNoContent())
+                .andDo(print());
+    }
+
+    @Test
+    void testEliminarEmpleadoNoEncontrado() throws Exception {
+        // given
+        long empleadoId = 1L;
+        given(empleadoService.deleteEmpleado(empleadoId)).willReturn(false);
+
+        // when
+        ResultActions response = mockMvc.perform(delete("/api/empleados/{id}", empleadoId));
+
+        // then
+        response.andExpect(status().isNotFound())
                 .andDo(print());
     }
+
+    @Test
+    void testEliminarEmpleadosEnLote() throws Exception {
+        // given
+        List<Long> ids = List.of(1L, 2L, 3L);
+        given(empleadoService.deleteEmpleados(ids)).willReturn(2);
+
+        // when
+        ResultActions response = mockMvc.perform(delete("/api/empleados")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.solicitados", is(3)))
+                .andExpect(jsonPath("$.eliminados", is(2)));
+    }
 }
\ No newline at end of file
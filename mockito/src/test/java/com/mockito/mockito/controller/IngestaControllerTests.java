@@ -0,0 +1,91 @@
+package com.mockito.mockito.controller;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mockito.mockito.dto.EstadoIngesta;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.IngestaSaturadaException;
+import com.mockito.mockito.service.IngestaEmpleados;
+
+@WebMvcTest(controllers = IngestaController.class, properties = "empleados.ingesta.enabled=true")
+public class IngestaControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IngestaEmpleados ingestaEmpleados;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Empleado empleado = Empleado.builder()
+            .nombre("James")
+            .apellido("Clark")
+            .email("jamesclark@mail.com")
+            .build();
+
+    @Test
+    void testEncolarEmpleado() throws Exception {
+        // given
+        EstadoIngesta pendiente = EstadoIngesta.pendiente(UUID.randomUUID());
+        given(ingestaEmpleados.encolar(any(Empleado.class))).willReturn(pendiente);
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/ingesta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleado)));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/empleados/ingesta/" + pendiente.id())))
+                .andExpect(jsonPath("$.estado", is("PENDIENTE")));
+    }
+
+    @Test
+    void testEncolarEmpleadoConColaLlena() throws Exception {
+        // given
+        given(ingestaEmpleados.encolar(any(Empleado.class))).willThrow(new IngestaSaturadaException("La cola de ingesta esta llena"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/ingesta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(empleado)));
+
+        // then
+        response.andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testObtenerEstadoDesconocido() throws Exception {
+        // given
+        UUID id = UUID.randomUUID();
+        given(ingestaEmpleados.estado(id)).willReturn(Optional.empty());
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/empleados/ingesta/{id}", id));
+
+        // then
+        response.andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,227 @@
+package com.mockito.mockito.controller;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.service.EmpleadoService;
+import com.mockito.mockito.service.TransferenciaEmpleados;
+
+@WebMvcTest(TransferenciaController.class)
+@Import(TransferenciaEmpleados.class)
+public class TransferenciaControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmpleadoService empleadoService;
+
+    // Crea todo lo que recibe salvo el email repetido.com, que reporta como duplicado
+    private void responderCarga() {
+        given(empleadoService.saveEmpleados(anyList())).willAnswer(invocacion -> {
+            List<Empleado> empleados = invocacion.getArgument(0);
+            List<ResultadoCarga> resultados = new ArrayList<>();
+            for (int i = 0; i < empleados.size(); i++) {
+                String email = empleados.get(i).getEmail();
+                resultados.add(email.endsWith("@repetido.com")
+                        ? ResultadoCarga.duplicado(i, email)
+                        : ResultadoCarga.creado(i, 100L + i, email));
+            }
+            return resultados;
+        });
+    }
+
+    @Test
+    void testImportarCsv() throws Exception {
+        // given
+        responderCarga();
+        String csv = "nombre,apellido,email\r\n"
+                + "Daniel,Carter,danycarter@mail.com\r\n"
+                + "\"Allen, Kim\",\"O\"\"Neil\",kim@repetido.com\r\n"
+                + "Ryan,Davis\r\n"
+                + "\"Ana\nMaria\",Lopez,alopez@mail.com\n";
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/import")
+                .contentType("text/csv")
+                .content(csv));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas", is(4)))
+                .andExpect(jsonPath("$.creados", is(2)))
+                .andExpect(jsonPath("$.rechazados", is(2)))
+                .andExpect(jsonPath("$.errores[0].fila", is(4)))
+                .andExpect(jsonPath("$.errores[0].estado", is("INVALIDO")))
+                .andExpect(jsonPath("$.errores[1].fila", is(3)))
+                .andExpect(jsonPath("$.errores[1].estado", is("DUPLICADO")));
+    }
+
+    @Test
+    void testImportarCsvSinColumnaObligatoria() throws Exception {
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/import")
+                .contentType("text/csv")
+                .content("nombre,apellido\r\nDaniel,Carter\r\n"));
+
+        // then
+        response.andExpect(status().isBadRequest());
+        verify(empleadoService, never()).saveEmpleados(anyList());
+    }
+
+    @Test
+    void testImportarNdjson() throws Exception {
+        // given
+        responderCarga();
+        String ndjson = "{\"nombre\":\"Daniel\",\"apellido\":\"Carter\",\"email\":\"danycarter@mail.com\"}\n"
+                + "{\"nombre\":\"Kim\",\n"
+                + "\n"
+                + "{\"nombre\":\"Ryan\",\"apellido\":\"Davis\",\"email\":\"ryan@repetido.com\"}\n";
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/import")
+                .contentType("application/x-ndjson")
+                .content(ndjson));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas", is(3)))
+                .andExpect(jsonPath("$.creados", is(1)))
+                .andExpect(jsonPath("$.errores[0].fila", is(2)))
+                .andExpect(jsonPath("$.errores[1].fila", is(4)));
+    }
+
+    @Test
+    void testImportarCsvConLoteFallido() throws Exception {
+        // given
+        given(empleadoService.saveEmpleados(anyList()))
+                .willThrow(new DataIntegrityViolationException("could not execute statement"))
+                .willAnswer(invocacion -> {
+                    List<Empleado> empleados = invocacion.getArgument(0);
+                    List<ResultadoCarga> resultados = new ArrayList<>();
+                    for (int i = 0; i < empleados.size(); i++) {
+                        resultados.add(ResultadoCarga.creado(i, 100L + i, empleados.get(i).getEmail()));
+                    }
+                    return resultados;
+                });
+        StringBuilder csv = new StringBuilder("nombre,apellido,email\r\n");
+        for (int i = 0; i < 502; i++) {
+            csv.append("Nombre").append(i).append(",Apellido,empleado").append(i).append("@mail.com\r\n");
+        }
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/import")
+                .contentType("text/csv")
+                .content(csv.toString()));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas", is(502)))
+                .andExpect(jsonPath("$.creados", is(2)))
+                .andExpect(jsonPath("$.rechazados", is(500)))
+                .andExpect(jsonPath("$.errores[0].fila", is(2)))
+                .andExpect(jsonPath("$.errores[0].estado", is("ERROR")))
+                .andExpect(jsonPath("$.errores[0].email", is("empleado0@mail.com")))
+                .andExpect(jsonPath("$.errores[499].fila", is(501)));
+    }
+
+    @Test
+    void testImportarCsvConRegistrosIlegibles() throws Exception {
+        // given
+        responderCarga();
+        String csv = "nombre,apellido,email\r\n"
+                + "Daniel,Carter,danycarter@mail.com\r\n"
+                + "Ana," + "x".repeat(5000) + ",ana@mail.com\r\n"
+                + "Ryan,Davis,ryan@mail.com\r\n"
+                + "\"Kim,O'Neil,kim@mail.com\r\n"
+                + "Otro,Mas,otro@mail.com\r\n";
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/import")
+                .contentType("text/csv")
+                .content(csv));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas", is(4)))
+                .andExpect(jsonPath("$.creados", is(2)))
+                .andExpect(jsonPath("$.rechazados", is(2)))
+                .andExpect(jsonPath("$.errores[0].fila", is(3)))
+                .andExpect(jsonPath("$.errores[0].estado", is("INVALIDO")))
+                .andExpect(jsonPath("$.errores[0].mensaje", containsString("campo 2")))
+                .andExpect(jsonPath("$.errores[1].fila", is(5)))
+                .andExpect(jsonPath("$.errores[1].estado", is("INVALIDO")))
+                .andExpect(jsonPath("$.errores[1].mensaje", containsString("Comillas sin cerrar")));
+    }
+
+    @Test
+    void testImportarNdjsonConLineaDemasiadoLarga() throws Exception {
+        // given
+        responderCarga();
+        String ndjson = "{\"nombre\":\"" + "x".repeat(10_000) + "\",\"apellido\":\"A\",\"email\":\"largo@mail.com\"}\r\n"
+                + "{\"nombre\":\"Daniel\",\"apellido\":\"Carter\",\"email\":\"danycarter@mail.com\"}\r\n";
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/empleados/import")
+                .contentType("application/x-ndjson")
+                .content(ndjson));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.filas", is(2)))
+                .andExpect(jsonPath("$.creados", is(1)))
+                .andExpect(jsonPath("$.errores[0].fila", is(1)))
+                .andExpect(jsonPath("$.errores[0].estado", is("INVALIDO")));
+    }
+
+    @Test
+    void testExportarCsv() throws Exception {
+        // given
+        willAnswer(invocation -> {
+            Consumer<Empleado> consumidor = invocation.getArgument(0);
+            consumidor.accept(Empleado.builder().id(1L).nombre("Daniel").apellido("Carter").email("danycarter@mail.com").build());
+            consumidor.accept(Empleado.builder().id(2L).nombre("Allen, Kim").apellido("O\"Neil").email("kim@mail.com").build());
+            return null;
+        }).given(empleadoService).streamEmpleados(any());
+
+        // when
+        MvcResult resultado = mockMvc.perform(get("/api/empleados/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", containsString("empleados.csv")))
+                .andExpect(content().string("id,nombre,apellido,email\r\n"
+                        + "1,Daniel,Carter,danycarter@mail.com\r\n"
+                        + "2,\"Allen, Kim\",\"O\"\"Neil\",kim@mail.com\r\n"));
+    }
+}
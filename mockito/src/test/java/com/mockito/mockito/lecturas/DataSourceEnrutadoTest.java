@@ -0,0 +1,123 @@
+package com.mockito.mockito.lecturas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class DataSourceEnrutadoTest {
+
+    private final DataSource primario = mock(DataSource.class);
+
+    private final ReplicaLectura replica0 = new ReplicaLectura("replica-0", mock(DataSource.class));
+
+    private final ReplicaLectura replica1 = new ReplicaLectura("replica-1", mock(DataSource.class));
+
+    private DataSourceEnrutado enrutado;
+
+    @BeforeEach
+    void setup() {
+        enrutado = new DataSourceEnrutado(primario, List.of(replica0, replica1));
+        enrutado.afterPropertiesSet();
+        replica0.marcar(true);
+        replica1.marcar(true);
+    }
+
+    @AfterEach
+    void limpiar() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        LecturaPropia.limpiar();
+    }
+
+    @DisplayName("Test para enviar al primario las conexiones fuera de una transaccion readOnly")
+    @Test
+    void testEscriturasAlPrimario() {
+        // when
+        String destino = enrutado.elegir();
+
+        // then
+        assertThat(destino).isEqualTo(DataSourceEnrutado.PRIMARIO);
+    }
+
+    @DisplayName("Test para repartir las lecturas entre las replicas sanas")
+    @Test
+    void testRepartirLecturasEntreReplicasSanas() {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        List<String> destinos = List.of(enrutado.elegir(), enrutado.elegir());
+        replica0.marcar(false);
+        List<String> sinReplica0 = List.of(enrutado.elegir(), enrutado.elegir());
+        replica1.marcar(false);
+
+        // then
+        assertThat(destinos).containsExactlyInAnyOrder("replica-0", "replica-1");
+        assertThat(sinReplica0).containsOnly("replica-1");
+        assertThat(enrutado.elegir()).isEqualTo(DataSourceEnrutado.PRIMARIO);
+    }
+
+    @DisplayName("Test para leer del primario dentro de la ventana de lectura propia")
+    @Test
+    void testLecturaPropiaAlPrimario() {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        LecturaPropia.extender(System.currentTimeMillis() + 60_000);
+
+        // when
+        String destino = enrutado.elegir();
+
+        // then
+        assertThat(destino).isEqualTo(DataSourceEnrutado.PRIMARIO);
+    }
+
+    @DisplayName("Test para leer del primario y sacar la replica cuando no entrega conexion")
+    @Test
+    void testReplicaSinConexion() throws SQLException {
+        // given
+        Connection conexion = mock(Connection.class);
+        given(primario.getConnection()).willReturn(conexion);
+        given(replica0.dataSource().getConnection()).willThrow(new SQLException("Connection is not available"));
+        given(replica1.dataSource().getConnection()).willThrow(new SQLException("Connection is not available"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        Connection obtenida = enrutado.getConnection();
+
+        // then
+        assertThat(obtenida).isSameAs(conexion);
+        assertThat(enrutado.replicasSanas()).isEqualTo(1);
+        assertThat(enrutado.conexiones(DataSourceEnrutado.PRIMARIO)).isEqualTo(1);
+    }
+
+    @DisplayName("Test para marcar las replicas segun responden a la verificacion")
+    @Test
+    void testMonitorMarcaReplicas() throws SQLException {
+        // given
+        Connection valida = mock(Connection.class);
+        given(valida.isValid(anyInt())).willReturn(true);
+        given(replica0.dataSource().getConnection()).willReturn(valida);
+        given(replica1.dataSource().getConnection()).willThrow(new SQLException("Connection refused"));
+        MonitorReplicas monitor = new MonitorReplicas(List.of(replica0, replica1), Duration.ofSeconds(5), Duration.ofSeconds(1));
+
+        // when
+        monitor.verificar();
+
+        // then
+        assertThat(replica0.sana()).isTrue();
+        assertThat(replica1.sana()).isFalse();
+    }
+}
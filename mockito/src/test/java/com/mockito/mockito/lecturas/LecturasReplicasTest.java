@@ -0,0 +1,112 @@
+package com.mockito.mockito.lecturas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.repository.EmpleadoRepository;
+import com.mockito.mockito.service.EmpleadoService;
+
+import jakarta.servlet.http.Cookie;
+
+// Las replicas apuntan a la misma base H2 que el primario; el destino se ve en los contadores del enrutador
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lecturas;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "empleados.lecturas.enabled=true",
+        "empleados.lecturas.replicas[0].url=jdbc:h2:mem:lecturas;DB_CLOSE_DELAY=-1",
+        "empleados.lecturas.replicas[1].url=jdbc:h2:mem:lecturas;DB_CLOSE_DELAY=-1",
+        "empleados.lecturas.replicas[1].pool=2" })
+@AutoConfigureMockMvc
+public class LecturasReplicasTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DataSourceEnrutado enrutado;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void limpiar() {
+        LecturaPropia.limpiar();
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    private long lecturasEnReplicas() {
+        return enrutado.conexiones("replica-0") + enrutado.conexiones("replica-1");
+    }
+
+    @DisplayName("Test para leer de las replicas en las transacciones readOnly")
+    @Test
+    void testLecturasEnReplicas() {
+        // given
+        long replica0 = enrutado.conexiones("replica-0");
+        long replica1 = enrutado.conexiones("replica-1");
+
+        // when
+        empleadoService.getEmpleadosAfter(0, 10);
+        empleadoService.getEmpleadosAfter(0, 10);
+
+        // then
+        assertThat(enrutado.replicasSanas()).isEqualTo(2);
+        assertThat(enrutado.conexiones("replica-0")).isEqualTo(replica0 + 1);
+        assertThat(enrutado.conexiones("replica-1")).isEqualTo(replica1 + 1);
+    }
+
+    @DisplayName("Test para leer del primario despues de escribir en el mismo hilo")
+    @Test
+    void testLeerLoPropioDelPrimario() {
+        // given
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Irene").apellido("Mora").email("irenemora@mail.com").build());
+        long replicas = lecturasEnReplicas();
+        long primario = enrutado.conexiones(DataSourceEnrutado.PRIMARIO);
+
+        // when
+        assertThat(empleadoService.getEmpleadosAfter(0, 10)).extracting(Empleado::getId).contains(guardado.getId());
+
+        // then
+        assertThat(lecturasEnReplicas()).isEqualTo(replicas);
+        assertThat(enrutado.conexiones(DataSourceEnrutado.PRIMARIO)).isEqualTo(primario + 1);
+    }
+
+    @DisplayName("Test para mantener las lecturas en el primario mientras la cookie siga vigente")
+    @Test
+    void testCookieLecturaPropia() throws Exception {
+        // given
+        Cookie escritura = mockMvc.perform(post("/api/empleados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Jorge\",\"apellido\":\"Paz\",\"email\":\"jorgepaz@mail.com\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(FiltroLecturaPropia.COOKIE))
+                .andReturn().getResponse().getCookie(FiltroLecturaPropia.COOKIE);
+        long replicas = lecturasEnReplicas();
+
+        // when
+        mockMvc.perform(get("/api/empleados").cookie(escritura)).andExpect(status().isOk());
+        long conCookie = lecturasEnReplicas();
+        mockMvc.perform(get("/api/empleados")).andExpect(status().isOk());
+
+        // then
+        assertThat(conCookie).isEqualTo(replicas);
+        assertThat(lecturasEnReplicas()).isGreaterThan(replicas);
+    }
+}
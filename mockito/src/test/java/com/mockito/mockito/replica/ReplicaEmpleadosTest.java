@@ -0,0 +1,132 @@
+package com.mockito.mockito.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mockito.mockito.entities.Empleado;
+
+public class ReplicaEmpleadosTest {
+
+    private ReplicaEmpleados replica;
+
+    @BeforeEach
+    void setup() {
+        replica = new ReplicaEmpleados();
+    }
+
+    private static Empleado empleado(long id, long version) {
+        return Empleado.builder()
+                .id(id)
+                .version(version)
+                .nombre("Nombre" + id)
+                .apellido("Apellido" + id)
+                .email("empleado" + id + "@mail.com")
+                .build();
+    }
+
+    @DisplayName("Test para obtener un empleado de la replica por ID y por email")
+    @Test
+    void testObtenerPorIdYEmail() {
+        // given
+        replica.poner(Empleado.builder().id(7L).version(0L).nombre("José").apellido("Núñez").email("jnunez@mail.com").build());
+
+        // when
+        Empleado porId = replica.porId(7L).get();
+        Empleado porEmail = replica.porEmail("jnunez@mail.com").get();
+
+        // then
+        assertThat(porId.getNombre()).isEqualTo("José");
+        assertThat(porId.getApellido()).isEqualTo("Núñez");
+        assertThat(porId.getVersion()).isZero();
+        assertThat(porEmail.getId()).isEqualTo(7L);
+        assertThat(replica.porId(8L)).isEmpty();
+        assertThat(replica.porEmail("otro@mail.com")).isEmpty();
+    }
+
+    @DisplayName("Test para reindexar el email al actualizar e ignorar versiones viejas")
+    @Test
+    void testActualizarEmail() {
+        // given
+        replica.poner(empleado(1L, 0L));
+
+        // when
+        replica.actualizarCampos(1L, Empleado.builder().email("nuevo@mail.com").build(), 1L);
+        replica.poner(empleado(1L, 0L));
+
+        // then
+        assertThat(replica.porEmail("empleado1@mail.com")).isEmpty();
+        assertThat(replica.porEmail("nuevo@mail.com").get().getVersion()).isEqualTo(1L);
+        assertThat(replica.porId(1L).get().getNombre()).isEqualTo("Nombre1");
+        assertThat(replica.filas()).isEqualTo(1);
+    }
+
+    @DisplayName("Test para ignorar un PATCH que llega despues de otro mas nuevo")
+    @Test
+    void testIgnorarPatchAtrasado() {
+        // given
+        replica.poner(empleado(1L, 0L));
+
+        // when
+        replica.actualizarCampos(1L, Empleado.builder().nombre("Segundo").build(), 2L);
+        replica.actualizarCampos(1L, Empleado.builder().nombre("Primero").apellido("Viejo").build(), 1L);
+
+        // then
+        Empleado empleado = replica.porId(1L).get();
+        assertThat(empleado.getNombre()).isEqualTo("Segundo");
+        assertThat(empleado.getApellido()).isEqualTo("Apellido1");
+        assertThat(empleado.getVersion()).isEqualTo(2L);
+    }
+
+    @DisplayName("Test para no revivir un empleado cuyo borrado llega antes que el alta")
+    @Test
+    void testBorradoAntesQueElAlta() {
+        // given
+        replica.poner(empleado(2L, 0L));
+
+        // when
+        replica.quitar(1L);
+        replica.poner(empleado(1L, 0L));
+        replica.actualizarCampos(1L, Empleado.builder().nombre("Tarde").build(), 1L);
+        replica.quitar(2L);
+        replica.poner(empleado(2L, 1L));
+
+        // then
+        assertThat(replica.porId(1L)).isEmpty();
+        assertThat(replica.porEmail("empleado1@mail.com")).isEmpty();
+        assertThat(replica.porId(2L)).isEmpty();
+        assertThat(replica.porEmail("empleado2@mail.com")).isEmpty();
+        assertThat(replica.filas()).isZero();
+    }
+
+    @DisplayName("Test para eliminar, crecer y compactar con muchas filas")
+    @Test
+    void testMuchasFilas() {
+        // given
+        int total = 50_000;
+        for (long id = 1; id <= total; id++) {
+            replica.poner(empleado(id, 0L));
+        }
+
+        // when
+        for (long id = 1; id <= total; id += 2) {
+            replica.quitar(id);
+        }
+        for (int vuelta = 1; vuelta <= 3; vuelta++) {
+            for (long id = 2; id <= total; id += 2) {
+                replica.poner(empleado(id, vuelta));
+            }
+        }
+
+        // then
+        assertThat(replica.filas()).isEqualTo(total / 2);
+        for (long id = 1; id <= total; id++) {
+            assertThat(replica.porId(id).isPresent()).isEqualTo(id % 2 == 0);
+            assertThat(replica.porEmail("empleado" + id + "@mail.com").isPresent()).isEqualTo(id % 2 == 0);
+        }
+        assertThat(replica.porId(total).get().getVersion()).isEqualTo(3L);
+        assertThat(replica.bytesRetenidos()).isLessThan(8L * ReplicaEmpleados.TAMANIO_PAGINA);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mockito.mockito.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.events.EmpleadoModificadoEvent;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.events.EmpleadosGuardadosEvent;
+import com.mockito.mockito.service.EmpleadoService;
+
+@ExtendWith(MockitoExtension.class)
+public class SincronizadorReplicaTest {
+
+    @Mock
+    private EmpleadoService empleadoService;
+
+    private ReplicaEmpleados replica;
+
+    private SincronizadorReplica sincronizador;
+
+    @BeforeEach
+    void setup() {
+        replica = new ReplicaEmpleados();
+        sincronizador = new SincronizadorReplica(replica, empleadoService);
+    }
+
+    private static Empleado empleado(long id, long version, String nombre) {
+        return Empleado.builder()
+                .id(id)
+                .version(version)
+                .nombre(nombre)
+                .apellido("Apellido" + id)
+                .email("empleado" + id + "@mail.com")
+                .build();
+    }
+
+    @DisplayName("Test para aplicar al terminar la carga los cambios confirmados mientras corria")
+    @Test
+    void testCambiosDuranteLaCarga() {
+        // given
+        willAnswer(invocacion -> {
+            Consumer<Empleado> consumidor = invocacion.getArgument(0);
+            consumidor.accept(empleado(1L, 0L, "Uno"));
+            // Se confirman antes de que la carga llegue a las filas 2 y 3, y a la 1 ya la leyo
+            sincronizador.eliminados(new EmpleadosEliminadosEvent(List.of(2L)));
+            sincronizador.modificado(new EmpleadoModificadoEvent(3L, Empleado.builder().nombre("Tres nuevo").build(), 1L));
+            sincronizador.modificado(new EmpleadoModificadoEvent(1L, Empleado.builder().nombre("Uno nuevo").build(), 1L));
+            sincronizador.guardados(new EmpleadosGuardadosEvent(List.of(empleado(4L, 0L, "Cuatro"))));
+            assertThat(replica.porId(4L)).isEmpty();
+            // La carga lee lo que habia en su instantanea
+            consumidor.accept(empleado(2L, 0L, "Dos"));
+            consumidor.accept(empleado(3L, 0L, "Tres"));
+            return null;
+        }).given(empleadoService).streamEmpleados(any());
+
+        // when
+        sincronizador.cargar();
+
+        // then
+        assertThat(replica.lista()).isTrue();
+        assertThat(replica.porId(1L).get().getNombre()).isEqualTo("Uno nuevo");
+        assertThat(replica.porId(2L)).isEmpty();
+        assertThat(replica.porId(3L).get().getNombre()).isEqualTo("Tres nuevo");
+        assertThat(replica.porId(3L).get().getVersion()).isEqualTo(1L);
+        assertThat(replica.porId(4L).get().getNombre()).isEqualTo("Cuatro");
+        assertThat(replica.filas()).isEqualTo(3);
+    }
+
+    @DisplayName("Test para aplicar los cambios enseguida una vez terminada la carga")
+    @Test
+    void testCambiosDespuesDeLaCarga() {
+        // given
+        sincronizador.cargar();
+
+        // when
+        sincronizador.guardados(new EmpleadosGuardadosEvent(List.of(empleado(5L, 0L, "Cinco"))));
+
+        // then
+        assertThat(replica.porId(5L).get().getNombre()).isEqualTo("Cinco");
+    }
+}
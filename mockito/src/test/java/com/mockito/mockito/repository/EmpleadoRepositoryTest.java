@@ -4,13 +4,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.EmpleadoResumen;
+import com.mockito.mockito.dto.FiltroEmpleado;
 import com.mockito.mockito.entities.Empleado;
 
 @DataJpaTest
@@ -19,6 +27,9 @@ public class EmpleadoRepositoryTest {
     @Autowired
     private EmpleadoRepository empleadoRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Empleado empleado;
 
     @BeforeEach
@@ -69,6 +80,114 @@ public class EmpleadoRepositoryTest {
         assertThat(listaEmpleados.size()).isEqualTo(2);
     }
 
+    @DisplayName("Test para listar empleados por pagina despues de un ID")
+    @Test
+    void testListarEmpleadosDespuesDeId() {
+        // given
+        Empleado empleado2 = Empleado.builder()
+                .nombre("Sergio")
+                .apellido("Rodriguez")
+                .email("checordz@mail.com")
+                .build();
+        Empleado empleado3 = Empleado.builder()
+                .nombre("Lucia")
+                .apellido("Mendez")
+                .email("lmendez@mail.com")
+                .build();
+
+        empleadoRepository.save(empleado);
+        empleadoRepository.save(empleado2);
+        empleadoRepository.save(empleado3);
+
+        // when
+        List<Empleado> pagina = empleadoRepository.findByIdGreaterThanOrderByIdAsc(empleado.getId(), PageRequest.ofSize(1));
+
+        // then
+        assertThat(pagina).extracting(Empleado::getEmail).containsExactly("checordz@mail.com");
+    }
+
+    @DisplayName("Test para listar el resumen de empleados sin cargar entidades")
+    @Test
+    void testListarResumenEmpleados() {
+        // given
+        empleadoRepository.save(empleado);
+        empleadoRepository.save(Empleado.builder().nombre("Karen").apellido("Garcia").email("karengarcia@mail.com").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<EmpleadoResumen> resumenes = empleadoRepository.listarResumen(0L, 10, Set.of("nombre", "apellido"));
+        List<EmpleadoResumen> soloEmail = empleadoRepository.listarResumen(empleado.getId(), 10, Set.of("email"));
+
+        // then
+        assertThat(resumenes).containsExactly(
+                new EmpleadoResumen(empleado.getId(), "David", "Anderson", null),
+                new EmpleadoResumen(resumenes.get(1).id(), "Karen", "Garcia", null));
+        assertThat(soloEmail).containsExactly(
+                new EmpleadoResumen(resumenes.get(1).id(), null, null, "karengarcia@mail.com"));
+        assertThat(entityManager.getEntityManager().contains(empleado)).isFalse();
+    }
+
+    @DisplayName("Test para buscar empleados por prefijo de apellido y dominio del email")
+    @Test
+    void testBuscarEmpleados() {
+        // given
+        empleadoRepository.save(empleado);
+        empleadoRepository.save(Empleado.builder().nombre("Karen").apellido("Garcia").email("karengarcia@mail.com").build());
+        empleadoRepository.save(Empleado.builder().nombre("Ana").apellido("Garza").email("agarza@Mail.com").build());
+        empleadoRepository.save(Empleado.builder().nombre("Luis").apellido("Garcia").email("lgarcia@otro.com").build());
+
+        // when
+        Slice<Empleado> pagina = empleadoRepository.buscar(new FiltroEmpleado(null, "Gar*", null, "mail.com"), null,
+                PageRequest.of(0, 1, Sort.by("nombre")));
+
+        // then
+        assertThat(pagina.getContent()).extracting(Empleado::getNombre).containsExactly("Ana");
+        assertThat(pagina.hasNext()).isTrue();
+    }
+
+    @DisplayName("Test para paginar una busqueda por llave sobre la columna de orden y el id")
+    @Test
+    void testBuscarEmpleadosDespuesDelCursor() {
+        // given
+        Empleado primero = empleadoRepository.save(Empleado.builder().nombre("Ana").apellido("Garcia").email("agarcia@mail.com").build());
+        Empleado segundo = empleadoRepository.save(Empleado.builder().nombre("Luis").apellido("Garcia").email("lgarcia@mail.com").build());
+        Empleado tercero = empleadoRepository.save(Empleado.builder().nombre("Karen").apellido("Garza").email("kgarza@mail.com").build());
+        Empleado cuarto = empleadoRepository.save(Empleado.builder().nombre("Beto").apellido("Gamez").email("bgamez@mail.com").build());
+        FiltroEmpleado filtro = new FiltroEmpleado(null, "Ga*", null, null);
+
+        // when
+        Slice<Empleado> ascendente = empleadoRepository.buscar(filtro, CursorBusqueda.despuesDe(primero, "apellido"),
+                PageRequest.of(0, 10, Sort.by("apellido")));
+        Slice<Empleado> descendente = empleadoRepository.buscar(filtro, CursorBusqueda.despuesDe(tercero, "apellido"),
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "apellido")));
+        Slice<Empleado> porId = empleadoRepository.buscar(filtro, CursorBusqueda.despuesDe(segundo, "id"),
+                PageRequest.of(0, 10));
+
+        // then
+        assertThat(ascendente.getContent()).extracting(Empleado::getId).containsExactly(segundo.getId(), tercero.getId());
+        assertThat(descendente.getContent()).extracting(Empleado::getId).containsExactly(primero.getId());
+        assertThat(descendente.hasNext()).isTrue();
+        assertThat(porId.getContent()).extracting(Empleado::getId).containsExactly(tercero.getId(), cuarto.getId());
+    }
+
+    @DisplayName("Test para buscar empleados por igualdad sin tratar el guion bajo como comodin")
+    @Test
+    void testBuscarEmpleadosPorIgualdad() {
+        // given
+        empleadoRepository.save(empleado);
+        empleadoRepository.save(Empleado.builder().nombre("Dav_d").apellido("Perez").email("dperez@mail.com").build());
+
+        // when
+        Slice<Empleado> exacto = empleadoRepository.buscar(new FiltroEmpleado("David", null, null, null), null, PageRequest.of(0, 10));
+        Slice<Empleado> prefijo = empleadoRepository.buscar(new FiltroEmpleado("Dav_*", null, null, null), null, PageRequest.of(0, 10));
+
+        // then
+        assertThat(exacto.getContent()).extracting(Empleado::getEmail).containsExactly("davidanderson@mail.com");
+        assertThat(prefijo.getContent()).extracting(Empleado::getEmail).containsExactly("dperez@mail.com");
+        assertThat(prefijo.hasNext()).isFalse();
+    }
+
     @DisplayName("Test para obtener un empleado por ID")
     @Test
     void testObtenerEmpleadoPorId() {
@@ -94,6 +213,37 @@ public class EmpleadoRepositoryTest {
         assertThat(empleadoActualizado.getEmail()).isEqualTo("willthompson@mail.com");
     }
 
+    @DisplayName("Test para actualizar solo los campos enviados")
+    @Test
+    void testActualizarCampos() {
+        empleadoRepository.saveAndFlush(empleado);
+        Long version = empleado.getVersion();
+
+        int filas = empleadoRepository.actualizarCampos(empleado.getId(),
+                Empleado.builder().nombre("William").build(), version);
+        entityManager.clear();
+
+        Empleado empleadoActualizado = empleadoRepository.findById(empleado.getId()).get();
+        assertThat(filas).isEqualTo(1);
+        assertThat(empleadoActualizado.getNombre()).isEqualTo("William");
+        assertThat(empleadoActualizado.getUltimaModificacion()).isAfterOrEqualTo(empleado.getUltimaModificacion());
+        assertThat(empleadoActualizado.getApellido()).isEqualTo("Anderson");
+        assertThat(empleadoActualizado.getVersion()).isEqualTo(version + 1);
+    }
+
+    @DisplayName("Test para no actualizar con una version obsoleta")
+    @Test
+    void testActualizarCamposConVersionObsoleta() {
+        empleadoRepository.saveAndFlush(empleado);
+        Long version = empleado.getVersion();
+        empleadoRepository.actualizarCampos(empleado.getId(), Empleado.builder().nombre("William").build(), version);
+
+        int filas = empleadoRepository.actualizarCampos(empleado.getId(),
+                Empleado.builder().nombre("Thomas").build(), version);
+
+        assertThat(filas).isEqualTo(0);
+    }
+
     @DisplayName("Test para eliminar un emplado")
     @Test
     void testEliminarEmpleado() {
@@ -104,4 +254,21 @@ public class EmpleadoRepositoryTest {
 
         assertThat(empleadoOptional).isEmpty();
     }
+
+    @DisplayName("Test para eliminar empleados por lista de IDs")
+    @Test
+    void testEliminarEmpleadosPorIds() {
+        Empleado empleado2 = Empleado.builder()
+                .nombre("Sergio")
+                .apellido("Rodriguez")
+                .email("checordz@mail.com")
+                .build();
+        empleadoRepository.save(empleado);
+        empleadoRepository.save(empleado2);
+
+        int eliminados = empleadoRepository.eliminarPorIds(List.of(empleado.getId(), empleado2.getId(), 999_999L));
+
+        assertThat(eliminados).isEqualTo(2);
+        assertThat(empleadoRepository.count()).isZero();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.mockito.mockito.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+public class AgrupadorConsultasTest {
+
+    private final List<List<Long>> lotes = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    private AgrupadorConsultas<Long, String> agrupador;
+
+    @AfterEach
+    void cerrar() {
+        liberar.countDown();
+        agrupador.close();
+    }
+
+    // El primer lote queda detenido hasta liberar, asi las solicitudes siguientes se acumulan
+    private AgrupadorConsultas<Long, String> crear(int maximoLote) {
+        return crear(maximoLote, Duration.ofSeconds(10));
+    }
+
+    private AgrupadorConsultas<Long, String> crear(int maximoLote, Duration espera) {
+        agrupador = new AgrupadorConsultas<>("prueba", ids -> {
+            lotes.add(ids);
+            if (lotes.size() == 1) {
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (ids.contains(-1L)) {
+                throw new IllegalStateException("fallo la consulta");
+            }
+            Map<Long, String> encontrados = new HashMap<>();
+            for (Long id : ids) {
+                if (id % 2 == 1) {
+                    encontrados.put(id, "empleado" + id);
+                }
+            }
+            return encontrados;
+        }, maximoLote, Duration.ZERO, espera, 1, null);
+        return agrupador;
+    }
+
+    private void esperarLotes(int cantidad) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lotes.size() < cantidad && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    @DisplayName("Test para agrupar solicitudes concurrentes en un solo lote")
+    @Test
+    void testAgruparSolicitudesConcurrentes() throws InterruptedException {
+        // given
+        crear(100);
+        CompletableFuture<Optional<String>> primera = agrupador.solicitar(1L);
+        esperarLotes(1);
+
+        // when
+        List<CompletableFuture<Optional<String>>> siguientes = new ArrayList<>();
+        for (long id = 2; id <= 6; id++) {
+            siguientes.add(agrupador.solicitar(id));
+        }
+        siguientes.add(agrupador.solicitar(3L));
+        liberar.countDown();
+
+        // then
+        assertThat(primera.join()).contains("empleado1");
+        assertThat(siguientes.get(1).join()).contains("empleado3");
+        assertThat(siguientes.get(0).join()).isEmpty();
+        assertThat(siguientes.get(5)).isSameAs(siguientes.get(1));
+        assertThat(lotes).containsExactly(List.of(1L), List.of(2L, 3L, 4L, 5L, 6L));
+    }
+
+    @DisplayName("Test para compartir el resultado de una llave en vuelo")
+    @Test
+    void testCompartirLlaveEnVuelo() throws InterruptedException {
+        // given
+        crear(100);
+        CompletableFuture<Optional<String>> primera = agrupador.solicitar(7L);
+        esperarLotes(1);
+
+        // when
+        CompletableFuture<Optional<String>> repetida = agrupador.solicitar(7L);
+        liberar.countDown();
+
+        // then
+        assertThat(repetida).isSameAs(primera);
+        assertThat(repetida.join()).contains("empleado7");
+        assertThat(lotes).hasSize(1);
+    }
+
+    @DisplayName("Test para dividir lotes que superan el maximo")
+    @Test
+    void testDividirLotesGrandes() throws InterruptedException {
+        // given
+        crear(3);
+        agrupador.solicitar(100L);
+        esperarLotes(1);
+
+        // when
+        List<CompletableFuture<Optional<String>>> solicitudes = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            solicitudes.add(agrupador.solicitar(id));
+        }
+        liberar.countDown();
+        solicitudes.forEach(CompletableFuture::join);
+
+        // then
+        assertThat(lotes).hasSize(3);
+        assertThat(lotes.subList(1, 3)).containsExactlyInAnyOrder(List.of(1L, 2L, 3L), List.of(4L, 5L));
+    }
+
+    @DisplayName("Test para propagar el error de la consulta a cada solicitud del lote")
+    @Test
+    void testPropagarErrorDeConsulta() {
+        // given
+        crear(100);
+        liberar.countDown();
+
+        // when
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> agrupador.cargar(-1L));
+
+        // then
+        assertThat(error).hasMessage("fallo la consulta");
+        assertThat(agrupador.cargar(9L)).contains("empleado9");
+    }
+
+    @DisplayName("Test para no esperar mas que el plazo cuando el lote no responde")
+    @Test
+    void testPlazoDeEspera() throws InterruptedException {
+        // given
+        crear(100, Duration.ofMillis(100));
+        agrupador.solicitar(1L);
+        esperarLotes(1);
+
+        // when
+        assertThrows(QueryTimeoutException.class, () -> agrupador.cargar(3L));
+        liberar.countDown();
+
+        // then
+        assertThat(agrupador.cargar(5L)).contains("empleado5");
+    }
+
+    @DisplayName("Test para fallar enseguida, y no solo la primera vez, si no se puede programar el lote")
+    @Test
+    void testFallarConEjecutorCerrado() {
+        // given
+        crear(100, Duration.ofSeconds(10));
+        agrupador.close();
+
+        // when / then
+        assertThrows(RejectedExecutionException.class, () -> agrupador.cargar(1L));
+        assertThrows(RejectedExecutionException.class, () -> agrupador.cargar(1L));
+        assertThrows(RejectedExecutionException.class, () -> agrupador.cargar(3L));
+    }
+}
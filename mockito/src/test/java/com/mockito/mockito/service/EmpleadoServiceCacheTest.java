@@ -0,0 +1,114 @@
+package com.mockito.mockito.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mockito.mockito.config.CacheConfig;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.repository.EmpleadoRepository;
+
+@SpringBootTest
+public class EmpleadoServiceCacheTest {
+
+    @MockBean
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Empleado empleado;
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache(CacheConfig.EMPLEADOS).clear();
+        empleado = Empleado.builder()
+                .id(1L)
+                .nombre("Michael")
+                .apellido("Smith")
+                .email("micksmith@mail.com")
+                .build();
+    }
+
+    @DisplayName("Test para obtener un empleado por ID desde el cache")
+    @Test
+    void testObtenerEmpleadoPorIdDesdeCache() {
+        // given
+        given(empleadoRepository.findById(1L)).willReturn(Optional.of(empleado));
+
+        // when
+        empleadoService.getEmpleadoById(1L);
+        Optional<Empleado> empleadoCacheado = empleadoService.getEmpleadoById(1L);
+
+        // then
+        assertThat(empleadoCacheado).contains(empleado);
+        verify(empleadoRepository, times(1)).findById(1L);
+    }
+
+    @DisplayName("Test para no guardar en cache un empleado inexistente")
+    @Test
+    void testNoCachearEmpleadoInexistente() {
+        // given
+        given(empleadoRepository.findById(2L)).willReturn(Optional.empty());
+
+        // when
+        empleadoService.getEmpleadoById(2L);
+        empleadoService.getEmpleadoById(2L);
+
+        // then
+        verify(empleadoRepository, times(2)).findById(2L);
+    }
+
+    @DisplayName("Test para invalidar el cache al eliminar un empleado")
+    @Test
+    void testEliminarEmpleadoInvalidaCache() {
+        // given
+        given(empleadoRepository.findById(1L)).willReturn(Optional.of(empleado));
+        empleadoService.getEmpleadoById(1L);
+
+        // when
+        empleadoService.deleteEmpleado(1L);
+        empleadoService.getEmpleadoById(1L);
+
+        // then
+        verify(empleadoRepository, times(2)).findById(1L);
+    }
+
+    @DisplayName("Test para no dejar en cache la fila que una lectura concurrente trae antes del commit")
+    @Test
+    void testLecturaAntesDelCommitNoQuedaEnCache() {
+        // given
+        given(empleadoRepository.findById(1L)).willReturn(Optional.of(empleado));
+        given(empleadoRepository.eliminarPorId(1L)).willReturn(1);
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.deleteEmpleado(1L);
+            // Otro hilo todavia ve la fila sin borrar y la cachea
+            CompletableFuture.runAsync(() -> empleadoService.getEmpleadoById(1L)).join();
+        });
+
+        // then
+        assertThat(cacheManager.getCache(CacheConfig.EMPLEADOS).get(1L)).isNull();
+    }
+}
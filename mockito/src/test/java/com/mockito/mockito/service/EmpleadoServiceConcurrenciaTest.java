@@ -0,0 +1,121 @@
+package com.mockito.mockito.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.dto.ResultadoCarga.Estado;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.repository.EmpleadoRepository;
+
+@SpringBootTest
+public class EmpleadoServiceConcurrenciaTest {
+
+    private static final int HILOS = 16;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @SpyBean
+    private EmpleadoRepository empleadoRepository;
+
+    @AfterEach
+    void limpiar() {
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("Test para guardar el mismo email en paralelo sin duplicados")
+    @Test
+    void testGuardarEmpleadoEnParaleloSinDuplicados() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Empleado>> intentos = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            Empleado empleado = Empleado.builder()
+                    .nombre("Paula" + i)
+                    .apellido("Ortiz")
+                    .email("paulaortiz@mail.com")
+                    .build();
+            Callable<Empleado> intento = () -> {
+                salida.await();
+                return empleadoService.saveEmpleado(empleado);
+            };
+            intentos.add(executor.submit(intento));
+        }
+
+        // when
+        salida.countDown();
+        int guardados = 0;
+        int rechazados = 0;
+        for (Future<Empleado> intento : intentos) {
+            try {
+                intento.get();
+                guardados++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(EmpleadoDuplicadoException.class);
+                rechazados++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(guardados).isEqualTo(1);
+        assertThat(rechazados).isEqualTo(HILOS - 1);
+        assertThat(empleadoRepository.findAll()).hasSize(1);
+    }
+
+    @DisplayName("Test para marcar como duplicado solo la fila cuyo email otra peticion guardo despues de la consulta del lote")
+    @Test
+    void testGuardarEnLoteConEmailTomadoEnParalelo() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean primeraConsulta = new AtomicBoolean(true);
+        // La consulta del lote no ve el email; otra peticion lo guarda antes de que el lote inserte
+        willAnswer(invocacion -> {
+            if (primeraConsulta.getAndSet(false)) {
+                executor.submit(() -> empleadoService.saveEmpleado(Empleado.builder()
+                        .nombre("Paula")
+                        .apellido("Ortiz")
+                        .email("paulaortiz@mail.com")
+                        .build())).get();
+            }
+            return Set.of();
+        }).given(empleadoRepository).findExistingEmails(any());
+        List<Empleado> lote = List.of(
+                Empleado.builder().nombre("James").apellido("Clark").email("jamesclark@mail.com").build(),
+                Empleado.builder().nombre("Paula").apellido("Ruiz").email("paulaortiz@mail.com").build(),
+                Empleado.builder().nombre("Laura").apellido("Hill").email("laurahill@mail.com").build());
+
+        // when
+        List<ResultadoCarga> resultados = empleadoService.saveEmpleados(lote);
+        executor.shutdown();
+
+        // then
+        assertThat(resultados).extracting(ResultadoCarga::estado)
+                .containsExactly(Estado.CREADO, Estado.DUPLICADO, Estado.CREADO);
+        assertThat(resultados.get(0).id()).isNotNull();
+        assertThat(empleadoRepository.findAll()).extracting(Empleado::getApellido)
+                .containsExactlyInAnyOrder("Clark", "Ortiz", "Hill");
+    }
+}
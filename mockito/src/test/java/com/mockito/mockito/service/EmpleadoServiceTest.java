@@ -2,35 +2,70 @@ package com.mockito.mockito.service;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.mockito.mockito.config.CacheConfig;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.dto.ResultadoCarga.Estado;
 import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.events.EmpleadosEliminadosEvent;
+import com.mockito.mockito.exceptions.ConflictoVersionException;
 import com.mockito.mockito.exceptions.ResourceNotFoundException;
 import com.mockito.mockito.repository.EmpleadoRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
 @ExtendWith(MockitoExtension.class)
 public class EmpleadoServiceTest {
 
     @Mock
     private EmpleadoRepository empleadoRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLEADOS);
+
     @InjectMocks
     private EmpleadoServiceImpl empleadoService;
 
@@ -50,23 +85,24 @@ public class EmpleadoServiceTest {
     @Test
     void testGuardarEmpleado() {
         // given
-        given(empleadoRepository.findByEmail(empleado.getEmail()))
-                .willReturn(Optional.empty());
-        given(empleadoRepository.save(empleado)).willReturn(empleado);
+        given(empleadoRepository.saveAndFlush(empleado)).willReturn(empleado);
 
         // when
         Empleado empleadoGuardado = empleadoService.saveEmpleado(empleado);
 
         // then
         assertThat(empleadoGuardado).isNotNull();
+        verify(empleadoRepository, never()).findByEmail(any());
     }
 
     @DisplayName("Test para guardar un empleado con Throw Exception")
     @Test
     void testGuardarEmpleadoConThrowException() {
         // given
-        given(empleadoRepository.findByEmail(empleado.getEmail()))
-                .willReturn(Optional.of(empleado));
+        given(empleadoRepository.saveAndFlush(empleado))
+                .willThrow(new DataIntegrityViolationException("email duplicado",
+                        new ConstraintViolationException("email duplicado", new SQLException(),
+                                "PUBLIC.UK_EMPLEADOS_EMAIL_INDEX_4")));
 
         // when
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -74,7 +110,57 @@ public class EmpleadoServiceTest {
         });
 
         // then
-        verify(empleadoRepository, never()).save(any(Empleado.class));
+        verify(empleadoRepository, never()).findByEmail(any());
+        assertThat(meterRegistry.counter("empleados.rechazos", "motivo", "email_duplicado").count()).isEqualTo(1);
+    }
+
+    @DisplayName("Test para propagar otras violaciones de integridad al guardar")
+    @Test
+    void testGuardarEmpleadoConOtraViolacion() {
+        // given
+        DataIntegrityViolationException violacion = new DataIntegrityViolationException("nombre nulo");
+        given(empleadoRepository.saveAndFlush(empleado)).willThrow(violacion);
+
+        // when
+        DataIntegrityViolationException lanzada = assertThrows(DataIntegrityViolationException.class, () -> {
+            empleadoService.saveEmpleado(empleado);
+        });
+
+        // then
+        assertThat(lanzada).isSameAs(violacion);
+    }
+
+    @DisplayName("Test para guardar empleados en lote")
+    @Test
+    void testGuardarEmpleadosEnLote() {
+        // given
+        Empleado existente = Empleado.builder()
+                .nombre("Jennifer")
+                .apellido("Oliva")
+                .email("jennyoliva@mail.com")
+                .build();
+        Empleado repetido = Empleado.builder()
+                .nombre("Michael")
+                .apellido("Smith")
+                .email("micksmith@mail.com")
+                .build();
+        Empleado sinApellido = Empleado.builder()
+                .nombre("Ana")
+                .email("ana@mail.com")
+                .build();
+
+        given(empleadoRepository.findExistingEmails(any()))
+                .willReturn(Set.of("jennyoliva@mail.com"));
+
+        // when
+        List<ResultadoCarga> resultados = empleadoService.saveEmpleados(List.of(empleado, existente, repetido, sinApellido));
+
+        // then
+        assertThat(resultados).extracting(ResultadoCarga::estado)
+                .containsExactly(Estado.CREADO, Estado.DUPLICADO, Estado.DUPLICADO, Estado.INVALIDO);
+        assertThat(resultados).extracting(ResultadoCarga::fila).containsExactly(0, 1, 2, 3);
+        verify(empleadoRepository, times(1)).findExistingEmails(any());
+        verify(empleadoRepository).saveAll(List.of(empleado));
     }
 
     @DisplayName("Test para listar a los empleados")
@@ -112,6 +198,27 @@ public class EmpleadoServiceTest {
         assertThat(listaEmpleados.size()).isEqualTo(0);
     }
 
+    @DisplayName("Test para listar empleados por pagina despues de un ID")
+    @Test
+    void testListarEmpleadosDespuesDeId() {
+        // given
+        Empleado empleado2 = Empleado.builder()
+                .id(2L)
+                .nombre("Jennifer")
+                .apellido("Oliva")
+                .email("jennyoliva@mail.com")
+                .build();
+
+        given(empleadoRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.ofSize(10)))
+                .willReturn(List.of(empleado2));
+
+        // when
+        List<Empleado> empleados = empleadoService.getEmpleadosAfter(1L, 10);
+
+        // then
+        assertThat(empleados).extracting(Empleado::getId).containsExactly(2L);
+    }
+
     @DisplayName("Test para obtener un empleado por ID")
     @Test
     void testObtenerEmpleadoPorId() {
@@ -125,6 +232,35 @@ public class EmpleadoServiceTest {
         assertThat(empleadoGuardado).isNotNull();
     }
 
+    @DisplayName("Test para obtener varios empleados por ID en una consulta")
+    @Test
+    void testObtenerEmpleadosPorIds() {
+        // given
+        Empleado empleado2 = Empleado.builder()
+                .id(2L)
+                .nombre("Jennifer")
+                .apellido("Oliva")
+                .email("jennyoliva@mail.com")
+                .build();
+        Empleado empleado3 = Empleado.builder()
+                .id(3L)
+                .nombre("Daniel")
+                .apellido("Carter")
+                .email("danycarter@mail.com")
+                .build();
+        cacheManager.getCache(CacheConfig.EMPLEADOS).put(2L, empleado2);
+        given(empleadoRepository.findAllById(List.of(3L, 1L, 9L))).willReturn(List.of(empleado, empleado3));
+
+        // when
+        List<Empleado> empleados = empleadoService.getEmpleadosByIds(List.of(3L, 2L, 1L, 9L, 3L));
+
+        // then
+        assertThat(empleados).extracting(Empleado::getId).containsExactly(3L, 2L, 1L);
+        verify(empleadoRepository, times(1)).findAllById(any());
+        verify(empleadoRepository, never()).findById(any());
+        assertThat(cacheManager.getCache(CacheConfig.EMPLEADOS).get(3L, Empleado.class)).isSameAs(empleado3);
+    }
+
     @DisplayName("Test para actualizar un empleado")
     @Test
     void testActualizarEmpleado() {
@@ -141,17 +277,95 @@ public class EmpleadoServiceTest {
         assertThat(empleadoActualizado.getEmail()).isEqualTo("matthwalker@mail.com");
     }
 
+    @DisplayName("Test para actualizar parcialmente un empleado")
+    @Test
+    void testActualizarParcialmenteEmpleado() {
+        // given
+        Empleado cambios = Empleado.builder().email("matthwalker@mail.com").build();
+        given(empleadoRepository.actualizarCampos(1L, cambios, 2L)).willReturn(1);
+
+        // when
+        Optional<Long> version = empleadoService.patchEmpleado(1L, cambios, 2L);
+
+        // then
+        assertThat(version).contains(3L);
+        verify(empleadoRepository, never()).findById(any());
+        verify(empleadoRepository, never()).save(any(Empleado.class));
+    }
+
+    @DisplayName("Test para actualizar parcialmente un empleado inexistente")
+    @Test
+    void testActualizarParcialmenteEmpleadoInexistente() {
+        // given
+        Empleado cambios = Empleado.builder().nombre("Matthew").build();
+        given(empleadoRepository.actualizarCampos(9L, cambios, null)).willReturn(0);
+
+        // when
+        Optional<Long> version = empleadoService.patchEmpleado(9L, cambios, null);
+
+        // then
+        assertThat(version).isEmpty();
+    }
+
+    @DisplayName("Test para detectar una version obsoleta al actualizar")
+    @Test
+    void testActualizarParcialmenteConVersionObsoleta() {
+        // given
+        Empleado cambios = Empleado.builder().nombre("Matthew").build();
+        given(empleadoRepository.actualizarCampos(1L, cambios, 2L)).willReturn(0);
+        given(empleadoRepository.existsById(1L)).willReturn(true);
+
+        // when
+        assertThrows(ConflictoVersionException.class, () -> {
+            empleadoService.patchEmpleado(1L, cambios, 2L);
+        });
+    }
+
     @DisplayName("Test para eliminar un empleado")
     @Test
     void testEliminarEmpleado() {
         // given
         long empleadoId = 1L;
-        willDoNothing().given(empleadoRepository).deleteById(empleadoId);
+        given(empleadoRepository.eliminarPorId(empleadoId)).willReturn(1);
+
+        // when
+        boolean eliminado = empleadoService.deleteEmpleado(empleadoId);
+
+        // then
+        assertThat(eliminado).isTrue();
+        verify(empleadoRepository, times(1)).eliminarPorId(empleadoId);
+        verify(empleadoRepository, never()).deleteById(empleadoId);
+        verify(eventos).publishEvent(new EmpleadosEliminadosEvent(List.of(empleadoId)));
+    }
+
+    @DisplayName("Test para eliminar un empleado inexistente")
+    @Test
+    void testEliminarEmpleadoInexistente() {
+        // given
+        long empleadoId = 9L;
+        given(empleadoRepository.eliminarPorId(empleadoId)).willReturn(0);
+
+        // when
+        boolean eliminado = empleadoService.deleteEmpleado(empleadoId);
+
+        // then
+        assertThat(eliminado).isFalse();
+        assertThat(meterRegistry.counter("empleados.no_encontrados", "operacion", "delete").count()).isEqualTo(1);
+    }
+
+    @DisplayName("Test para eliminar empleados en lote")
+    @Test
+    void testEliminarEmpleadosEnLote() {
+        // given
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().collect(Collectors.toList());
+        ids.add(1L);
+        given(empleadoRepository.eliminarPorIds(any())).willAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
 
         // when
-        empleadoService.deleteEmpleado(empleadoId);
+        int eliminados = empleadoService.deleteEmpleados(ids);
 
         // then
-        verify(empleadoRepository, times(1)).deleteById(empleadoId);
+        assertThat(eliminados).isEqualTo(1200);
+        verify(empleadoRepository, times(3)).eliminarPorIds(any());
     }
 }
\ No newline at end of file
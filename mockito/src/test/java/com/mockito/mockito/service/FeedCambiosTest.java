@@ -0,0 +1,208 @@
+package com.mockito.mockito.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mockito.mockito.config.CambiosProperties;
+import com.mockito.mockito.dto.LoteCambios;
+import com.mockito.mockito.entities.CambioEmpleado;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.repository.CambioEmpleadoRepository;
+import com.mockito.mockito.repository.EmpleadoRepository;
+
+@SpringBootTest
+public class FeedCambiosTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private FeedCambios feedCambios;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("Test para registrar cada escritura en el outbox en orden")
+    @Test
+    void testRegistrarCambiosEnOrden() {
+        // given
+        long inicio = feedCambios.ultimoOffset();
+
+        // when
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Paula").apellido("Ortiz").email("paulaortiz@mail.com").build());
+        empleadoService.patchEmpleado(guardado.getId(), Empleado.builder().nombre("Paola").build(), null);
+        empleadoService.deleteEmpleado(guardado.getId());
+        LoteCambios lote = feedCambios.leer(inicio, 10);
+
+        // then
+        assertThat(lote.cambios()).extracting(CambioEmpleado::getTipo).containsExactly(
+                CambioEmpleado.Tipo.GUARDADO, CambioEmpleado.Tipo.MODIFICADO, CambioEmpleado.Tipo.ELIMINADO);
+        assertThat(lote.cambios()).extracting(CambioEmpleado::getEmpleadoId).containsOnly(guardado.getId());
+        assertThat(lote.cambios().get(0).getDatos()).contains("\"email\":\"paulaortiz@mail.com\"");
+        assertThat(lote.cambios().get(1).getDatos()).contains("\"nombre\":\"Paola\"").doesNotContain("apellido");
+        assertThat(lote.siguiente()).isEqualTo(lote.cambios().get(2).getId());
+        assertThat(feedCambios.leer(lote.siguiente(), 10).cambios()).isEmpty();
+    }
+
+    @DisplayName("Test para no registrar cambios de una escritura que se revierte")
+    @Test
+    void testNoRegistrarEscrituraRevertida() {
+        // given
+        empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Ana").apellido("Ruiz").email("aruiz@mail.com").build());
+        long inicio = feedCambios.ultimoOffset();
+
+        // when
+        assertThrows(EmpleadoDuplicadoException.class, () -> empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Ana").apellido("Rojas").email("aruiz@mail.com").build()));
+
+        // then
+        assertThat(feedCambios.leer(inicio, 10).cambios()).isEmpty();
+    }
+
+    @DisplayName("Test para responder un long-poll cuando se confirma un cambio")
+    @Test
+    void testEsperarCambios() throws InterruptedException {
+        // given
+        long inicio = feedCambios.ultimoOffset();
+        DeferredResult<LoteCambios> resultado = feedCambios.esperar(inicio, 10, Duration.ofSeconds(10));
+        assertThat(resultado.hasResult()).isFalse();
+
+        // when
+        empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Luis").apellido("Vega").email("lvega@mail.com").build());
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!resultado.hasResult() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThat(resultado.hasResult()).isTrue();
+        LoteCambios lote = (LoteCambios) resultado.getResult();
+        assertThat(lote.cambios()).extracting(CambioEmpleado::getTipo).containsExactly(CambioEmpleado.Tipo.GUARDADO);
+    }
+
+    @DisplayName("Test para asignar los offsets en orden de commit con dos escrituras intercaladas")
+    @Test
+    void testOffsetsEnOrdenDeCommit() {
+        // given
+        long inicio = feedCambios.ultimoOffset();
+        CompletableFuture<Empleado> segunda = new CompletableFuture<>();
+        AtomicReference<Throwable> bloqueada = new AtomicReference<>();
+
+        // when
+        Empleado primera = new TransactionTemplate(transactionManager).execute(estado -> {
+            Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                    .nombre("Paula").apellido("Ortiz").email("paulaortiz@mail.com").build());
+            // Corre despues de RegistroCambios: la primera ya tomo su offset y todavia no confirmo
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    CompletableFuture.supplyAsync(() -> empleadoService.saveEmpleado(Empleado.builder()
+                            .nombre("Luis").apellido("Vega").email("lvega@mail.com").build()))
+                            .whenComplete((empleado, error) -> {
+                                if (error != null) {
+                                    segunda.completeExceptionally(error);
+                                } else {
+                                    segunda.complete(empleado);
+                                }
+                            });
+                    bloqueada.set(catchThrowable(() -> segunda.get(200, TimeUnit.MILLISECONDS)));
+                }
+            });
+            return guardado;
+        });
+        Empleado luis = segunda.join();
+        LoteCambios lote = feedCambios.leer(inicio, 10);
+
+        // then
+        assertThat(bloqueada.get()).isInstanceOf(TimeoutException.class);
+        assertThat(lote.cambios()).extracting(CambioEmpleado::getEmpleadoId).containsExactly(primera.getId(), luis.getId());
+        assertThat(lote.cambios().get(0).getId()).isEqualTo(inicio + 1);
+        assertThat(lote.cambios().get(1).getId()).isEqualTo(inicio + 2);
+    }
+
+    @DisplayName("Test para que una suscripcion trabada no demore a las demas y se descarte al pasar el envio maximo")
+    @Test
+    void testSuscripcionTrabadaNoDemoraALasDemas() throws InterruptedException {
+        // given
+        CambioEmpleadoRepository repositorio = mock(CambioEmpleadoRepository.class);
+        given(repositorio.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .willReturn(List.of(new CambioEmpleado(1L, CambioEmpleado.Tipo.GUARDADO, 7L, null, Instant.now())));
+        FeedCambios feed = new FeedCambios(repositorio,
+                new CambiosProperties(null, null, null, Duration.ofMillis(50), null, null, 0, Duration.ofMillis(200), 2));
+        CountDownLatch soltar = new CountDownLatch(1);
+        CountDownLatch recibido = new CountDownLatch(1);
+        SseEmitter trabado = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder evento) throws IOException {
+                try {
+                    soltar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        SseEmitter normal = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder evento) {
+                recibido.countDown();
+            }
+        };
+        feed.start();
+        try {
+            // when
+            feed.suscribir(0, trabado);
+            feed.suscribir(0, normal);
+            boolean llego = recibido.await(5, TimeUnit.SECONDS);
+            long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (feed.suscriptores() > 1 && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+
+            // then
+            assertThat(llego).isTrue();
+            assertThat(feed.suscriptores()).isEqualTo(1);
+        } finally {
+            soltar.countDown();
+            feed.stop();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.mockito.mockito.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.mockito.mockito.config.IngestaProperties;
+import com.mockito.mockito.dto.EstadoIngesta;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.IngestaSaturadaException;
+
+@ExtendWith(MockitoExtension.class)
+public class IngestaEmpleadosTest {
+
+    @Mock
+    private EmpleadoService empleadoService;
+
+    private IngestaEmpleados ingesta;
+
+    @AfterEach
+    void detener() {
+        if (ingesta != null && ingesta.isRunning()) {
+            ingesta.stop();
+        }
+    }
+
+    private IngestaEmpleados crear(int capacidad) {
+        return new IngestaEmpleados(empleadoService,
+                new IngestaProperties(true, capacidad, 1, 100, Duration.ofMillis(10), Duration.ofSeconds(5), 0));
+    }
+
+    private static Empleado empleado(int n) {
+        return Empleado.builder().nombre("Nombre" + n).apellido("Apellido" + n).email("empleado" + n + "@mail.com").build();
+    }
+
+    private void responderCreados() {
+        given(empleadoService.saveEmpleados(anyList())).willAnswer(invocacion -> {
+            List<Empleado> empleados = invocacion.getArgument(0);
+            List<ResultadoCarga> resultados = new ArrayList<>();
+            for (int i = 0; i < empleados.size(); i++) {
+                resultados.add(ResultadoCarga.creado(i, 100L + i, empleados.get(i).getEmail()));
+            }
+            return resultados;
+        });
+    }
+
+    @DisplayName("Test para guardar en segundo plano y consultar el estado de la solicitud")
+    @Test
+    void testEncolarYConsultarEstado() throws InterruptedException {
+        // given
+        responderCreados();
+        ingesta = crear(10);
+        ingesta.start();
+
+        // when
+        EstadoIngesta pendiente = ingesta.encolar(empleado(1));
+        long limite = System.currentTimeMillis() + 5000;
+        while (ingesta.estado(pendiente.id()).get().estado() == EstadoIngesta.Estado.PENDIENTE
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThat(pendiente.estado()).isEqualTo(EstadoIngesta.Estado.PENDIENTE);
+        EstadoIngesta estado = ingesta.estado(pendiente.id()).get();
+        assertThat(estado.estado()).isEqualTo(EstadoIngesta.Estado.CREADO);
+        assertThat(estado.empleadoId()).isEqualTo(100L);
+    }
+
+    @DisplayName("Test para rechazar solicitudes con la cola llena o sin iniciar")
+    @Test
+    void testRechazarConColaLlena() {
+        // given
+        ingesta = crear(1);
+
+        // when
+        assertThrows(IngestaSaturadaException.class, () -> ingesta.encolar(empleado(1)));
+
+        // then
+        verifyNoInteractions(empleadoService);
+    }
+
+    @DisplayName("Test para vaciar la cola al detener la ingesta")
+    @Test
+    void testVaciarColaAlDetener() {
+        // given
+        responderCreados();
+        ingesta = crear(100);
+        ingesta.start();
+        List<EstadoIngesta> encolados = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            encolados.add(ingesta.encolar(empleado(i)));
+        }
+
+        // when
+        ingesta.stop();
+
+        // then
+        assertThat(ingesta.pendientes()).isZero();
+        assertThat(encolados).allSatisfy(encolado ->
+                assertThat(ingesta.estado(encolado.id()).get().estado()).isEqualTo(EstadoIngesta.Estado.CREADO));
+        assertThrows(IngestaSaturadaException.class, () -> ingesta.encolar(empleado(99)));
+        verify(empleadoService, atLeastOnce()).saveEmpleados(anyList());
+    }
+
+    @DisplayName("Test para marcar como duplicada solo la fila que viola el email unico al repetir el lote de a uno")
+    @Test
+    void testRepetirDeAUnoSiFallaElLote() {
+        // given
+        String tomado = empleado(2).getEmail();
+        given(empleadoService.saveEmpleados(anyList())).willAnswer(invocacion -> {
+            List<Empleado> empleados = invocacion.getArgument(0);
+            if (empleados.stream().anyMatch(empleado -> empleado.getEmail().equals(tomado))) {
+                throw new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                        "Unique index or primary key violation", new SQLException(), Empleado.UK_EMAIL.toUpperCase()));
+            }
+            List<ResultadoCarga> resultados = new ArrayList<>();
+            for (int i = 0; i < empleados.size(); i++) {
+                resultados.add(ResultadoCarga.creado(i, 100L + i, empleados.get(i).getEmail()));
+            }
+            return resultados;
+        });
+        ingesta = crear(10);
+        List<EstadoIngesta> encolados = new ArrayList<>();
+        ingesta.start();
+        for (int i = 1; i <= 3; i++) {
+            encolados.add(ingesta.encolar(empleado(i)));
+        }
+
+        // when
+        ingesta.stop();
+
+        // then
+        assertThat(encolados).extracting(encolado -> ingesta.estado(encolado.id()).get().estado())
+                .containsExactly(EstadoIngesta.Estado.CREADO, EstadoIngesta.Estado.DUPLICADO, EstadoIngesta.Estado.CREADO);
+    }
+
+    @DisplayName("Test para marcar como ERROR el lote de un trabajador que no termina y guardar el resto en lotes al detener")
+    @Test
+    void testDetenerConTrabajadorTrabado() throws InterruptedException {
+        // given
+        CountDownLatch trabado = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        List<Integer> tamanios = new CopyOnWriteArrayList<>();
+        given(empleadoService.saveEmpleados(anyList())).willAnswer(invocacion -> {
+            List<Empleado> empleados = invocacion.getArgument(0);
+            if (trabado.getCount() > 0) {
+                trabado.countDown();
+                // Como un INSERT colgado: no responde a la interrupcion
+                while (true) {
+                    try {
+                        soltar.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        // sigue esperando
+                    }
+                }
+            } else {
+                tamanios.add(empleados.size());
+            }
+            List<ResultadoCarga> resultados = new ArrayList<>();
+            for (int i = 0; i < empleados.size(); i++) {
+                resultados.add(ResultadoCarga.creado(i, 100L + i, empleados.get(i).getEmail()));
+            }
+            return resultados;
+        });
+        ingesta = new IngestaEmpleados(empleadoService,
+                new IngestaProperties(true, 1000, 1, 100, Duration.ofMillis(10), Duration.ofMillis(100), 0));
+        ingesta.start();
+        EstadoIngesta primero = ingesta.encolar(empleado(0));
+        assertThat(trabado.await(5, TimeUnit.SECONDS)).isTrue();
+        List<EstadoIngesta> encolados = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            encolados.add(ingesta.encolar(empleado(i)));
+        }
+
+        // when
+        ingesta.stop();
+
+        // then
+        assertThat(ingesta.estado(primero.id()).get().estado()).isEqualTo(EstadoIngesta.Estado.ERROR);
+        soltar.countDown();
+        assertThat(encolados).allSatisfy(encolado ->
+                assertThat(ingesta.estado(encolado.id()).get().estado()).isEqualTo(EstadoIngesta.Estado.CREADO));
+        assertThat(tamanios).containsExactly(100, 100, 50);
+        assertThat(ingesta.pendientes()).isZero();
+    }
+}
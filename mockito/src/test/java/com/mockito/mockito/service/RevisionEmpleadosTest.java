@@ -0,0 +1,85 @@
+package com.mockito.mockito.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.entities.RevisionTabla;
+import com.mockito.mockito.repository.EmpleadoRepository;
+import com.mockito.mockito.repository.RevisionTablaRepository;
+
+@SpringBootTest
+public class RevisionEmpleadosTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private RevisionEmpleados revisionEmpleados;
+
+    @SpyBean
+    private RevisionTablaRepository revisionTablaRepository;
+
+    @AfterEach
+    void limpiar() {
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("Test para cambiar la revision de la tabla con cada escritura")
+    @Test
+    void testRevisionCambiaConCadaEscritura() {
+        // given
+        long inicial = empleadoService.getRevisionEmpleados().getRevision();
+
+        // when
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Paula").apellido("Ortiz").email("paulaortiz@mail.com").build());
+        long trasGuardar = empleadoService.getRevisionEmpleados().getRevision();
+        empleadoService.saveEmpleados(List.of(
+                Empleado.builder().nombre("Ana").apellido("Ruiz").email("aruiz@mail.com").build(),
+                Empleado.builder().nombre("Luis").apellido("Vega").email("lvega@mail.com").build()));
+        long trasLote = empleadoService.getRevisionEmpleados().getRevision();
+        empleadoService.patchEmpleado(guardado.getId(), Empleado.builder().nombre("Paola").build(), null);
+        empleadoService.deleteEmpleado(guardado.getId());
+        long trasEliminar = empleadoService.getRevisionEmpleados().getRevision();
+
+        // then
+        assertThat(trasGuardar).isEqualTo(inicial + 1);
+        assertThat(trasLote).isEqualTo(inicial + 2);
+        assertThat(trasEliminar).isEqualTo(inicial + 4);
+    }
+
+    @DisplayName("Test para arrancar sin error ni pisar la revision si otra instancia la sembro a la vez")
+    @Test
+    void testSembrarEnCarreraConOtraInstancia() {
+        // given
+        empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Paula").apellido("Ortiz").email("paulaortiz@mail.com").build());
+        long revision = empleadoService.getRevisionEmpleados().getRevision();
+        // La otra instancia inserta la fila entre el existsById y el insert de esta
+        willReturn(false, true).given(revisionTablaRepository).existsById(RevisionTabla.EMPLEADOS);
+
+        // when
+        revisionEmpleados.sembrar();
+
+        // then
+        verify(revisionTablaRepository).insertar(eq(RevisionTabla.EMPLEADOS), anyLong(), any());
+        assertThat(empleadoService.getRevisionEmpleados().getRevision()).isEqualTo(revision);
+    }
+}
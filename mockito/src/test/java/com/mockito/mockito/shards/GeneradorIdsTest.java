@@ -0,0 +1,52 @@
+package com.mockito.mockito.shards;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GeneradorIdsTest {
+
+    @DisplayName("Test para generar ids sin repetir, crecientes dentro de una particion aunque se agote la secuencia del milisegundo")
+    @Test
+    void testIdsCrecientesSinRepetir() {
+        // given
+        GeneradorIds generador = new GeneradorIds(3);
+        Set<Long> ids = new HashSet<>();
+        long[] anterior = new long[4];
+
+        // when / then
+        for (int i = 0; i < 10_000; i++) {
+            int particion = i % anterior.length;
+            long id = generador.siguiente(particion);
+            assertThat(id).isGreaterThan(anterior[particion]);
+            assertThat(ids.add(id)).isTrue();
+            anterior[particion] = id;
+        }
+    }
+
+    @DisplayName("Test para recuperar la particion a partir del id")
+    @Test
+    void testParticionDelId() {
+        // given
+        GeneradorIds generador = new GeneradorIds(GeneradorIds.NODOS - 1);
+
+        // when / then
+        for (int particion : new int[] { 0, 1, 511, GeneradorIds.PARTICIONES - 1 }) {
+            long id = generador.siguiente(particion);
+            assertThat(GeneradorIds.particionDe(id)).isEqualTo(particion);
+            assertThat((id / GeneradorIds.DIVISOR_PARTICION) % GeneradorIds.PARTICIONES).isEqualTo(particion);
+        }
+    }
+
+    @DisplayName("Test para rechazar un nodo fuera de rango")
+    @Test
+    void testNodoFueraDeRango() {
+        assertThatThrownBy(() -> new GeneradorIds(GeneradorIds.NODOS)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeneradorIds(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,282 @@
+package com.mockito.mockito.shards;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.mockito.mockito.config.ShardsConfig;
+import com.mockito.mockito.dto.CursorBusqueda;
+import com.mockito.mockito.dto.FiltroEmpleado;
+import com.mockito.mockito.dto.ResultadoCarga;
+import com.mockito.mockito.dto.ResultadoMigracion;
+import com.mockito.mockito.entities.Empleado;
+import com.mockito.mockito.exceptions.EmpleadoDuplicadoException;
+import com.mockito.mockito.service.EmpleadoService;
+
+// Tres shards H2 en memoria y una base global aparte; refresco corto para que la migracion no espere 5 s
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shards-global;DB_CLOSE_DELAY=-1",
+        "spring.jpa.open-in-view=false",
+        "empleados.cambios.enabled=false",
+        "empleados.shards.enabled=true",
+        "empleados.shards.refresco=100ms",
+        "empleados.shards.bases[0].url=jdbc:h2:mem:shards-0;DB_CLOSE_DELAY=-1",
+        "empleados.shards.bases[1].url=jdbc:h2:mem:shards-1;DB_CLOSE_DELAY=-1",
+        "empleados.shards.bases[2].url=jdbc:h2:mem:shards-2;DB_CLOSE_DELAY=-1" })
+public class ShardsTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DataSourceShards dataSourceShards;
+
+    @SpyBean
+    private MapaShards mapaShards;
+
+    @Autowired
+    private DirectorioEmails directorioEmails;
+
+    @Autowired
+    private MigradorShards migradorShards;
+
+    @AfterEach
+    void limpiar() {
+        for (int shard = 0; shard < dataSourceShards.cantidad(); shard++) {
+            new JdbcTemplate(dataSourceShards.shard(shard)).update("delete from empleados");
+        }
+        JdbcTemplate global = new JdbcTemplate(dataSourceShards.getResolvedDefaultDataSource());
+        global.update("delete from directorio_emails");
+        // Las migraciones cambian el duenio de las particiones; se vuelve al reparto inicial para el siguiente test
+        global.update("update particiones_shard set shard = mod(particion, ?)", dataSourceShards.cantidad());
+        mapaShards.bloquear(0, GeneradorIds.PARTICIONES, false);
+    }
+
+    private List<Long> guardar(int cantidad, String prefijo) {
+        List<Empleado> lote = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            lote.add(Empleado.builder()
+                    .nombre("Nombre" + i)
+                    .apellido("Apellido" + (cantidad - i))
+                    .email(prefijo + i + "@mail.com")
+                    .build());
+        }
+        return empleadoService.saveEmpleados(lote).stream().map(ResultadoCarga::id).toList();
+    }
+
+    private long filasEn(int shard) {
+        return new JdbcTemplate(dataSourceShards.shard(shard)).queryForObject("select count(*) from empleados", Long.class);
+    }
+
+    private boolean estaEn(int shard, long id) {
+        return new JdbcTemplate(dataSourceShards.shard(shard))
+                .queryForObject("select count(*) from empleados where id = ?", Long.class, id) == 1;
+    }
+
+    @DisplayName("Test para repartir las filas nuevas entre los shards segun la particion del id")
+    @Test
+    void testRepartirEntreShards() {
+        // given
+        long revision = empleadoService.getRevisionEmpleados().getRevision();
+
+        // when
+        List<Long> ids = guardar(300, "reparto");
+
+        // then
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        for (int shard = 0; shard < dataSourceShards.cantidad(); shard++) {
+            assertThat(filasEn(shard)).isPositive();
+        }
+        for (Long id : ids) {
+            assertThat(estaEn(mapaShards.shardDe(id), id)).isTrue();
+        }
+        assertThat(empleadoService.getEmpleadoById(ids.get(7))).isPresent();
+        assertThat(empleadoService.getRevisionEmpleados().getRevision()).isGreaterThan(revision);
+    }
+
+    @DisplayName("Test para buscar por email en el shard del directorio")
+    @Test
+    void testBuscarPorEmail() {
+        // given
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Rocio").apellido("Vidal").email("rociovidal@mail.com").build());
+
+        // when
+        Integer shard = directorioEmails.shardDe("rociovidal@mail.com");
+
+        // then
+        assertThat(shard).isEqualTo(mapaShards.shardDe(guardado.getId()));
+        assertThat(empleadoService.getEmpleadoByEmail("rociovidal@mail.com"))
+                .hasValueSatisfying(empleado -> assertThat(empleado.getId()).isEqualTo(guardado.getId()));
+        assertThat(empleadoService.getEmpleadoByEmail("nadie@mail.com")).isEmpty();
+    }
+
+    @DisplayName("Test para rechazar un email repetido aunque le toque otro shard")
+    @Test
+    void testEmailUnicoEntreShards() {
+        // given
+        empleadoService.saveEmpleado(Empleado.builder().nombre("Ines").apellido("Paz").email("inespaz@mail.com").build());
+
+        // when
+        List<ResultadoCarga> resultados = empleadoService.saveEmpleados(List.of(
+                Empleado.builder().nombre("Ines").apellido("Paz").email("inespaz@mail.com").build(),
+                Empleado.builder().nombre("Luis").apellido("Rey").email("luisrey@mail.com").build(),
+                Empleado.builder().nombre("Luis").apellido("Rey").email("luisrey@mail.com").build()));
+
+        // then
+        assertThatThrownBy(() -> empleadoService.saveEmpleado(
+                Empleado.builder().nombre("Ines").apellido("Paz").email("inespaz@mail.com").build()))
+                .isInstanceOf(EmpleadoDuplicadoException.class);
+        assertThat(resultados).extracting(ResultadoCarga::estado).containsExactly(
+                ResultadoCarga.Estado.DUPLICADO, ResultadoCarga.Estado.CREADO, ResultadoCarga.Estado.DUPLICADO);
+        assertThat(filasEn(0) + filasEn(1) + filasEn(2)).isEqualTo(2);
+    }
+
+    @DisplayName("Test para cambiar el email liberando el anterior en el directorio")
+    @Test
+    void testCambiarEmail() {
+        // given
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder()
+                .nombre("Pablo").apellido("Sanz").email("pablosanz@mail.com").build());
+
+        // when
+        empleadoService.patchEmpleado(guardado.getId(), Empleado.builder().email("psanz@mail.com").build(), null);
+
+        // then
+        assertThat(directorioEmails.shardDe("pablosanz@mail.com")).isNull();
+        assertThat(directorioEmails.shardDe("psanz@mail.com")).isEqualTo(mapaShards.shardDe(guardado.getId()));
+        assertThat(empleadoService.getEmpleadoByEmail("psanz@mail.com")).isPresent();
+    }
+
+    @DisplayName("Test para listar en orden de id mezclando todos los shards")
+    @Test
+    void testListadoOrdenado() {
+        // given
+        List<Long> ids = guardar(60, "listado").stream().sorted().toList();
+
+        // when
+        List<Empleado> primera = empleadoService.getEmpleadosAfter(0, 25);
+        List<Empleado> segunda = empleadoService.getEmpleadosAfter(primera.get(24).getId(), 25);
+
+        // then
+        assertThat(primera).extracting(Empleado::getId).containsExactlyElementsOf(ids.subList(0, 25));
+        assertThat(segunda).extracting(Empleado::getId).containsExactlyElementsOf(ids.subList(25, 50));
+    }
+
+    @DisplayName("Test para paginar una busqueda ordenada por otro campo")
+    @Test
+    void testBusquedaMezclada() {
+        // given
+        guardar(40, "busqueda");
+        List<Empleado> todos = empleadoService.getAllEmpleados().stream()
+                .sorted(Comparator.comparing(Empleado::getApellido).thenComparing(Empleado::getId))
+                .toList();
+
+        // when
+        Slice<Empleado> pagina = empleadoService.searchEmpleados(new FiltroEmpleado(null, "Apellido*", null, null),
+                CursorBusqueda.despuesDe(todos.get(19), "apellido"), PageRequest.of(0, 10, Sort.by("apellido")));
+
+        // then
+        assertThat(pagina.getContent()).extracting(Empleado::getId)
+                .containsExactlyElementsOf(todos.subList(20, 30).stream().map(Empleado::getId).toList());
+        assertThat(pagina.hasNext()).isTrue();
+    }
+
+    @DisplayName("Test para mover un rango de particiones con sus filas a otro shard")
+    @Test
+    void testMigrarParticiones() {
+        // given
+        List<Long> ids = guardar(200, "migracion");
+        List<Long> enRango = ids.stream()
+                .filter(id -> GeneradorIds.particionDe(id) < 128 && mapaShards.shardDe(id) != 0)
+                .toList();
+
+        // when
+        ResultadoMigracion resultado = migradorShards.mover(0, 128, 0);
+
+        // then
+        assertThat(enRango).isNotEmpty();
+        assertThat(resultado.filasMovidas()).isEqualTo(enRango.size());
+        for (int particion = 0; particion < 128; particion++) {
+            assertThat(mapaShards.duenoDe(particion)).isZero();
+        }
+        for (Long id : enRango) {
+            assertThat(estaEn(0, id)).isTrue();
+            assertThat(estaEn(1, id) || estaEn(2, id)).isFalse();
+        }
+        assertThat(filasEn(0) + filasEn(1) + filasEn(2)).isEqualTo(200);
+        Empleado movido = empleadoService.getEmpleadoById(enRango.get(0)).orElseThrow();
+        assertThat(directorioEmails.shardDe(movido.getEmail())).isZero();
+        assertThat(empleadoService.patchEmpleado(movido.getId(), Empleado.builder().nombre("Movido").build(), null)).isPresent();
+    }
+
+    @DisplayName("Test para llevar al destino lo que se escribio en el origen con el mapa viejo despues de la copia")
+    @Test
+    void testMigrarConEscriturasAtrasadas() {
+        // given
+        List<Long> enRango = guardar(200, "atrasada").stream()
+                .filter(id -> GeneradorIds.particionDe(id) < 128 && mapaShards.shardDe(id) != 0)
+                .toList();
+        long modificado = enRango.get(0);
+        long eliminado = enRango.get(1);
+        long nuevo = enRango.get(2) + (long) GeneradorIds.DIVISOR_PARTICION * GeneradorIds.PARTICIONES;
+        int origen = mapaShards.shardDe(modificado);
+        int origenEliminado = mapaShards.shardDe(eliminado);
+        int origenNuevo = mapaShards.shardDe(enRango.get(2));
+        // Entre la copia y el cambio de duenio: escrituras que pasaron la verificacion antes del bloqueo
+        willAnswer(invocacion -> {
+            new JdbcTemplate(dataSourceShards.shard(origen)).update(
+                    "update empleados set nombre = 'Atrasado', version = version + 1 where id = ?", modificado);
+            new JdbcTemplate(dataSourceShards.shard(origenEliminado)).update("delete from empleados where id = ?", eliminado);
+            new JdbcTemplate(dataSourceShards.shard(origenNuevo)).update(
+                    "insert into empleados (id, nombre, apellido, email, version) values (?, 'Nuevo', 'Atrasado', 'nuevo-atrasado@mail.com', 0)",
+                    nuevo);
+            return invocacion.callRealMethod();
+        }).given(mapaShards).asignar(anyList(), eq(0));
+
+        // when
+        migradorShards.mover(0, 128, 0);
+
+        // then
+        assertThat(new JdbcTemplate(dataSourceShards.shard(0))
+                .queryForObject("select nombre from empleados where id = ?", String.class, modificado)).isEqualTo("Atrasado");
+        assertThat(estaEn(0, eliminado)).isFalse();
+        assertThat(estaEn(0, nuevo)).isTrue();
+        for (int shard = 1; shard < dataSourceShards.cantidad(); shard++) {
+            assertThat(new JdbcTemplate(dataSourceShards.shard(shard)).queryForObject(
+                    "select count(*) from empleados where mod(id / ?, ?) < 128", Long.class,
+                    GeneradorIds.DIVISOR_PARTICION, GeneradorIds.PARTICIONES)).isZero();
+        }
+        assertThat(filasEn(0) + filasEn(1) + filasEn(2)).isEqualTo(200);
+    }
+
+    @DisplayName("Test para no arrancar con shards si el feed de cambios sigue activo")
+    @Test
+    void testRechazarShardsConFeedDeCambios() {
+        // given
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.jpa.open-in-view", "false");
+
+        // when / then
+        assertThatThrownBy(() -> new ShardsConfig().dataSource(null, null, null, environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("empleados.cambios.enabled=false");
+    }
+}